@@ -0,0 +1,160 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.benchmark;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.bootique.logback.appender.AppenderFactory;
+import io.bootique.logback.appender.ConsoleAppenderFactory;
+import io.bootique.logback.appender.FileAppenderFactory;
+import io.bootique.logback.async.AsyncFactory;
+import io.bootique.logback.async.AsyncQueueType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the throughput of the file and console appenders, as created by their factories with the default log
+ * format, in the synchronous mode and behind each of the async queues, with 1, 4 and 32 producer threads. The console
+ * output is discarded, so the console numbers show the cost of the appender itself. Allocation rates are reported when
+ * run via {@link BenchmarkMain} or with "-prof gc".
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppenderBenchmark {
+
+    @Param({"file", "console"})
+    public String appender;
+
+    @Param({"sync", "blocking", "ringBuffer"})
+    public String mode;
+
+    private LoggerContext context;
+    private ILoggingEvent event;
+    private Appender<ILoggingEvent> target;
+    private Path dir;
+    private PrintStream stdout;
+
+    @Setup
+    public void setup() throws IOException {
+        this.context = new LoggerContext();
+        this.event = BenchmarkEvents.create(context);
+
+        AppenderFactory factory;
+        if ("console".equals(appender)) {
+
+            // Logback console streams resolve System.out on each write
+            this.stdout = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            factory = new ConsoleAppenderFactory();
+        } else {
+            this.dir = Files.createTempDirectory("bq-logback-benchmark");
+            FileAppenderFactory file = new FileAppenderFactory();
+            file.setFile(dir.resolve("benchmark.log").toString());
+            factory = file;
+        }
+
+        factory.setAsync(createAsyncFactory());
+        this.target = factory.createAppender(context, LayoutBenchmark.DEFAULT_LOG_FORMAT);
+    }
+
+    private AsyncFactory createAsyncFactory() {
+        AsyncFactory async = new AsyncFactory();
+
+        switch (mode) {
+            case "sync":
+                async.setEnabled(false);
+                break;
+            case "blocking":
+                async.setQueue(AsyncQueueType.blocking);
+                break;
+            case "ringBuffer":
+                async.setQueue(AsyncQueueType.ringBuffer);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+
+        // don't drop anything, so that all modes do the same amount of work
+        async.setDiscardingThreshold(0);
+        async.setQueueSize(8192);
+        return async;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        target.stop();
+        context.stop();
+
+        if (stdout != null) {
+            System.setOut(stdout);
+        }
+
+        if (dir != null) {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path f : (Iterable<Path>) files::iterator) {
+                    Files.delete(f);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void append_1Thread() {
+        target.doAppend(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void append_4Threads() {
+        target.doAppend(event);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void append_32Threads() {
+        target.doAppend(event);
+    }
+}
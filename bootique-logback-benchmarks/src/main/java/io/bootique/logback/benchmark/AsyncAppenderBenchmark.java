@@ -0,0 +1,128 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.benchmark;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AppenderBase;
+import io.bootique.logback.async.AsyncFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency distribution seen by the logging threads for different {@link AsyncFactory} settings. The
+ * target appender burns a fixed amount of CPU per event to simulate I/O, and is slower than the producers combined,
+ * so the queue eventually fills up and the tails show the cost of blocking vs. dropping. Look at the p0.99 and
+ * p0.999 percentiles in the output.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AsyncAppenderBenchmark {
+
+    @Param({"sync", "blocking", "discarding", "neverBlock"})
+    public String mode;
+
+    @Param({"256", "8192"})
+    public int queueSize;
+
+    @Param({"2000"})
+    public long appendCost;
+
+    private ILoggingEvent event;
+    private Appender<ILoggingEvent> appender;
+
+    @Setup
+    public void setup() {
+        LoggerContext context = new LoggerContext();
+
+        SlowAppender target = new SlowAppender(appendCost);
+        target.setContext(context);
+        target.setName("slow");
+        target.start();
+
+        AsyncFactory async = new AsyncFactory();
+        async.setQueueSize(queueSize);
+
+        switch (mode) {
+            case "sync":
+                async.setEnabled(false);
+                break;
+            case "blocking":
+                async.setDiscardingThreshold(0);
+                break;
+            case "discarding":
+                // Logback default: drop INFO and below when 80% full
+                break;
+            case "neverBlock":
+                async.setDiscardingThreshold(0);
+                async.setNeverBlock(true);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+
+        this.event = BenchmarkEvents.create(context);
+        this.appender = async.createAppender(target);
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+    }
+
+    @Benchmark
+    public void append() {
+        appender.doAppend(event);
+    }
+
+    static class SlowAppender extends AppenderBase<ILoggingEvent> {
+
+        private final long cost;
+
+        SlowAppender(long cost) {
+            this.cost = cost;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            Blackhole.consumeCPU(cost);
+        }
+    }
+}
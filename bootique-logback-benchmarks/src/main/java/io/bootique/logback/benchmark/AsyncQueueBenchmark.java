@@ -0,0 +1,107 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.benchmark;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import io.bootique.logback.async.AsyncFactory;
+import io.bootique.logback.async.AsyncQueueType;
+import io.bootique.logback.async.WaitStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares producer throughput of the Logback AsyncAppender (ArrayBlockingQueue) and the ring buffer appender with
+ * different wait strategies. The target appender does nothing, so the numbers reflect the queue overhead and the
+ * contention between the producers. Use "-t" to change the number of producer threads (e.g. "-t 1", "-t 32").
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class AsyncQueueBenchmark {
+
+    @Param({"blocking", "ringBuffer:spin", "ringBuffer:yield", "ringBuffer:park"})
+    public String queue;
+
+    @Param({"256", "8192"})
+    public int queueSize;
+
+    private ILoggingEvent event;
+    private Appender<ILoggingEvent> appender;
+
+    @Setup
+    public void setup() {
+        LoggerContext context = new LoggerContext();
+
+        NoopAppender target = new NoopAppender();
+        target.setContext(context);
+        target.setName("noop");
+        target.start();
+
+        String[] queueAndStrategy = queue.split(":");
+
+        AsyncFactory async = new AsyncFactory();
+        async.setQueueSize(queueSize);
+        async.setDiscardingThreshold(0);
+        async.setQueue(AsyncQueueType.valueOf(queueAndStrategy[0]));
+        if (queueAndStrategy.length > 1) {
+            async.setWaitStrategy(WaitStrategy.valueOf(queueAndStrategy[1]));
+        }
+
+        this.event = BenchmarkEvents.create(context);
+        this.appender = async.createAppender(target);
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+    }
+
+    @Benchmark
+    public void append() {
+        appender.doAppend(event);
+    }
+
+    static class NoopAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        @Override
+        protected void append(ILoggingEvent event) {
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.benchmark;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.bootique.logback.appender.FileAppenderFactory;
+import io.bootique.logback.async.AsyncFactory;
+import io.bootique.logback.async.AsyncQueueType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing to a file via an async appender that flushes after every event and via a batching worker that
+ * flushes once per batch. Uses "neverBlock: false", so the throughput is bounded by how fast the worker can write.
+ * Run with "-prof perfnorm" or watch the syscall rate with strace to see the difference in write counts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class BatchFlushBenchmark {
+
+    @Param({"blocking", "ringBuffer", "ringBuffer:batch"})
+    public String mode;
+
+    private File file;
+    private ILoggingEvent event;
+    private Appender<ILoggingEvent> appender;
+
+    @Setup
+    public void setup() throws IOException {
+        LoggerContext context = new LoggerContext();
+        this.file = Files.createTempFile("bq-logback-batch", ".log").toFile();
+
+        AsyncFactory async = new AsyncFactory();
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(0);
+
+        switch (mode) {
+            case "blocking":
+                break;
+            case "ringBuffer":
+                async.setQueue(AsyncQueueType.ringBuffer);
+                break;
+            case "ringBuffer:batch":
+                async.setQueue(AsyncQueueType.ringBuffer);
+                async.setBatchSize(1024);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+
+        FileAppenderFactory factory = new FileAppenderFactory();
+        factory.setFile(file.getAbsolutePath());
+        factory.setAsync(async);
+
+        this.event = BenchmarkEvents.create(context);
+        this.appender = factory.createAppender(context, "%-5p [%d{ISO8601,UTC}] %thread %c{20}: %m%n%rEx");
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+        file.delete();
+    }
+
+    @Benchmark
+    public void append() {
+        appender.doAppend(event);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Creates sample events shared by the benchmarks.
+ */
+class BenchmarkEvents {
+
+    static final String LOGGER_NAME = "io.bootique.logback.benchmark.SomeService";
+
+    static ILoggingEvent create(LoggerContext context) {
+        return create(context, Level.INFO);
+    }
+
+    static ILoggingEvent create(LoggerContext context, Level level) {
+        LoggingEvent event = new LoggingEvent(
+                BenchmarkEvents.class.getName(),
+                context.getLogger(LOGGER_NAME),
+                level,
+                "Processed request {} in {} ms",
+                null,
+                new Object[]{"/api/v1/items/12345", 17});
+
+        event.setMDCPropertyMap(Map.of("requestId", "a4bb9d62-4f1e-4b0c-8d4e-0c6f51a1d1f7"));
+
+        // make sure lazily computed properties are resolved outside the measured code
+        event.prepareForDeferredProcessing();
+        return event;
+    }
+
+    /**
+     * Writes a file of a given size with the log lines in the default format. The lines vary in the level, thread,
+     * logger, and message arguments, so that the file compresses like a real log.
+     */
+    static void writeLogFile(Path file, long size) throws IOException {
+        String[] levels = {"INFO ", "INFO ", "INFO ", "DEBUG", "WARN ", "ERROR"};
+        String[] loggers = {"i.b.l.b.SomeService", "i.b.l.b.OrderDao", "i.b.j.s.Jetty", "o.a.c.t.Transaction"};
+        Random random = new Random(42);
+
+        long time = 1704067200000L;
+        long written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (written < size) {
+                time += random.nextInt(50);
+                String line = String.format(
+                        "%s [%tFT%<tT.%<tLZ] worker-%d %s: Processed request /api/v1/items/%d in %d ms%n",
+                        levels[random.nextInt(levels.length)],
+                        time,
+                        random.nextInt(16),
+                        loggers[random.nextInt(loggers.length)],
+                        random.nextInt(100_000),
+                        random.nextInt(500));
+
+                out.write(line);
+                written += line.length();
+            }
+        }
+    }
+}
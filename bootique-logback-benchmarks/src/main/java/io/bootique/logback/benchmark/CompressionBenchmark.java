@@ -0,0 +1,132 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.benchmark;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.rolling.helper.CompressionMode;
+import ch.qos.logback.core.rolling.helper.Compressor;
+import io.bootique.logback.policy.ArchiveCompressor;
+import io.bootique.logback.policy.DictionaryCompressor;
+import io.bootique.logback.policy.DictionaryTrainer;
+import io.bootique.logback.policy.ParallelGzipCompressor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the time to compress a rolled over log file with the stock Logback gzip compressor, with
+ * {@link ParallelGzipCompressor} at different parallelism, and with {@link DictionaryCompressor}. Each invocation compresses a fresh copy of the same file,
+ * as the Logback compressor deletes its source.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+
+    @Param({"logback", "parallel-1", "parallel-2", "parallel-4", "parallel-8", "dictionary"})
+    public String compressor;
+
+    @Param({"64"})
+    public int fileSizeMb;
+
+    private Path dir;
+    private Path original;
+    private Path source;
+    private Path target;
+
+    private Compressor logbackCompressor;
+    private ArchiveCompressor bootiqueCompressor;
+
+    @Setup
+    public void setup() throws IOException {
+        this.dir = Files.createTempDirectory("bq-logback-benchmark");
+        this.original = dir.resolve("original.log");
+        this.source = dir.resolve("rolled.log");
+        this.target = dir.resolve("rolled.log.gz");
+
+        BenchmarkEvents.writeLogFile(original, fileSizeMb * 1024L * 1024L);
+
+        if ("logback".equals(compressor)) {
+            this.logbackCompressor = new Compressor(CompressionMode.GZ);
+            this.logbackCompressor.setContext(new LoggerContext());
+        } else if (compressor.startsWith("parallel-")) {
+            int parallelism = Integer.parseInt(compressor.substring("parallel-".length()));
+            this.bootiqueCompressor = new ParallelGzipCompressor(
+                    parallelism,
+                    6,
+                    ParallelGzipCompressor.DEFAULT_BLOCK_SIZE);
+        } else if ("dictionary".equals(compressor)) {
+            this.bootiqueCompressor = new DictionaryCompressor(6, DictionaryTrainer.MAX_DICTIONARY_SIZE);
+        } else {
+            throw new IllegalArgumentException("Unknown compressor: " + compressor);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void copySource() throws IOException {
+        Files.copy(original, source, StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(target);
+    }
+
+    @Benchmark
+    public long compress() throws IOException {
+        if (logbackCompressor != null) {
+            logbackCompressor.compress(source.toString(), target.toString(), null);
+        } else {
+            bootiqueCompressor.compress(source.toFile(), target.toFile());
+        }
+
+        return Files.size(target);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (bootiqueCompressor != null) {
+            bootiqueCompressor.close();
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path f : (Iterable<Path>) files::iterator) {
+                Files.delete(f);
+            }
+        }
+        Files.delete(dir);
+    }
+}
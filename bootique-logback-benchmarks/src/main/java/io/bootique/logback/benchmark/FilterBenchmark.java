@@ -0,0 +1,152 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.bootique.logback.filter.FilterFactory;
+import io.bootique.logback.filter.LevelFilterFactory;
+import io.bootique.logback.filter.LevelTableFilter;
+import io.bootique.logback.filter.RateLimitFilterFactory;
+import io.bootique.logback.filter.SamplingFilterFactory;
+import io.bootique.logback.filter.ThresholdFilterFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-event cost of the filters configurable via "log.appenders[].filters", as created by their
+ * factories. "levelChain" runs a two-filter level chain as separate filters, and "levelTable" - the same chain folded
+ * into a single lookup table. The stateful filters are also measured with 4 threads to show contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterBenchmark {
+
+    @Param({"level", "threshold", "levelChain", "levelTable", "sampling", "rateLimit"})
+    public String filter;
+
+    private LoggerContext context;
+    private ILoggingEvent event;
+    private Filter<ILoggingEvent>[] filters;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.context = new LoggerContext();
+        this.event = BenchmarkEvents.create(context, Level.INFO);
+
+        switch (filter) {
+            case "level":
+                this.filters = new Filter[]{createFilter(levelFilter("info"))};
+                break;
+            case "threshold":
+                this.filters = new Filter[]{createFilter(thresholdFilter("debug"))};
+                break;
+            case "levelChain":
+                this.filters = new Filter[]{createFilter(thresholdFilter("debug")), createFilter(levelFilter("warn"))};
+                break;
+            case "levelTable":
+                this.filters = new Filter[]{LevelTableFilter.create(List.of(thresholdFilter("debug"), levelFilter("warn")))};
+                break;
+            case "sampling":
+                SamplingFilterFactory sampling = new SamplingFilterFactory();
+                sampling.setRate(10);
+                this.filters = new Filter[]{createFilter(sampling)};
+                break;
+            case "rateLimit":
+                RateLimitFilterFactory rateLimit = new RateLimitFilterFactory();
+                rateLimit.setEventsPerSecond(1000);
+                this.filters = new Filter[]{createFilter(rateLimit)};
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown filter: " + filter);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Filter<ILoggingEvent> f : filters) {
+            f.stop();
+        }
+        context.stop();
+    }
+
+    @Benchmark
+    public FilterReply decide() {
+        return doDecide();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public FilterReply decide_4Threads() {
+        return doDecide();
+    }
+
+    // same as the Logback FilterAttachableImpl chain
+    private FilterReply doDecide() {
+        for (Filter<ILoggingEvent> f : filters) {
+            FilterReply reply = f.decide(event);
+            if (reply != FilterReply.NEUTRAL) {
+                return reply;
+            }
+        }
+
+        return FilterReply.NEUTRAL;
+    }
+
+    private Filter<ILoggingEvent> createFilter(FilterFactory factory) {
+        Filter<ILoggingEvent> filter = factory.createFilter(context);
+        filter.start();
+        return filter;
+    }
+
+    private static FilterFactory levelFilter(String level) {
+        LevelFilterFactory factory = new LevelFilterFactory();
+        factory.setLevel(level);
+        return factory;
+    }
+
+    private static FilterFactory thresholdFilter(String level) {
+        ThresholdFilterFactory factory = new ThresholdFilterFactory();
+        factory.setLevel(level);
+        return factory;
+    }
+}
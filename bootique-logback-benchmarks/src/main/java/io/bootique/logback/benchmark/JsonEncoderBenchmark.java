@@ -0,0 +1,118 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.benchmark;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import io.bootique.logback.layout.JsonEncoder;
+import io.bootique.logback.layout.JsonLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON encoding paths: the legacy map-based layout, the streaming layout wrapped in a
+ * LayoutWrappingEncoder and the direct byte encoder. Run with "-prof gc" to see allocation rates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonEncoderBenchmark {
+
+    @Param({"false", "true"})
+    public boolean prettyPrint;
+
+    private ILoggingEvent event;
+    private Encoder<ILoggingEvent> mapBasedLayoutEncoder;
+    private Encoder<ILoggingEvent> streamingLayoutEncoder;
+    private Encoder<ILoggingEvent> directEncoder;
+
+    @Setup
+    public void setup() {
+        LoggerContext context = new LoggerContext();
+
+        this.event = BenchmarkEvents.create(context);
+        this.mapBasedLayoutEncoder = layoutEncoder(layout(new MapBasedJsonLayout(), context));
+        this.streamingLayoutEncoder = layoutEncoder(layout(new JsonLayout(), context));
+
+        JsonEncoder encoder = new JsonEncoder(layout(new JsonLayout(), context));
+        encoder.setContext(context);
+        encoder.start();
+        this.directEncoder = encoder;
+    }
+
+    @Benchmark
+    public byte[] mapBasedLayout() {
+        return mapBasedLayoutEncoder.encode(event);
+    }
+
+    @Benchmark
+    public byte[] streamingLayout() {
+        return streamingLayoutEncoder.encode(event);
+    }
+
+    @Benchmark
+    public byte[] directEncoder() {
+        return directEncoder.encode(event);
+    }
+
+    private JsonLayout layout(JsonLayout layout, LoggerContext context) {
+        layout.setContext(context);
+        layout.setTimestampFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        layout.setPrettyPrint(prettyPrint);
+        layout.start();
+        return layout;
+    }
+
+    private static Encoder<ILoggingEvent> layoutEncoder(JsonLayout layout) {
+        LayoutWrappingEncoder<ILoggingEvent> encoder = new LayoutWrappingEncoder<>();
+        encoder.setContext(layout.getContext());
+        encoder.setLayout(layout);
+        encoder.setCharset(StandardCharsets.UTF_8);
+        encoder.start();
+        return encoder;
+    }
+
+    // overriding "toJsonMap" switches JsonLayout to the map-based rendering used prior to 4.0
+    static class MapBasedJsonLayout extends JsonLayout {
+
+        @Override
+        protected Map<String, Object> toJsonMap(ILoggingEvent event) {
+            return super.toJsonMap(event);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.benchmark;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import io.bootique.logback.layout.JsonLayoutFactory;
+import io.bootique.logback.layout.LayoutFactory;
+import io.bootique.logback.layout.PatternLayoutFactory;
+import io.bootique.logback.layout.XmlLayoutFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding of a single event with the layouts configurable via "log.appenders[].layout", as created by their
+ * factories. "pattern" uses the default Bootique log format. Allocation rates are reported when run via
+ * {@link BenchmarkMain} or with "-prof gc".
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LayoutBenchmark {
+
+    static final String DEFAULT_LOG_FORMAT = "%-5p [%d{ISO8601,UTC}] %thread %c{20}: %m%n%rEx";
+
+    @Param({"pattern", "xml", "json", "jsonDirect"})
+    public String layout;
+
+    private ILoggingEvent event;
+    private Encoder<ILoggingEvent> encoder;
+
+    @Setup
+    public void setup() {
+        LoggerContext context = new LoggerContext();
+
+        this.event = BenchmarkEvents.create(context);
+
+        // same as AppenderFactory: use the factory encoder if any, otherwise wrap the layout
+        LayoutFactory factory = createLayoutFactory();
+        Encoder<ILoggingEvent> encoder = factory.createEncoder(context, DEFAULT_LOG_FORMAT);
+        if (encoder == null) {
+            LayoutWrappingEncoder<ILoggingEvent> layoutEncoder = new LayoutWrappingEncoder<>();
+            layoutEncoder.setContext(context);
+            layoutEncoder.setLayout(factory.createLayout(context, DEFAULT_LOG_FORMAT));
+            layoutEncoder.start();
+            encoder = layoutEncoder;
+        }
+
+        this.encoder = encoder;
+    }
+
+    private LayoutFactory createLayoutFactory() {
+        switch (layout) {
+            case "pattern":
+                return new PatternLayoutFactory();
+            case "xml":
+                return new XmlLayoutFactory();
+            case "json":
+                JsonLayoutFactory json = new JsonLayoutFactory();
+                json.setDirectEncoding(false);
+                return json;
+            case "jsonDirect":
+                JsonLayoutFactory jsonDirect = new JsonLayoutFactory();
+                jsonDirect.setDirectEncoding(true);
+                return jsonDirect;
+            default:
+                throw new IllegalArgumentException("Unknown layout: " + layout);
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return encoder.encode(event);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.benchmark;
+
+import io.bootique.logback.layout.TimestampFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link TimestampFormatter} with creating a SimpleDateFormat per event (JsonLayout prior to 4.0). Timestamps
+ * advance by 1 ms per call, so most calls hit the per-second cache, as they would under a steady logging load.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TimestampFormatBenchmark {
+
+    @Param({"yyyy-MM-dd HH:mm:ss.SSS", TimestampFormatter.ISO8601_UTC})
+    public String pattern;
+
+    private TimestampFormatter formatter;
+    private String simpleDateFormatPattern;
+    private long timestamp;
+
+    @Setup
+    public void setup() {
+        this.formatter = TimestampFormatter.create(pattern);
+        this.simpleDateFormatPattern = TimestampFormatter.ISO8601_UTC.equals(pattern)
+                ? "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'"
+                : pattern;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public String simpleDateFormatPerEvent() {
+        return new SimpleDateFormat(simpleDateFormatPattern).format(new Date(timestamp++));
+    }
+
+    @Benchmark
+    public String timestampFormatter() {
+        return formatter.format(timestamp++);
+    }
+}
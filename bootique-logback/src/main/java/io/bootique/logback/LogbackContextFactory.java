@@ -31,6 +31,11 @@ import io.bootique.annotation.BQConfigProperty;
 import io.bootique.annotation.LogLevels;
 import io.bootique.logback.appender.AppenderFactory;
 import io.bootique.logback.appender.ConsoleAppenderFactory;
+import io.bootique.logback.async.DispatcherAppender;
+import io.bootique.logback.async.DispatcherFactory;
+import io.bootique.logback.jfr.JfrEvents;
+import io.bootique.logback.metrics.LogMetricsFactory;
+import io.bootique.logback.turbo.TurboFilterFactory;
 import io.bootique.shutdown.ShutdownManager;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.bridge.SLF4JBridgeHandler;
@@ -42,6 +47,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -57,6 +63,9 @@ public class LogbackContextFactory {
     private Collection<AppenderFactory> appenders;
     private boolean useLogbackConfig;
     private boolean debugLogback;
+    private DispatcherFactory dispatcher;
+    private List<TurboFilterFactory> turboFilters;
+    private LogMetricsFactory metrics;
 
     @Inject
     public LogbackContextFactory(
@@ -69,6 +78,7 @@ public class LogbackContextFactory {
         this.rootLoggerFactory = new LoggerFactory();
         this.loggers = Collections.emptyMap();
         this.appenders = Collections.emptyList();
+        this.turboFilters = Collections.emptyList();
 
         // TODO: to write unit tests for this flag we are waiting for
         // https://github.com/bootique/bootique/issues/52 to be implemented.
@@ -83,6 +93,9 @@ public class LogbackContextFactory {
 
         rerouteJUL();
 
+        // make the logging events known to JFR before any of them is emitted
+        JfrEvents.register();
+
         if (!useLogbackConfig) {
             Map<String, LoggerFactory> loggers = mergeLevels();
             configLogbackContext(context, loggers);
@@ -103,18 +116,55 @@ public class LogbackContextFactory {
         propagator.setResetJUL(true);
         context.addListener(propagator);
 
+        turboFilters.forEach(f -> context.addTurboFilter(f.createTurboFilter(context)));
+
         if (appenders.isEmpty()) {
             setAppenders(Collections.singletonList(new ConsoleAppenderFactory()));
         }
 
+        // must be installed before the appenders, so that their output is counted
+        if (metrics != null) {
+            metrics.createMetrics(context, loggers.keySet());
+        }
+
+        // must be created before the appenders, so that they are not wrapped in their own async appenders
+        DispatcherAppender dispatcherAppender = dispatcher != null ? dispatcher.createAppender(context) : null;
+
         Map<String, Appender<ILoggingEvent>> namedAppenders = createNamedAppenders(context);
         Collection<Appender<ILoggingEvent>> anonAppenders = createAnonymousAppenders(context);
 
+        if (dispatcherAppender != null) {
+            configDispatchedLoggers(context, loggers, dispatcherAppender, namedAppenders, anonAppenders);
+            return;
+        }
+
         // do not pass anonymous appenders to the child logger, only use them with the root logger
         loggers.forEach((name, lf) -> lf.configLogger(context.getLogger(name), namedAppenders, Collections.emptyList()));
         rootLoggerFactory.configLogger(context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME), namedAppenders, anonAppenders);
     }
 
+    // instead of attaching the appenders to the loggers, routes the loggers to the appenders via a single dispatcher
+    // attached to the root logger
+    private void configDispatchedLoggers(
+            LoggerContext context,
+            Map<String, LoggerFactory> loggers,
+            DispatcherAppender dispatcherAppender,
+            Map<String, Appender<ILoggingEvent>> namedAppenders,
+            Collection<Appender<ILoggingEvent>> anonAppenders) {
+
+        loggers.forEach((name, lf) -> {
+            lf.configLevel(context.getLogger(name));
+            dispatcherAppender.addRoute(name, lf.resolveAppenders(namedAppenders, Collections.emptyList()));
+        });
+
+        Logger rootLogger = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLoggerFactory.configLevel(rootLogger);
+        dispatcherAppender.addRoute(org.slf4j.Logger.ROOT_LOGGER_NAME, rootLoggerFactory.resolveAppenders(namedAppenders, anonAppenders));
+
+        dispatcherAppender.start();
+        rootLogger.addAppender(dispatcherAppender);
+    }
+
     private Map<String, Appender<ILoggingEvent>> createNamedAppenders(LoggerContext context) {
 
         Set<String> uniqueAppenderRefs = new HashSet<>(getAppenderRefs());
@@ -284,6 +334,37 @@ public class LogbackContextFactory {
         this.debugLogback = debugLogback;
     }
 
+    /**
+     * @since 4.0
+     */
+    @BQConfigProperty("""
+            If set, events for all appenders are queued once and passed to the appenders by a shared set of worker \
+            threads, instead of each appender having its own queue and thread. Per-appender 'async' settings are \
+            ignored in this case.""")
+    public void setDispatcher(DispatcherFactory dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * @since 4.0
+     */
+    @BQConfigProperty("""
+            Context-wide filters that are applied in the order of declaration to each logging call before the logging \
+            event is created. Unlike the appender filters, they save the cost of building the events they deny.""")
+    public void setTurboFilters(List<TurboFilterFactory> turboFilters) {
+        this.turboFilters = turboFilters;
+    }
+
+    /**
+     * @since 4.0
+     */
+    @BQConfigProperty("""
+            If set, counts the events per level and per configured logger, and the bytes rendered per appender. The \
+            counters are available via the injectable LogMetrics service.""")
+    public void setMetrics(LogMetricsFactory metrics) {
+        this.metrics = metrics;
+    }
+
     public Collection<String> getAppenderRefs() {
         return rootLoggerFactory.getAppenderRefs();
     }
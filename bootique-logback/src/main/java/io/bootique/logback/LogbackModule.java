@@ -25,6 +25,7 @@ import io.bootique.ModuleCrate;
 import io.bootique.config.ConfigurationFactory;
 import io.bootique.di.Binder;
 import io.bootique.di.Provides;
+import io.bootique.logback.metrics.LogMetrics;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -56,6 +57,16 @@ public class LogbackModule implements BQModule {
                 .createRootLogger();
     }
 
+    /**
+     * @since 4.0
+     */
+    @Singleton
+    @Provides
+    LogMetrics provideLogMetrics(Logger rootLogger) {
+        LogMetrics metrics = LogMetrics.get(rootLogger.getLoggerContext());
+        return metrics != null ? metrics : LogMetrics.disabled();
+    }
+
     static class LogInitTrigger {
 
         @Inject
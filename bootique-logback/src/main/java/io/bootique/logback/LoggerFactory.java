@@ -26,8 +26,10 @@ import ch.qos.logback.core.Appender;
 import io.bootique.annotation.BQConfig;
 import io.bootique.annotation.BQConfigProperty;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 @BQConfig
@@ -55,18 +57,39 @@ public class LoggerFactory {
             Map<String, Appender<ILoggingEvent>> namedAppenders,
             Collection<Appender<ILoggingEvent>> anonymousAppenders) {
 
+        configLevel(logger);
+        resolveAppenders(namedAppenders, anonymousAppenders).forEach(logger::addAppender);
+    }
+
+    /**
+     * @since 4.0
+     */
+    public void configLevel(Logger logger) {
         logger.setLevel(Level.toLevel(level.name(), Level.INFO));
-        appenderRefs.forEach(ar -> configLoggerAppender(logger, ar, namedAppenders));
-        anonymousAppenders.forEach(logger::addAppender);
     }
 
-    private void configLoggerAppender(Logger logger, String appenderName, Map<String, Appender<ILoggingEvent>> appenders) {
+    /**
+     * Returns appenders that should receive the events of this logger, in the order they would be attached to it.
+     *
+     * @since 4.0
+     */
+    public List<Appender<ILoggingEvent>> resolveAppenders(
+            Map<String, Appender<ILoggingEvent>> namedAppenders,
+            Collection<Appender<ILoggingEvent>> anonymousAppenders) {
+
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>(appenderRefs.size() + anonymousAppenders.size());
+        appenderRefs.forEach(ar -> appenders.add(resolveAppender(ar, namedAppenders)));
+        appenders.addAll(anonymousAppenders);
+        return appenders;
+    }
+
+    private Appender<ILoggingEvent> resolveAppender(String appenderName, Map<String, Appender<ILoggingEvent>> appenders) {
         Appender<ILoggingEvent> appender = appenders.get(appenderName);
         if (appender == null) {
             throw new IllegalStateException("Invalid appender reference '" + appenderName + "'. No appender configuration exists for this name");
         }
 
-        logger.addAppender(appender);
+        return appender;
     }
 
     public Collection<String> getAppenderRefs() {
@@ -19,21 +19,30 @@
 
 package io.bootique.logback.appender;
 
-import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
-import ch.qos.logback.core.AsyncAppenderBase;
 import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
+import ch.qos.logback.core.spi.FilterAttachable;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.bootique.annotation.BQConfig;
 import io.bootique.annotation.BQConfigProperty;
 import io.bootique.config.PolymorphicConfiguration;
+import io.bootique.logback.async.AsyncFactory;
+import io.bootique.logback.async.DispatcherFactory;
 import io.bootique.logback.filter.FilterFactory;
+import io.bootique.logback.filter.LevelTableFilter;
+import io.bootique.logback.jfr.JfrEvents;
 import io.bootique.logback.layout.LayoutFactory;
 import io.bootique.logback.layout.PatternLayoutFactory;
+import io.bootique.logback.metrics.LogMetrics;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 @BQConfig("Appender of a given type.")
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type", defaultImpl = ConsoleAppenderFactory.class)
@@ -43,6 +52,7 @@ public abstract class AppenderFactory implements PolymorphicConfiguration {
     private String logFormat;
     private LayoutFactory layout;
     protected Collection<FilterFactory> filters;
+    private AsyncFactory async;
 
     public abstract Appender<ILoggingEvent> createAppender(LoggerContext context, String defaultLogFormat);
 
@@ -100,30 +110,127 @@ public abstract class AppenderFactory implements PolymorphicConfiguration {
         this.filters = filters;
     }
 
-    protected Layout<ILoggingEvent> createLayout(LoggerContext context, String defaultLogFormat) {
+    /**
+     * @since 4.0
+     */
+    @BQConfigProperty("Asynchronous dispatch settings. By default events are appended via a Logback AsyncAppender " +
+            "with a queue of 256 events. Ignored if the shared 'log.dispatcher' is configured.")
+    public void setAsync(AsyncFactory async) {
+        this.async = async;
+    }
+
+    /**
+     * Creates an encoder for this appender. Uses an encoder provided by the layout factory if available, otherwise
+     * wraps the appender layout in a LayoutWrappingEncoder.
+     *
+     * @since 4.0
+     */
+    protected Encoder<ILoggingEvent> createEncoder(LoggerContext context, String defaultLogFormat) {
         String logFormat = this.logFormat != null ? this.logFormat : defaultLogFormat;
 
-        if (layout == null) {
-            layout = new PatternLayoutFactory();
+        Encoder<ILoggingEvent> encoder = getOrCreateLayout().createEncoder(context, logFormat);
+        if (encoder == null) {
+            LayoutWrappingEncoder<ILoggingEvent> layoutEncoder = new LayoutWrappingEncoder<>();
+            layoutEncoder.setLayout(createLayout(context, defaultLogFormat));
+            encoder = layoutEncoder;
         }
 
-        Layout<ILoggingEvent> currentLayout = layout.createLayout(context, logFormat);
+        LogMetrics metrics = LogMetrics.get(context);
+        if (metrics != null) {
+            encoder = metrics.instrument(encoder, getMetricsName());
+        }
+
+        return JfrEvents.instrument(encoder, getMetricsName());
+    }
+
+    /**
+     * Returns the name of the appender in the {@link LogMetrics}. Unless overridden, this is the appender name.
+     *
+     * @since 4.0
+     */
+    protected String getMetricsName() {
+        return name != null ? name : "appender";
+    }
+
+    protected Layout<ILoggingEvent> createLayout(LoggerContext context, String defaultLogFormat) {
+        String logFormat = this.logFormat != null ? this.logFormat : defaultLogFormat;
+
+        Layout<ILoggingEvent> currentLayout = getOrCreateLayout().createLayout(context, logFormat);
         if (!currentLayout.isStarted()) {
             throw new RuntimeException("Layout isn't configured for starting : " + currentLayout);
         }
         return currentLayout;
     }
 
+    private LayoutFactory getOrCreateLayout() {
+        if (layout == null) {
+            layout = new PatternLayoutFactory();
+        }
+
+        return layout;
+    }
+
+    /**
+     * Creates the configured filters and attaches them to the appender.
+     *
+     * @since 4.0
+     */
+    protected void addFilters(FilterAttachable<ILoggingEvent> appender, LoggerContext context) {
+        if (filters == null) {
+            return;
+        }
+
+        // runs of level-only filters are folded into a single lookup table, preserving the order of the chain
+        List<FilterFactory> levelFilters = new ArrayList<>();
+        for (FilterFactory filter : filters) {
+            if (filter.getLevelReply(Level.INFO) != null) {
+                levelFilters.add(filter);
+                continue;
+            }
+
+            addLevelFilters(appender, levelFilters, context);
+            levelFilters.clear();
+            appender.addFilter(filter.createFilter(context));
+        }
+
+        addLevelFilters(appender, levelFilters, context);
+    }
+
+    private static void addLevelFilters(
+            FilterAttachable<ILoggingEvent> appender,
+            List<FilterFactory> levelFilters,
+            LoggerContext context) {
+
+        switch (levelFilters.size()) {
+            case 0:
+                break;
+            case 1:
+                appender.addFilter(levelFilters.get(0).createFilter(context));
+                break;
+            default:
+                appender.addFilter(LevelTableFilter.create(levelFilters));
+                break;
+        }
+    }
+
+    private boolean canFilterBeforeEnqueue() {
+        return filters == null || filters.stream().allMatch(FilterFactory::evaluateBeforeEnqueue);
+    }
+
     protected Appender<ILoggingEvent> asAsync(Appender<ILoggingEvent> appender) {
-        AsyncAppender asyncAppender = new AsyncAppender();
-        asyncAppender.setIncludeCallerData(false);
-        asyncAppender.setQueueSize(AsyncAppenderBase.DEFAULT_QUEUE_SIZE);
-        asyncAppender.setDiscardingThreshold(-1);
-        asyncAppender.setContext(appender.getContext());
-        asyncAppender.setName(appender.getName());
-        asyncAppender.addAppender(appender);
-        asyncAppender.start();
-        return asyncAppender;
+
+        // events are queued once by the shared dispatcher, so the appender is used as is
+        if (DispatcherFactory.isDispatched(appender.getContext())) {
+            return appender;
+        }
+
+        // async queue monitors are keyed by name
+        if (appender.getName() == null) {
+            appender.setName(getMetricsName());
+        }
+
+        AsyncFactory async = this.async != null ? this.async : new AsyncFactory();
+        return async.createAppender(appender, canFilterBeforeEnqueue());
     }
 
 }
@@ -0,0 +1,446 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.appender;
+
+import ch.qos.logback.core.spi.ContextAware;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An output stream that collects the written bytes in a reusable direct buffer and writes them to a file channel when
+ * the buffer is full, on an explicit flush, or, if a scheduler is provided, periodically in the background. So the
+ * bytes not yet written to the file are bounded both by the buffer size and by the flush interval. The stream is
+ * thread-safe, as the periodic flush runs concurrently with the writers. The buffer is taken from a
+ * {@link BufferCache} and returned to it on close, so the streams reopened on rollover don't allocate the native
+ * memory for each file.
+ *
+ * <p>Depending on the {@link FileDurability}, the data may also be forced to the storage device by the periodic flush,
+ * or by the writers calling {@link #awaitDurable()}. Concurrent callers of the latter share a single force, that is
+ * done without holding the write lock, so the other threads can write while it is in progress.</p>
+ *
+ * @since 4.0
+ */
+public class ChannelFileOutputStream extends OutputStream {
+
+    private final FileChannel channel;
+    private final BufferCache buffers;
+    private final ByteBuffer buffer;
+    private final FileDurability durability;
+    private final ReentrantLock lock;
+
+    // the commit state is guarded by its own lock, as the force is done without holding the write lock
+    private final ReentrantLock commitLock;
+    private final Condition commitDone;
+
+    private ScheduledFuture<?> flushTask;
+    private IOException flushError;
+    private volatile boolean closed;
+
+    // the total number of bytes written to the stream
+    private long written;
+
+    // the stream length forced by the background flush, only accessed by the flush task
+    private long forced;
+
+    // the stream length forced on behalf of awaitDurable() callers, guarded by the commit lock
+    private long committed;
+    private boolean committing;
+    private boolean closeDone;
+
+    protected ChannelFileOutputStream(FileChannel channel, BufferCache buffers, FileDurability durability) {
+        this.channel = channel;
+        this.buffers = buffers;
+        this.buffer = buffers.acquire();
+        this.durability = durability;
+        this.lock = new ReentrantLock();
+        this.commitLock = new ReentrantLock();
+        this.commitDone = commitLock.newCondition();
+    }
+
+    /**
+     * Opens a stream over the file.
+     *
+     * @param file          a file to write to. Created if missing.
+     * @param append        whether to append to the existing file, or to truncate it
+     * @param bufferSize    max number of bytes held in memory before they are written to the file
+     * @param scheduler     an executor for the periodic flush. If null, the stream is only flushed explicitly or when
+     *                      the buffer is full.
+     * @param flushInterval the period of the background flush in milliseconds
+     * @param durability    when the data is forced to the storage device
+     */
+    public static ChannelFileOutputStream open(
+            File file,
+            boolean append,
+            int bufferSize,
+            ScheduledExecutorService scheduler,
+            long flushInterval,
+            FileDurability durability) throws IOException {
+
+        return open(file, append, new BufferCache(bufferSize), scheduler, flushInterval, durability);
+    }
+
+    /**
+     * Opens a stream over the file, with the buffer taken from the cache.
+     *
+     * @param buffers a cache of the buffer shared by the consecutive streams of the same appender
+     * @since 4.0
+     */
+    public static ChannelFileOutputStream open(
+            File file,
+            boolean append,
+            BufferCache buffers,
+            ScheduledExecutorService scheduler,
+            long flushInterval,
+            FileDurability durability) throws IOException {
+
+        FileChannel channel = FileChannel.open(
+                file.toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+
+        ChannelFileOutputStream out = new ChannelFileOutputStream(channel, buffers, durability);
+        if (scheduler != null && flushInterval > 0) {
+            out.flushTask = scheduler.scheduleWithFixedDelay(
+                    out::backgroundFlush,
+                    flushInterval,
+                    flushInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        return out;
+    }
+
+    public FileDurability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Returns the number of bytes written to the stream, but not yet to the file.
+     */
+    public int getBufferedBytes() {
+        lock.lock();
+        try {
+            // once closed, the buffer may already be used by another stream
+            return closed ? 0 : buffer.position();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+
+            buffer.put((byte) b);
+            written++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+
+            if (len > buffer.remaining()) {
+                drain();
+            }
+
+            // a chunk that can't fit in the buffer goes to the channel directly
+            if (len > buffer.capacity()) {
+                ByteBuffer chunk = ByteBuffer.wrap(b, off, len);
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+            } else {
+                buffer.put(b, off, len);
+            }
+
+            written += len;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the file. Doesn't force them to the storage device.
+     */
+    @Override
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            drain();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until all the bytes written to the stream so far are forced to the storage device. If another thread is
+     * already forcing the file, waits for it to finish and then, if the bytes are still not covered, forces the file
+     * once on behalf of all the threads waiting at that point.
+     */
+    public void awaitDurable() throws IOException {
+        long target;
+        lock.lock();
+        try {
+            target = written;
+        } finally {
+            lock.unlock();
+        }
+
+        commitLock.lock();
+        try {
+            while (committed < target) {
+
+                // wait for the current commit, or for the closing thread to do the final one
+                if (committing || (closed && !closeDone)) {
+                    commitDone.awaitUninterruptibly();
+                    continue;
+                }
+
+                if (closed) {
+                    throw new IOException("Stream closed before the data was forced to the storage");
+                }
+
+                committing = true;
+                commitLock.unlock();
+
+                long end = 0;
+                try {
+                    end = drainAndForce();
+                } catch (IOException e) {
+                    // closing the stream interrupts the force, but then forces the file by itself
+                    if (!closed) {
+                        throw e;
+                    }
+                } finally {
+                    commitLock.lock();
+                    committing = false;
+                    committed = Math.max(committed, end);
+                    commitDone.signalAll();
+                }
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * If the stream is a {@link ChannelFileOutputStream} with the {@link FileDurability#groupCommit} durability, blocks
+     * until the bytes written so far are forced to the storage device, otherwise returns immediately. Must be called
+     * outside the appender lock, so that the concurrent appends can join the same commit. The errors are reported to
+     * the status of the appender.
+     */
+    public static void awaitDurableIfRequired(OutputStream out, ContextAware appender) {
+        if (out instanceof ChannelFileOutputStream
+                && ((ChannelFileOutputStream) out).getDurability() == FileDurability.groupCommit) {
+            try {
+                ((ChannelFileOutputStream) out).awaitDurable();
+            } catch (IOException e) {
+                appender.addError("Failed to force the log file to the storage", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            if (flushTask != null) {
+                flushTask.cancel(false);
+            }
+
+            boolean durable = false;
+            try {
+                drain();
+                if (durability != FileDurability.none) {
+                    channel.force(false);
+                    durable = true;
+                }
+            } finally {
+                try {
+                    channel.close();
+                } finally {
+                    // all the buffer users check the "closed" flag under the lock, so the buffer can be reused
+                    buffers.release(buffer);
+                    releaseCommitWaiters(durable);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseCommitWaiters(boolean durable) {
+        commitLock.lock();
+        try {
+            if (durable) {
+                committed = Math.max(committed, written);
+            }
+
+            closeDone = true;
+            commitDone.signalAll();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void backgroundFlush() {
+        long end = -1;
+
+        lock.lock();
+        try {
+            if (closed || flushError != null) {
+                return;
+            }
+
+            drain();
+            if (durability == FileDurability.interval && forced < written) {
+                end = written;
+            }
+        } catch (IOException e) {
+            // rethrown to the next writer, so that the error is reported by the appender
+            flushError = e;
+            return;
+        } finally {
+            lock.unlock();
+        }
+
+        // forcing outside the lock, so that the writers are not blocked by it
+        if (end >= 0) {
+            try {
+                channel.force(false);
+                forced = end;
+            } catch (IOException e) {
+                if (!closed) {
+                    lock.lock();
+                    try {
+                        flushError = e;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+        }
+    }
+
+    // returns the stream length covered by the force
+    private long drainAndForce() throws IOException {
+        long end;
+
+        lock.lock();
+        try {
+            ensureOpen();
+            drain();
+            end = written;
+        } finally {
+            lock.unlock();
+        }
+
+        // the writers may go on while the file is forced
+        channel.force(false);
+        return end;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            buffer.compact();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+
+        if (flushError != null) {
+            IOException e = flushError;
+            flushError = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Holds a spare buffer for the next stream of an appender. A rollover closes the old stream before opening the new
+     * one, so a single direct buffer serves all the files of the appender. A buffer released while another one is
+     * cached is left to GC.
+     *
+     * @since 4.0
+     */
+    public static class BufferCache {
+
+        private final int bufferSize;
+        private final AtomicReference<ByteBuffer> spare;
+
+        public BufferCache(int bufferSize) {
+            if (bufferSize <= 0) {
+                throw new IllegalArgumentException("Invalid buffer size: " + bufferSize);
+            }
+
+            this.bufferSize = bufferSize;
+            this.spare = new AtomicReference<>();
+        }
+
+        ByteBuffer acquire() {
+            ByteBuffer buffer = spare.getAndSet(null);
+            if (buffer == null) {
+                return ByteBuffer.allocateDirect(bufferSize);
+            }
+
+            buffer.clear();
+            return buffer;
+        }
+
+        void release(ByteBuffer buffer) {
+            spare.compareAndSet(null, buffer);
+        }
+    }
+}
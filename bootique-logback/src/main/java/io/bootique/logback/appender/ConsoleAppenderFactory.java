@@ -25,7 +25,6 @@ import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.ConsoleAppender;
-import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
 import io.bootique.annotation.BQConfig;
 import io.bootique.annotation.BQConfigProperty;
 
@@ -55,6 +54,11 @@ public class ConsoleAppenderFactory extends AppenderFactory {
         this.target = Objects.requireNonNull(target);
     }
 
+    @Override
+    protected String getMetricsName() {
+        return name != null ? name : "console:" + target;
+    }
+
     @Override
     public Appender<ILoggingEvent> createAppender(LoggerContext context, String defaultLogFormat) {
         ConsoleAppender<ILoggingEvent> appender = createConsoleAppender(context, defaultLogFormat);
@@ -63,18 +67,14 @@ public class ConsoleAppenderFactory extends AppenderFactory {
     }
 
     protected ConsoleAppender<ILoggingEvent> createConsoleAppender(LoggerContext context, String defaultLogFormat) {
-        ConsoleAppender<ILoggingEvent> appender = new ConsoleAppender<>();
+        ConsoleAppender<ILoggingEvent> appender = new FlushableConsoleAppender<>();
         appender.setName(name);
         appender.setContext(context);
         appender.setTarget(target.getLogbackTarget());
 
-        LayoutWrappingEncoder<ILoggingEvent> layoutEncoder = new LayoutWrappingEncoder<>();
-        layoutEncoder.setLayout(createLayout(context, defaultLogFormat));
-        appender.setEncoder(layoutEncoder);
+        appender.setEncoder(createEncoder(context, defaultLogFormat));
 
-        if (filters != null) {
-            filters.forEach(filter -> appender.addFilter(filter.createFilter()));
-        }
+        addFilters(appender, context);
 
         appender.start();
         return appender;
@@ -0,0 +1,67 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.appender;
+
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.util.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A file appender that opens its file via an optional {@link OutputStreamFactory}. If no factory is set, behaves
+ * exactly like the Logback {@link FileAppender}. If the stream is a {@link ChannelFileOutputStream} with the
+ * {@link FileDurability#groupCommit} durability, each append returns only after the event is forced to the storage.
+ *
+ * @since 4.0
+ */
+public class CustomStreamFileAppender<E> extends FileAppender<E> implements FlushableAppender {
+
+    private OutputStreamFactory outputStreamFactory;
+
+    public void setOutputStreamFactory(OutputStreamFactory outputStreamFactory) {
+        this.outputStreamFactory = outputStreamFactory;
+    }
+
+    @Override
+    public void openFile(String fileName) throws IOException {
+        if (outputStreamFactory == null) {
+            super.openFile(fileName);
+            return;
+        }
+
+        File file = new File(fileName);
+        FileUtil.createMissingParentDirectories(file);
+        setOutputStream(outputStreamFactory.createOutputStream(file, isAppend()));
+    }
+
+    @Override
+    public void flush() {
+        FlushableAppender.flush(this, streamWriteLock);
+    }
+
+    @Override
+    protected void subAppend(E event) {
+        super.subAppend(event);
+
+        // waiting outside the appender lock, so that the concurrent appends can join the same commit
+        ChannelFileOutputStream.awaitDurableIfRequired(getOutputStream(), this);
+    }
+}
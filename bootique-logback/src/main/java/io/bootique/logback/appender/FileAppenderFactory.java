@@ -24,14 +24,18 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.FileAppender;
 import ch.qos.logback.core.encoder.Encoder;
-import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
-import ch.qos.logback.core.rolling.RollingFileAppender;
 import ch.qos.logback.core.rolling.RollingPolicy;
 import ch.qos.logback.core.rolling.TriggeringPolicy;
+import ch.qos.logback.core.util.FileSize;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.bootique.annotation.BQConfigProperty;
+import io.bootique.logback.async.DispatcherFactory;
+import io.bootique.logback.policy.ByteCountingTriggeringPolicy;
 import io.bootique.logback.policy.RollingPolicyFactory;
+import io.bootique.value.Duration;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -40,9 +44,16 @@ import java.util.Objects;
 @JsonTypeName("file")
 public class FileAppenderFactory extends AppenderFactory {
 
+    private static final String DEFAULT_BUFFER_SIZE = "256KB";
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 1000;
+
     private String file;
     private RollingPolicyFactory rollingPolicy;
     private boolean append = true;
+    private boolean immediateFlush = true;
+    private String bufferSize;
+    private Duration flushInterval;
+    private FileDurability durability;
 
     /**
      * @deprecated factory getters should not be publicly accessible
@@ -92,11 +103,146 @@ public class FileAppenderFactory extends AppenderFactory {
         this.append = append;
     }
 
+    /**
+     * @since 4.0
+     */
+    @BQConfigProperty("Whether to write each event to the file right away. If false, the events are collected in a " +
+            "memory buffer that is written to the file when full, and periodically per 'flushInterval'. This saves " +
+            "lots of write calls, but the buffered events are lost if the process crashes. Default is true.")
+    public void setImmediateFlush(boolean immediateFlush) {
+        this.immediateFlush = immediateFlush;
+    }
+
+    /**
+     * @since 4.0
+     */
+    @BQConfigProperty("Size of the file output buffer, e.g. '256KB'. With 'immediateFlush: false' this is the max " +
+            "amount of the log data that is not yet written to the file. Default is 256KB if 'immediateFlush' is " +
+            "false, and Logback default (8KB) otherwise.")
+    public void setBufferSize(String bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * @since 4.0
+     */
+    @BQConfigProperty("With 'immediateFlush: false', how often the buffered events are written to the file. " +
+            "Default is 1 sec.")
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * @since 4.0
+     */
+    @BQConfigProperty("When the log data is forced to the storage device. One of 'none' (left to the OS), 'interval' " +
+            "(with every 'flushInterval') or 'groupCommit' (each append waits for its event to be forced, sharing " +
+            "the force with the concurrent appends). 'groupCommit' appenders are never async, and can not be used " +
+            "with the shared 'log.dispatcher'. Default is 'none'.")
+    public void setDurability(FileDurability durability) {
+        this.durability = durability;
+    }
+
+    /**
+     * Returns a factory of the file output streams, or null to use the default Logback stream. Subclasses may
+     * override it to change how the file is written.
+     *
+     * @since 4.0
+     */
+    protected OutputStreamFactory createOutputStreamFactory(LoggerContext context) {
+        FileDurability durability = this.durability != null ? this.durability : FileDurability.none;
+
+        // forcing the file requires a channel, so the channel stream is used even with immediate flush
+        if (immediateFlush && durability == FileDurability.none) {
+            return null;
+        }
+
+        long size = FileSize.valueOf(bufferSize != null ? bufferSize : DEFAULT_BUFFER_SIZE).getSize();
+        if (size <= 0 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid file appender 'bufferSize': " + bufferSize);
+        }
+
+        ChannelFileOutputStream.BufferCache buffers = new ChannelFileOutputStream.BufferCache((int) size);
+        long flushMs = flushInterval != null ? flushInterval.getDuration().toMillis() : DEFAULT_FLUSH_INTERVAL_MS;
+
+        // the scheduler is looked up on every open, as the context may recreate it after a reset
+        return (file, append) -> ChannelFileOutputStream.open(
+                file,
+                append,
+                buffers,
+                context.getScheduledExecutorService(),
+                flushMs,
+                durability);
+    }
+
+    /**
+     * Returns the names of the configured properties that only apply to the buffered channel output.
+     */
+    List<String> getChannelProperties() {
+        List<String> names = new ArrayList<>();
+        if (bufferSize != null) {
+            names.add("bufferSize");
+        }
+        if (flushInterval != null) {
+            names.add("flushInterval");
+        }
+        if (durability != null) {
+            names.add("durability");
+        }
+        return names;
+    }
+
+    /**
+     * Creates the triggering policy of a rolling file appender. Subclasses may override it to adjust the policy to
+     * how the file is written.
+     *
+     * @since 4.0
+     */
+    protected TriggeringPolicy<ILoggingEvent> createTriggeringPolicy(
+            LoggerContext context,
+            RollingPolicyFactory rollingPolicyFactory) {
+        return rollingPolicyFactory.createTriggeringPolicy(context);
+    }
+
+    /**
+     * Applies the settings shared by all file appenders created by this factory.
+     */
+    protected void configureFileAppender(FileAppender<ILoggingEvent> appender, LoggerContext context) {
+        appender.setName(name);
+        appender.setContext(context);
+        appender.setAppend(append);
+        appender.setImmediateFlush(immediateFlush);
+
+        // with immediate flush and no durability the buffer belongs to the standard Logback stream
+        if (immediateFlush && (durability == null || durability == FileDurability.none) && bufferSize != null) {
+            appender.setBufferSize(FileSize.valueOf(bufferSize));
+        }
+    }
+
+    @Override
+    protected Appender<ILoggingEvent> asAsync(Appender<ILoggingEvent> appender) {
+        if (durability != FileDurability.groupCommit) {
+            return super.asAsync(appender);
+        }
+
+        // the logging thread must wait for its own event to be forced, which it can't do from behind a queue
+        if (DispatcherFactory.isDispatched(appender.getContext())) {
+            throw new IllegalStateException(
+                    "'groupCommit' durability can not be used with the shared 'log.dispatcher'");
+        }
+
+        return appender;
+    }
+
+    @Override
+    protected String getMetricsName() {
+        return name != null ? name : "file:" + file;
+    }
+
     @Override
     public Appender<ILoggingEvent> createAppender(LoggerContext context, String defaultLogFormat) {
 
-        LayoutWrappingEncoder<ILoggingEvent> encoder = new LayoutWrappingEncoder<>();
-        encoder.setLayout(createLayout(context, defaultLogFormat));
+        Encoder<ILoggingEvent> encoder = createEncoder(context, defaultLogFormat);
 
         FileAppender<ILoggingEvent> appender = (rollingPolicy == null)
                 ? createSingleFileAppender(encoder, context)
@@ -110,17 +256,14 @@ public class FileAppenderFactory extends AppenderFactory {
             Encoder<ILoggingEvent> encoder,
             LoggerContext context) {
 
-        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        CustomStreamFileAppender<ILoggingEvent> appender = new CustomStreamFileAppender<>();
 
-        appender.setName(name);
+        configureFileAppender(appender, context);
         appender.setFile(Objects.requireNonNull(file));
-        appender.setContext(context);
         appender.setEncoder(encoder);
-        appender.setAppend(append);
+        appender.setOutputStreamFactory(createOutputStreamFactory(context));
 
-        if (filters != null) {
-            filters.forEach(filter -> appender.addFilter(filter.createFilter()));
-        }
+        addFilters(appender, context);
 
         return appender;
     }
@@ -130,27 +273,31 @@ public class FileAppenderFactory extends AppenderFactory {
             LoggerContext context,
             RollingPolicyFactory rollingPolicyFactory) {
 
-        RollingFileAppender<ILoggingEvent> appender = new RollingFileAppender<>();
-        appender.setName(name);
+        InstrumentedRollingFileAppender<ILoggingEvent> appender = new InstrumentedRollingFileAppender<>();
+        configureFileAppender(appender, context);
         appender.setFile(file);
-        appender.setContext(context);
         appender.setEncoder(encoder);
-        appender.setAppend(append);
+        appender.setOutputStreamFactory(createOutputStreamFactory(context));
 
         RollingPolicy rollingPolicy = rollingPolicyFactory.createRollingPolicy(context);
         appender.setRollingPolicy(rollingPolicy);
         rollingPolicy.setParent(appender);
         rollingPolicy.start();
 
-        TriggeringPolicy<ILoggingEvent> triggeringPolicy = rollingPolicyFactory.createTriggeringPolicy(context);
+        TriggeringPolicy<ILoggingEvent> triggeringPolicy = createTriggeringPolicy(context, rollingPolicyFactory);
         if (triggeringPolicy != null) {
+
+            // the policy learns the file size from the encoded bytes
+            if (triggeringPolicy instanceof ByteCountingTriggeringPolicy) {
+                appender.setEncoder(((ByteCountingTriggeringPolicy<ILoggingEvent>) triggeringPolicy)
+                        .countingEncoder(encoder));
+            }
+
             appender.setTriggeringPolicy(triggeringPolicy);
             triggeringPolicy.start();
         }
 
-        if (filters != null) {
-            filters.forEach(filter -> appender.addFilter(filter.createFilter()));
-        }
+        addFilters(appender, context);
 
         return appender;
     }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.appender;
+
+/**
+ * Defines when the log file data is forced from the OS page cache to the storage device.
+ *
+ * @since 4.0
+ */
+public enum FileDurability {
+
+    /**
+     * The data is never forced explicitly, and reaches the storage whenever the OS decides to write it. The events
+     * survive a process crash once written to the file, but may be lost on an OS crash or a power loss.
+     */
+    none,
+
+    /**
+     * The data is forced periodically, together with the background flush. Bounds the amount of the events lost on an
+     * OS crash by the flush interval.
+     */
+    interval,
+
+    /**
+     * Each appending thread waits until its event is forced to the storage. The threads waiting at the same time share
+     * a single force call, that covers all the events written since the previous one.
+     */
+    groupCommit
+}
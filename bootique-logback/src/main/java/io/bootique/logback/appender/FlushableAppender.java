@@ -0,0 +1,60 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.appender;
+
+import ch.qos.logback.core.OutputStreamAppender;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * A stream appender that can flush its output on demand. Unlike flushing the appender output stream directly, the
+ * flush holds the appender lock, so it never interleaves with a concurrent write or with the stream replacement on
+ * rollover. Used by the async appenders to flush once per batch of events.
+ *
+ * @since 4.0
+ */
+public interface FlushableAppender {
+
+    /**
+     * Flushes the appender output stream, reporting the errors to the appender status.
+     */
+    void flush();
+
+    /**
+     * Flushes the output stream of an appender under its stream lock, reporting the errors to the appender status. A
+     * shared {@link #flush()} implementation for the {@link OutputStreamAppender} subclasses, that pass their
+     * protected "streamWriteLock".
+     */
+    static void flush(OutputStreamAppender<?> appender, Lock streamWriteLock) {
+        streamWriteLock.lock();
+        try {
+            OutputStream out = appender.getOutputStream();
+            if (out != null) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            appender.addError("Failed to flush appender output", e);
+        } finally {
+            streamWriteLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.appender;
+
+import ch.qos.logback.core.rolling.FixedWindowRollingPolicy;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.RollingPolicy;
+import ch.qos.logback.core.rolling.helper.CompressionMode;
+import ch.qos.logback.core.rolling.helper.FileNamePattern;
+import ch.qos.logback.core.util.FileUtil;
+import io.bootique.logback.jfr.CompressionEvent;
+import io.bootique.logback.jfr.RolloverEvent;
+import io.bootique.logback.policy.ByteCountingTriggeringPolicy;
+import io.bootique.logback.policy.CompressingFixedWindowRollingPolicy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A rolling file appender that emits JFR events for its rollovers. As {@link FixedWindowRollingPolicy} compresses the
+ * archive synchronously during the rollover, a compression event is emitted for it as well. Like
+ * {@link CustomStreamFileAppender}, can open its file via an {@link OutputStreamFactory}, and supports the group
+ * commit durability. Reports the size of each opened file to a {@link ByteCountingTriggeringPolicy}.
+ *
+ * @since 4.0
+ */
+public class InstrumentedRollingFileAppender<E> extends RollingFileAppender<E> implements FlushableAppender {
+
+    private OutputStreamFactory outputStreamFactory;
+
+    public void setOutputStreamFactory(OutputStreamFactory outputStreamFactory) {
+        this.outputStreamFactory = outputStreamFactory;
+    }
+
+    @Override
+    public void openFile(String fileName) throws IOException {
+        if (outputStreamFactory == null) {
+            fileOpened(isAppend() ? new File(fileName).length() : 0);
+            super.openFile(fileName);
+            return;
+        }
+
+        File file = new File(fileName);
+        FileUtil.createMissingParentDirectories(file);
+        OutputStream out = outputStreamFactory.createOutputStream(file, isAppend());
+
+        // a mapped file is longer than its data, so the data length is taken from the stream
+        long size = out instanceof MappedFileOutputStream ? ((MappedFileOutputStream) out).getPosition() : file.length();
+        fileOpened(size);
+        setOutputStream(out);
+    }
+
+    // the byte counting policy must know the initial file size before the header is written
+    private void fileOpened(long size) {
+        if (getTriggeringPolicy() instanceof ByteCountingTriggeringPolicy) {
+            ((ByteCountingTriggeringPolicy<E>) getTriggeringPolicy()).fileOpened(size);
+        }
+    }
+
+    @Override
+    public void flush() {
+        FlushableAppender.flush(this, streamWriteLock);
+    }
+
+    @Override
+    protected void subAppend(E event) {
+        super.subAppend(event);
+
+        // waiting outside the appender lock, so that the concurrent appends can join the same commit
+        ChannelFileOutputStream.awaitDurableIfRequired(getOutputStream(), this);
+    }
+
+    @Override
+    public void rollover() {
+        String file = getFile();
+        RolloverEvent rolloverEvent = new RolloverEvent(file, file != null ? new File(file).length() : 0);
+
+        if (!rolloverEvent.isEnabled()) {
+            rolloverWithCompressionEvent();
+            return;
+        }
+
+        rolloverEvent.begin();
+        rolloverWithCompressionEvent();
+        rolloverEvent.commit();
+    }
+
+    private void rolloverWithCompressionEvent() {
+        RollingPolicy policy = getRollingPolicy();
+        boolean compressing = policy instanceof CompressingFixedWindowRollingPolicy
+                || (policy instanceof FixedWindowRollingPolicy && policy.getCompressionMode() != CompressionMode.NONE);
+
+        if (!compressing) {
+            super.rollover();
+            return;
+        }
+
+        FixedWindowRollingPolicy fixedWindow = (FixedWindowRollingPolicy) policy;
+        String archive = new FileNamePattern(fixedWindow.getFileNamePattern(), getContext())
+                .convertInt(fixedWindow.getMinIndex());
+
+        CompressionEvent compressionEvent = new CompressionEvent(archive);
+        compressionEvent.begin();
+        super.rollover();
+        compressionEvent.setCompressedBytes(new File(archive).length());
+        compressionEvent.commit();
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.appender;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An output stream that writes to a memory-mapped file. The file is mapped in fixed-size regions, each new region is
+ * mapped when the previous one is full, and the writes are plain memory copies. The written bytes are in the OS page
+ * cache as soon as they are copied, so they survive a JVM crash without a flush (but not an OS crash). As mapping
+ * extends the file to the region end, the file is truncated to the actual data length on close.
+ *
+ * <p>A file left untruncated by a crash ends with zero padding, which is skipped when the file is reopened for
+ * appending. So this stream must not be used for the output that may contain zero bytes. The stream is not
+ * thread-safe.</p>
+ *
+ * @since 4.0
+ */
+public class MappedFileOutputStream extends OutputStream {
+
+    private static final int SCAN_CHUNK = 8192;
+
+    private final FileChannel channel;
+    private final int regionSize;
+
+    private MappedByteBuffer region;
+    private long regionStart;
+
+    protected MappedFileOutputStream(FileChannel channel, int regionSize, long start) throws IOException {
+        this.channel = channel;
+        this.regionSize = regionSize;
+        map(start);
+    }
+
+    public static MappedFileOutputStream open(File file, boolean append, int regionSize) throws IOException {
+        if (regionSize <= 0) {
+            throw new IllegalArgumentException("Invalid region size: " + regionSize);
+        }
+
+        FileChannel channel = FileChannel.open(
+                file.toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        try {
+            long start;
+            if (append) {
+                start = dataEnd(channel, regionSize);
+            } else {
+                channel.truncate(0);
+                start = 0;
+            }
+
+            return new MappedFileOutputStream(channel, regionSize, start);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // finds the end of the data, skipping the zero padding of the last region that may be left after a crash
+    static long dataEnd(FileChannel channel, int regionSize) throws IOException {
+        long size = channel.size();
+        long limit = Math.max(0, size - regionSize);
+        ByteBuffer chunk = ByteBuffer.allocate(SCAN_CHUNK);
+
+        long end = size;
+        while (end > limit) {
+            int len = (int) Math.min(SCAN_CHUNK, end - limit);
+            long from = end - len;
+
+            chunk.clear().limit(len);
+            while (chunk.hasRemaining()) {
+                if (channel.read(chunk, from + chunk.position()) < 0) {
+                    break;
+                }
+            }
+
+            for (int i = chunk.position() - 1; i >= 0; i--) {
+                if (chunk.get(i) != 0) {
+                    return from + i + 1;
+                }
+            }
+
+            end = from;
+        }
+
+        return end;
+    }
+
+    /**
+     * Returns the length of the data written to the file so far.
+     */
+    public long getPosition() {
+        return regionStart + region.position();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (!region.hasRemaining()) {
+            map(getPosition());
+        }
+
+        region.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+
+        while (len > 0) {
+            if (!region.hasRemaining()) {
+                map(getPosition());
+            }
+
+            int n = Math.min(len, region.remaining());
+            region.put(b, off, n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Does nothing, as the written bytes are already in the page cache.
+     */
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (region == null) {
+            return;
+        }
+
+        long end = getPosition();
+
+        // the mapping itself is released when the buffer is garbage collected
+        region = null;
+        try {
+            channel.truncate(end);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void map(long start) throws IOException {
+        this.region = channel.map(FileChannel.MapMode.READ_WRITE, start, regionSize);
+        this.regionStart = start;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (region == null) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
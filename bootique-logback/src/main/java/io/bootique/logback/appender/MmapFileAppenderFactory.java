@@ -0,0 +1,92 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.appender;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.rolling.SizeBasedTriggeringPolicy;
+import ch.qos.logback.core.rolling.TriggeringPolicy;
+import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.FileSize;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.bootique.annotation.BQConfig;
+import io.bootique.annotation.BQConfigProperty;
+import io.bootique.logback.policy.ByteCountingTriggeringPolicy;
+import io.bootique.logback.policy.RollingPolicyFactory;
+
+import java.util.List;
+
+/**
+ * A file appender that writes to a memory-mapped file instead of a buffered file stream. Supports the same file,
+ * rolling policy and append settings as the "file" appender. The size-based rollover always counts the written bytes,
+ * as the length of a mapped file is rounded up to the region size.
+ *
+ * @since 4.0
+ */
+@JsonTypeName("mmap")
+@BQConfig("Appender that writes to a memory-mapped file, optionally with rotation.")
+public class MmapFileAppenderFactory extends FileAppenderFactory {
+
+    private static final String DEFAULT_REGION_SIZE = "32MB";
+
+    private String regionSize;
+
+    @BQConfigProperty("Size of the file regions mapped into memory, e.g. '32MB'. A new region is mapped when the " +
+            "previous one is full. The default is 32MB, the max is 2GB.")
+    public void setRegionSize(String regionSize) {
+        this.regionSize = regionSize;
+    }
+
+    @Override
+    protected OutputStreamFactory createOutputStreamFactory(LoggerContext context) {
+        List<String> unsupported = getChannelProperties();
+        if (!unsupported.isEmpty()) {
+            throw new IllegalArgumentException("Properties not supported by the 'mmap' appender: " + unsupported);
+        }
+
+        long size = FileSize.valueOf(regionSize != null ? regionSize : DEFAULT_REGION_SIZE).getSize();
+        if (size <= 0 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid mmap 'regionSize': " + regionSize);
+        }
+
+        int regionBytes = (int) size;
+        return (file, append) -> MappedFileOutputStream.open(file, append, regionBytes);
+    }
+
+    @Override
+    protected TriggeringPolicy<ILoggingEvent> createTriggeringPolicy(
+            LoggerContext context,
+            RollingPolicyFactory rollingPolicyFactory) {
+
+        TriggeringPolicy<ILoggingEvent> policy = super.createTriggeringPolicy(context, rollingPolicyFactory);
+
+        // a mapped file is extended to the region end, so its data size is only known by counting the written bytes
+        if (policy instanceof SizeBasedTriggeringPolicy) {
+            SizeBasedTriggeringPolicy<ILoggingEvent> sizePolicy = (SizeBasedTriggeringPolicy<ILoggingEvent>) policy;
+            sizePolicy.setCheckIncrement(new Duration(0));
+
+            ByteCountingTriggeringPolicy<ILoggingEvent> countingPolicy = new ByteCountingTriggeringPolicy<>(sizePolicy);
+            countingPolicy.setContext(context);
+            return countingPolicy;
+        }
+
+        return policy;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.filter.Filter;
+import io.bootique.annotation.BQConfig;
+import io.bootique.annotation.BQConfigProperty;
+import io.bootique.logback.metrics.LogMetrics;
+import io.bootique.value.Duration;
+
+import java.util.List;
+
+/**
+ * Configures asynchronous dispatch of events to an appender.
+ *
+ * @since 4.0
+ */
+@BQConfig("Asynchronous dispatch of log events to an appender")
+public class AsyncFactory {
+
+    // the value that makes Logback calculate the threshold from the queue size
+    private static final int DEFAULT_DISCARDING_THRESHOLD = -1;
+
+    private boolean enabled;
+    private int queueSize;
+    private int discardingThreshold;
+    private boolean neverBlock;
+    private Duration maxFlushTime;
+    private boolean includeCallerData;
+    private AsyncQueueType queue;
+    private WaitStrategy waitStrategy;
+    private int batchSize;
+    private Duration maxLinger;
+    private boolean filterBeforeEnqueue;
+
+    public AsyncFactory() {
+        this.enabled = true;
+        this.queueSize = AsyncAppenderBase.DEFAULT_QUEUE_SIZE;
+        this.discardingThreshold = DEFAULT_DISCARDING_THRESHOLD;
+        this.queue = AsyncQueueType.blocking;
+        this.waitStrategy = WaitStrategy.park;
+        this.filterBeforeEnqueue = true;
+    }
+
+    @BQConfigProperty("Whether events are passed to the appender asynchronously. If false, the events are appended " +
+            "in the calling thread. Default is true.")
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @BQConfigProperty("Max number of events waiting to be appended. Default is 256.")
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    @BQConfigProperty("When the remaining queue capacity drops below this value, TRACE, DEBUG and INFO events are " +
+            "dropped. 0 disables dropping. If not set, 1/5 of the queue size is used.")
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    @BQConfigProperty("If true, events are dropped when the queue is full instead of blocking the calling thread. " +
+            "Default is false.")
+    public void setNeverBlock(boolean neverBlock) {
+        this.neverBlock = neverBlock;
+    }
+
+    @BQConfigProperty("Max time to wait for the queued events to be appended on shutdown. Default is 1 sec.")
+    public void setMaxFlushTime(Duration maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    @BQConfigProperty("Whether to capture caller data (class, method, line) of each event before it is queued. " +
+            "This is expensive. Default is false.")
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    @BQConfigProperty("Type of the event queue. Either 'blocking' (Logback AsyncAppender) or 'ringBuffer' " +
+            "(a lock-free ring buffer that scales better with many logging threads). Default is 'blocking'.")
+    public void setQueue(AsyncQueueType queue) {
+        this.queue = queue;
+    }
+
+    @BQConfigProperty("How 'ringBuffer' queue threads wait for events or free space. One of 'spin', 'yield' or " +
+            "'park'. 'spin' has the lowest latency, but keeps a CPU core busy. Default is 'park'.")
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    @BQConfigProperty("If greater than 1, the 'ringBuffer' queue worker flushes the appender output once per this many " +
+            "events, instead of after every event. Not supported by the 'blocking' queue. Default is 0 (no batching).")
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @BQConfigProperty("With batching, how long an incomplete batch may wait for more events before the output is " +
+            "flushed. Default is 0, i.e. flush as soon as the queue is empty.")
+    public void setMaxLinger(Duration maxLinger) {
+        this.maxLinger = maxLinger;
+    }
+
+    @BQConfigProperty("If true, the appender filters are evaluated on the logging thread, so that denied events are " +
+            "not queued. Only applies when all the appender filters allow it: the stateless ones ('level', " +
+            "'threshold') and the thread-safe 'sampling' and 'rateLimit'. Default is true.")
+    public void setFilterBeforeEnqueue(boolean filterBeforeEnqueue) {
+        this.filterBeforeEnqueue = filterBeforeEnqueue;
+    }
+
+    /**
+     * Wraps the appender in a started asynchronous appender, or returns it unchanged if async dispatch is disabled.
+     */
+    public Appender<ILoggingEvent> createAppender(Appender<ILoggingEvent> appender) {
+        return createAppender(appender, false);
+    }
+
+    /**
+     * Wraps the appender in a started asynchronous appender, or returns it unchanged if async dispatch is disabled.
+     *
+     * @param earlyFilters whether all the appender filters can be safely evaluated on the logging threads. If so, and
+     *                     "filterBeforeEnqueue" is on, the filters are moved to the asynchronous appender.
+     */
+    public Appender<ILoggingEvent> createAppender(Appender<ILoggingEvent> appender, boolean earlyFilters) {
+        if (!enabled) {
+            return appender;
+        }
+
+        UnsynchronizedAppenderBase<ILoggingEvent> asyncAppender = queue == AsyncQueueType.ringBuffer
+                ? createRingBufferAppender(appender)
+                : createAsyncAppender(appender);
+
+        if (filterBeforeEnqueue && earlyFilters) {
+            moveFilters(appender, asyncAppender);
+        }
+
+        asyncAppender.start();
+        return asyncAppender;
+    }
+
+    private static void moveFilters(Appender<ILoggingEvent> from, Appender<ILoggingEvent> to) {
+        List<Filter<ILoggingEvent>> filters = from.getCopyOfAttachedFiltersList();
+        if (!filters.isEmpty()) {
+            from.clearAllFilters();
+            filters.forEach(to::addFilter);
+        }
+    }
+
+    /**
+     * Creates an asynchronous appender. The caller is responsible for starting it.
+     */
+    protected AsyncAppender createAsyncAppender(Appender<ILoggingEvent> appender) {
+        LogMetrics metrics = LogMetrics.get(appender.getContext());
+        AsyncAppender asyncAppender = metrics != null ? new MonitoredAsyncAppender(metrics) : new AsyncAppender();
+        asyncAppender.setIncludeCallerData(includeCallerData);
+        asyncAppender.setQueueSize(queueSize);
+        asyncAppender.setDiscardingThreshold(discardingThreshold);
+        asyncAppender.setNeverBlock(neverBlock);
+
+        if (maxFlushTime != null) {
+            asyncAppender.setMaxFlushTime((int) maxFlushTime.getDuration().toMillis());
+        }
+
+        asyncAppender.setContext(appender.getContext());
+        asyncAppender.setName(appender.getName());
+        asyncAppender.addAppender(appender);
+
+        if (batchSize > 1) {
+            asyncAppender.addWarn("Batching is only supported with the 'ringBuffer' queue. Ignoring 'batchSize'");
+        }
+        return asyncAppender;
+    }
+
+    /**
+     * Creates a ring buffer appender. The caller is responsible for starting it.
+     */
+    protected RingBufferAppender createRingBufferAppender(Appender<ILoggingEvent> appender) {
+        RingBufferAppender ringBufferAppender = new RingBufferAppender();
+        ringBufferAppender.setIncludeCallerData(includeCallerData);
+        ringBufferAppender.setQueueSize(queueSize);
+        ringBufferAppender.setDiscardingThreshold(discardingThreshold);
+        ringBufferAppender.setNeverBlock(neverBlock);
+        ringBufferAppender.setWaitStrategy(waitStrategy);
+        ringBufferAppender.setBatchSize(batchSize);
+
+        if (maxLinger != null) {
+            ringBufferAppender.setMaxLinger((int) maxLinger.getDuration().toMillis());
+        }
+
+        if (maxFlushTime != null) {
+            ringBufferAppender.setMaxFlushTime((int) maxFlushTime.getDuration().toMillis());
+        }
+
+        ringBufferAppender.setContext(appender.getContext());
+        ringBufferAppender.setName(appender.getName());
+        ringBufferAppender.addAppender(appender);
+        return ringBufferAppender;
+    }
+}
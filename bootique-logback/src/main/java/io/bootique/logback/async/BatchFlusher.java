@@ -0,0 +1,61 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import io.bootique.logback.appender.FlushableAppender;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flushes the output of the stream-based appenders at the end of each batch of events. The appenders are switched
+ * from flushing after every event to buffering, so that a batch of events turns into a few large writes. As a flusher
+ * may be shared by multiple workers, only the {@link FlushableAppender}s that flush under their own lock are switched.
+ * Other appenders keep flushing after every event.
+ *
+ * @since 4.0
+ */
+final class BatchFlusher implements Runnable {
+
+    private final FlushableAppender[] appenders;
+
+    BatchFlusher(Iterable<Appender<ILoggingEvent>> appenders) {
+
+        List<FlushableAppender> flushable = new ArrayList<>();
+        for (Appender<ILoggingEvent> a : appenders) {
+            if (a instanceof OutputStreamAppender && a instanceof FlushableAppender) {
+                ((OutputStreamAppender<ILoggingEvent>) a).setImmediateFlush(false);
+                flushable.add((FlushableAppender) a);
+            }
+        }
+
+        this.appenders = flushable.toArray(new FlushableAppender[0]);
+    }
+
+    @Override
+    public void run() {
+        for (FlushableAppender a : appenders) {
+            a.flush();
+        }
+    }
+}
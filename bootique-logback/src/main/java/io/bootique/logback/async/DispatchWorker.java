@@ -0,0 +1,278 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.bootique.logback.jfr.AsyncEnqueueBlockedEvent;
+import io.bootique.logback.jfr.BatchWrittenEvent;
+import io.bootique.logback.metrics.AsyncQueueMonitor;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * A worker thread that takes events from a {@link RingBuffer} and passes them to a consumer. Any number of producer
+ * threads can offer events to the worker. Optionally the worker can process events in batches, invoking a callback
+ * (normally flushing the appenders output) once per batch instead of after each event.
+ *
+ * @since 4.0
+ */
+final class DispatchWorker {
+
+    private final String queueName;
+    private final RingBuffer<ILoggingEvent> buffer;
+    private final WaitStrategy waitStrategy;
+    private final Consumer<ILoggingEvent> consumer;
+    private final Runnable onExit;
+    private final Thread thread;
+
+    private int batchSize;
+    private long maxLingerNanos;
+    private Runnable onBatchEnd;
+    private AsyncQueueMonitor monitor;
+
+    private volatile boolean running;
+
+    // set by the worker before parking, so that producers know they need to wake it up
+    private volatile boolean parked;
+
+    /**
+     * @param queueName  the name of the queue in the JFR events, same as the name of its monitor in LogMetrics
+     * @param threadName the name of the worker thread
+     * @param onExit     a callback invoked on the worker thread after the remaining events are flushed on stop
+     */
+    DispatchWorker(
+            String queueName,
+            String threadName,
+            int queueSize,
+            WaitStrategy waitStrategy,
+            Consumer<ILoggingEvent> consumer,
+            Runnable onExit) {
+
+        this.queueName = queueName;
+        this.buffer = new RingBuffer<>(queueSize);
+        this.waitStrategy = waitStrategy;
+        this.consumer = consumer;
+        this.onExit = onExit;
+        this.thread = new Thread(this::work, threadName);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Enables batching. Must be called before the worker is started.
+     *
+     * @param batchSize      max number of events processed before "onBatchEnd" is invoked
+     * @param maxLingerNanos how long an incomplete batch may wait for more events when the queue is empty. If 0, an
+     *                       incomplete batch ends as soon as the queue is empty.
+     * @param onBatchEnd     a callback invoked on the worker thread at the end of each batch
+     */
+    void batch(int batchSize, long maxLingerNanos, Runnable onBatchEnd) {
+        this.batchSize = batchSize;
+        this.maxLingerNanos = maxLingerNanos;
+        this.onBatchEnd = onBatchEnd;
+    }
+
+    /**
+     * Sets a monitor to count queued, blocked and dropped events. Must be called before the worker is started.
+     */
+    void monitor(AsyncQueueMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Signals the worker to flush the remaining events and exit.
+     */
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Waits for the worker to exit, returning false if it is still running after the timeout.
+     */
+    boolean join(long timeoutMs) throws InterruptedException {
+        thread.join(timeoutMs);
+        return !thread.isAlive();
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    int size() {
+        return buffer.size();
+    }
+
+    int remainingCapacity() {
+        return buffer.remainingCapacity();
+    }
+
+    /**
+     * Adds an event to the worker queue. If the queue is full, either waits for free space per the wait strategy, or
+     * drops the event if "block" is false. Returns whether the event was queued.
+     */
+    boolean offer(ILoggingEvent event, boolean block) {
+        if (!buffer.offer(event)) {
+            if (!block) {
+                onDropped();
+                return false;
+            }
+
+            if (monitor != null) {
+                monitor.onBlocked();
+            }
+
+            AsyncEnqueueBlockedEvent jfrEvent = new AsyncEnqueueBlockedEvent(queueName, buffer.capacity());
+            jfrEvent.begin();
+
+            int attempt = 0;
+            while (!buffer.offer(event)) {
+
+                // don't block the callers forever after the worker is gone
+                if (!running) {
+                    onDropped();
+                    return false;
+                }
+
+                attempt = waitStrategy.idle(attempt);
+            }
+
+            jfrEvent.commit();
+        }
+
+        if (monitor != null) {
+            monitor.onEnqueued();
+        }
+
+        if (parked) {
+            LockSupport.unpark(thread);
+        }
+
+        return true;
+    }
+
+    private void onDropped() {
+        if (monitor != null) {
+            monitor.onDiscarded();
+        }
+    }
+
+    private void work() {
+        if (onBatchEnd != null) {
+            workInBatches();
+        } else {
+            workPerEvent();
+        }
+    }
+
+    private void workPerEvent() {
+        int attempt = 0;
+
+        while (running) {
+            ILoggingEvent event = buffer.poll();
+            if (event != null) {
+                consumer.accept(event);
+                attempt = 0;
+            } else if (waitStrategy.parksWorker(attempt)) {
+                park();
+            } else {
+                attempt = waitStrategy.idle(attempt);
+            }
+        }
+
+        buffer.drain(consumer, Integer.MAX_VALUE);
+        onExit.run();
+    }
+
+    private void workInBatches() {
+        int attempt = 0;
+
+        // number of events processed since the end of the last batch, and the time the first of them was processed
+        int pending = 0;
+        long pendingSince = 0;
+
+        while (running) {
+            int drained = buffer.drain(consumer, batchSize - pending);
+            if (drained > 0) {
+                if (pending == 0) {
+                    pendingSince = System.nanoTime();
+                }
+
+                pending += drained;
+                attempt = 0;
+
+                if (pending >= batchSize) {
+                    endBatch(pending);
+                    pending = 0;
+                }
+
+                continue;
+            }
+
+            if (pending > 0) {
+                long lingerLeft = maxLingerNanos - (System.nanoTime() - pendingSince);
+                if (lingerLeft <= 0) {
+                    endBatch(pending);
+                    pending = 0;
+                } else if (waitStrategy.parksWorker(attempt)) {
+                    park(lingerLeft);
+                } else {
+                    attempt = waitStrategy.idle(attempt);
+                }
+            } else if (waitStrategy.parksWorker(attempt)) {
+                park();
+            } else {
+                attempt = waitStrategy.idle(attempt);
+            }
+        }
+
+        endBatch(pending + buffer.drain(consumer, Integer.MAX_VALUE));
+        onExit.run();
+    }
+
+    private void endBatch(int events) {
+        BatchWrittenEvent jfrEvent = new BatchWrittenEvent(queueName, events);
+        jfrEvent.begin();
+        onBatchEnd.run();
+        jfrEvent.commit();
+    }
+
+
+    private void park() {
+        park(WaitStrategy.MAX_PARK_NANOS);
+    }
+
+    private void park(long nanos) {
+        parked = true;
+        try {
+            // recheck after publishing the flag, as a producer may have added an event without seeing it
+            if (buffer.isEmpty() && running) {
+                LockSupport.parkNanos(this, Math.min(nanos, WaitStrategy.MAX_PARK_NANOS));
+            }
+        } finally {
+            parked = false;
+        }
+    }
+}
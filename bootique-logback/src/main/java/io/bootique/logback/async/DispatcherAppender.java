@@ -0,0 +1,312 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import io.bootique.logback.metrics.AsyncQueueMonitor;
+import io.bootique.logback.metrics.LogMetrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An appender that dispatches events to all appenders of a context via a shared set of worker threads. It is attached
+ * to the root logger only, and each event is queued once, regardless of how many appenders it goes to. On the worker
+ * thread the event is passed to the appenders configured for its logger and the logger ancestors, same as Logback
+ * would do if the appenders were attached to the loggers directly. Events from a given thread always go to the same
+ * worker, so their order is preserved.
+ *
+ * @since 4.0
+ */
+public class DispatcherAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final int UNDEFINED = -1;
+
+    private final Map<String, List<Appender<ILoggingEvent>>> routes;
+    private final List<Appender<ILoggingEvent>> rootAppenders;
+    private final Map<String, Appender<ILoggingEvent>[]> resolvedRoutes;
+
+    private int workers;
+    private int queueSize;
+    private int discardingThreshold;
+    private boolean neverBlock;
+    private boolean includeCallerData;
+    private int maxFlushTime;
+    private WaitStrategy waitStrategy;
+    private int batchSize;
+    private int maxLinger;
+
+    private DispatchWorker[] dispatchWorkers;
+    private AsyncQueueMonitor monitor;
+
+    public DispatcherAppender() {
+        this.routes = new HashMap<>();
+        this.rootAppenders = new ArrayList<>();
+        this.resolvedRoutes = new ConcurrentHashMap<>();
+
+        this.workers = 1;
+        this.queueSize = AsyncAppenderBase.DEFAULT_QUEUE_SIZE;
+        this.discardingThreshold = UNDEFINED;
+        this.maxFlushTime = AsyncAppenderBase.DEFAULT_MAX_FLUSH_TIME;
+        this.waitStrategy = WaitStrategy.park;
+    }
+
+    /**
+     * Adds appenders for the events of a given logger and its children. Must be called before the appender is started.
+     */
+    public void addRoute(String loggerName, Collection<Appender<ILoggingEvent>> appenders) {
+        if (org.slf4j.Logger.ROOT_LOGGER_NAME.equalsIgnoreCase(loggerName)) {
+            rootAppenders.addAll(appenders);
+        } else {
+            routes.computeIfAbsent(loggerName, n -> new ArrayList<>()).addAll(appenders);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+
+        if (workers < 1) {
+            addError("Invalid number of workers [" + workers + "]");
+            return;
+        }
+
+        if (queueSize < 1) {
+            addError("Invalid queue size [" + queueSize + "]");
+            return;
+        }
+
+        BatchFlusher flusher = batchSize > 1 ? new BatchFlusher(allAppenders()) : null;
+
+        this.dispatchWorkers = new DispatchWorker[workers];
+        for (int i = 0; i < workers; i++) {
+            dispatchWorkers[i] = new DispatchWorker(
+                    getName(),
+                    "LogDispatcher-Worker-" + i,
+                    queueSize,
+                    waitStrategy,
+                    this::dispatch,
+                    () -> {
+                    });
+
+            if (flusher != null) {
+                dispatchWorkers[i].batch(batchSize, TimeUnit.MILLISECONDS.toNanos(maxLinger), flusher);
+            }
+        }
+
+        if (discardingThreshold == UNDEFINED) {
+            discardingThreshold = dispatchWorkers[0].capacity() / 5;
+        }
+
+        // all worker queues are monitored together
+        LogMetrics metrics = LogMetrics.get(getContext());
+        if (metrics != null) {
+            int capacity = dispatchWorkers[0].capacity() * workers;
+            this.monitor = metrics.monitorAsyncQueue(getName(), this::getNumberOfElementsInQueue, () -> capacity);
+            for (DispatchWorker w : dispatchWorkers) {
+                w.monitor(monitor);
+            }
+        }
+
+        super.start();
+        for (DispatchWorker w : dispatchWorkers) {
+            w.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+
+        super.stop();
+        for (DispatchWorker w : dispatchWorkers) {
+            w.stop();
+        }
+
+        long deadline = System.currentTimeMillis() + maxFlushTime;
+        try {
+            for (DispatchWorker w : dispatchWorkers) {
+                long timeout = Math.max(1, deadline - System.currentTimeMillis());
+                if (!w.join(timeout)) {
+                    addWarn("Max queue flush timeout (" + maxFlushTime + " ms) exceeded. Approximately " + w.size()
+                            + " queued events were possibly discarded.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            addError("Failed to join worker threads. Queued events may be discarded.", e);
+        }
+
+        // the dispatcher owns the appenders, as they are not attached to any loggers
+        for (Appender<ILoggingEvent> appender : allAppenders()) {
+            appender.stop();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        DispatchWorker worker = workerForCurrentThread();
+
+        if (worker.remainingCapacity() < discardingThreshold && isDiscardable(event)) {
+            if (monitor != null) {
+                monitor.onDiscarded();
+            }
+            return;
+        }
+
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+
+        worker.offer(event, !neverBlock);
+    }
+
+    private DispatchWorker workerForCurrentThread() {
+        DispatchWorker[] workers = this.dispatchWorkers;
+        return workers.length == 1
+                ? workers[0]
+                : workers[Math.floorMod(System.identityHashCode(Thread.currentThread()), workers.length)];
+    }
+
+    private boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= Level.INFO_INT;
+    }
+
+    private void dispatch(ILoggingEvent event) {
+        if (monitor != null) {
+            monitor.onDequeued(event);
+        }
+
+        for (Appender<ILoggingEvent> appender : appendersFor(event.getLoggerName())) {
+            try {
+                appender.doAppend(event);
+            } catch (RuntimeException e) {
+                addError("Error appending an event to '" + appender.getName() + "'", e);
+            }
+        }
+    }
+
+    Appender<ILoggingEvent>[] appendersFor(String loggerName) {
+        Appender<ILoggingEvent>[] appenders = resolvedRoutes.get(loggerName);
+        return appenders != null ? appenders : resolvedRoutes.computeIfAbsent(loggerName, this::resolve);
+    }
+
+    // follows Logback appender inheritance: the logger own appenders first, then the ancestors, then root
+    @SuppressWarnings("unchecked")
+    private Appender<ILoggingEvent>[] resolve(String loggerName) {
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+
+        if (!org.slf4j.Logger.ROOT_LOGGER_NAME.equalsIgnoreCase(loggerName)) {
+            for (String name = loggerName; name != null; name = parentName(name)) {
+                appenders.addAll(routes.getOrDefault(name, Collections.emptyList()));
+            }
+        }
+
+        appenders.addAll(rootAppenders);
+        return appenders.toArray(new Appender[0]);
+    }
+
+    private static String parentName(String name) {
+        int i = Math.max(name.lastIndexOf('.'), name.lastIndexOf('$'));
+        return i > 0 ? name.substring(0, i) : null;
+    }
+
+    private Collection<Appender<ILoggingEvent>> allAppenders() {
+        Set<Appender<ILoggingEvent>> appenders = Collections.newSetFromMap(new IdentityHashMap<>());
+        routes.values().forEach(appenders::addAll);
+        appenders.addAll(rootAppenders);
+        return appenders;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public void setNeverBlock(boolean neverBlock) {
+        this.neverBlock = neverBlock;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Sets a max number of events appended by a worker before the stream appenders are flushed. Values greater than 1
+     * enable batching, which turns off "immediateFlush" of the appenders.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets how long in milliseconds an incomplete batch may wait for more events before the appenders are flushed.
+     * If 0 (default), a batch ends as soon as there are no more events in the queue.
+     */
+    public void setMaxLinger(int maxLinger) {
+        this.maxLinger = maxLinger;
+    }
+
+    /**
+     * Returns an approximate number of events waiting in all worker queues.
+     */
+    public int getNumberOfElementsInQueue() {
+        int size = 0;
+        if (dispatchWorkers != null) {
+            for (DispatchWorker w : dispatchWorkers) {
+                size += w.size();
+            }
+        }
+
+        return size;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.Context;
+import io.bootique.annotation.BQConfig;
+import io.bootique.annotation.BQConfigProperty;
+import io.bootique.value.Duration;
+
+/**
+ * Configures a shared dispatcher that passes events to all appenders of the context asynchronously, instead of each
+ * appender having its own queue and thread.
+ *
+ * @since 4.0
+ */
+@BQConfig("Shared asynchronous dispatcher for all appenders")
+public class DispatcherFactory {
+
+    /**
+     * A key of the context object that holds the dispatcher appender while the context is configured with a shared
+     * dispatcher.
+     */
+    public static final String CONTEXT_KEY = DispatcherFactory.class.getName();
+
+    // the value that makes the threshold to be calculated from the queue size
+    private static final int DEFAULT_DISCARDING_THRESHOLD = -1;
+
+    private int workers;
+    private int queueSize;
+    private int discardingThreshold;
+    private boolean neverBlock;
+    private Duration maxFlushTime;
+    private boolean includeCallerData;
+    private WaitStrategy waitStrategy;
+    private int batchSize;
+    private Duration maxLinger;
+
+    public DispatcherFactory() {
+        this.workers = 1;
+        this.queueSize = AsyncAppenderBase.DEFAULT_QUEUE_SIZE;
+        this.discardingThreshold = DEFAULT_DISCARDING_THRESHOLD;
+        this.waitStrategy = WaitStrategy.park;
+    }
+
+    /**
+     * Returns whether the context appenders are fed by a shared dispatcher, and should not be wrapped in their own
+     * asynchronous appenders.
+     */
+    public static boolean isDispatched(Context context) {
+        return context != null && context.getObject(CONTEXT_KEY) != null;
+    }
+
+    @BQConfigProperty("Number of worker threads. Events from a given thread always go to the same worker, so their " +
+            "order is preserved. Default is 1.")
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    @BQConfigProperty("Max number of events waiting to be appended per worker. Rounded up to a power of two. " +
+            "Default is 256.")
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    @BQConfigProperty("When the remaining queue capacity drops below this value, TRACE, DEBUG and INFO events are " +
+            "dropped. 0 disables dropping. If not set, 1/5 of the queue size is used.")
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    @BQConfigProperty("If true, events are dropped when the queue is full instead of blocking the calling thread. " +
+            "Default is false.")
+    public void setNeverBlock(boolean neverBlock) {
+        this.neverBlock = neverBlock;
+    }
+
+    @BQConfigProperty("Max time to wait for the queued events to be appended on shutdown. Default is 1 sec.")
+    public void setMaxFlushTime(Duration maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    @BQConfigProperty("Whether to capture caller data (class, method, line) of each event before it is queued. " +
+            "This is expensive. Default is false.")
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    @BQConfigProperty("How the threads wait for events or free space. One of 'spin', 'yield' or 'park'. " +
+            "Default is 'park'.")
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    @BQConfigProperty("If greater than 1, the workers flush the appenders output once per this many events, instead " +
+            "of after every event. Default is 0 (no batching).")
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @BQConfigProperty("With batching, how long an incomplete batch may wait for more events before the output is " +
+            "flushed. Default is 0, i.e. flush as soon as the queue is empty.")
+    public void setMaxLinger(Duration maxLinger) {
+        this.maxLinger = maxLinger;
+    }
+
+    /**
+     * Creates a dispatcher appender and registers it in the context. The caller must add the routes and start the
+     * appender.
+     */
+    public DispatcherAppender createAppender(LoggerContext context) {
+        DispatcherAppender appender = new DispatcherAppender();
+        appender.setContext(context);
+        appender.setName("dispatcher");
+        appender.setWorkers(workers);
+        appender.setQueueSize(queueSize);
+        appender.setDiscardingThreshold(discardingThreshold);
+        appender.setNeverBlock(neverBlock);
+        appender.setIncludeCallerData(includeCallerData);
+        appender.setWaitStrategy(waitStrategy);
+        appender.setBatchSize(batchSize);
+
+        if (maxLinger != null) {
+            appender.setMaxLinger((int) maxLinger.getDuration().toMillis());
+        }
+
+        if (maxFlushTime != null) {
+            appender.setMaxFlushTime((int) maxFlushTime.getDuration().toMillis());
+        }
+
+        context.putObject(CONTEXT_KEY, appender);
+        return appender;
+    }
+}
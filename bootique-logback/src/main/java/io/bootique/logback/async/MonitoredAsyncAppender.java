@@ -0,0 +1,192 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import io.bootique.logback.jfr.AsyncEnqueueBlockedEvent;
+import io.bootique.logback.metrics.AsyncQueueMonitor;
+import io.bootique.logback.metrics.LogMetrics;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A Logback {@link AsyncAppender} that reports its queue health to {@link LogMetrics}. As the Logback appender
+ * doesn't expose the outcome of each put, the blocked and discarded counts are derived from the queue depth just
+ * before the put, and are approximate under contention. The attached appender is wrapped to record the queue lag, but
+ * the wrapper is never exposed via the {@link ch.qos.logback.core.spi.AppenderAttachable} methods.
+ *
+ * @since 4.0
+ */
+class MonitoredAsyncAppender extends AsyncAppender {
+
+    private final LogMetrics metrics;
+    private AsyncQueueMonitor monitor;
+
+    // written by the worker thread only
+    private volatile long dequeued;
+
+    // re-bases the depth estimate on the actual queue depth, see "resyncDepth"
+    private volatile long depthCorrection;
+    private volatile long lastResync;
+
+    MonitoredAsyncAppender(LogMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+
+        // must be created before the worker thread starts reading it
+        this.monitor = metrics.monitorAsyncQueue(getName(), this::getNumberOfElementsInQueue, this::getQueueSize);
+        super.start();
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        super.addAppender(new LagRecordingAppender(newAppender));
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        Appender<ILoggingEvent> appender = super.getAppender(name);
+        return appender != null ? ((LagRecordingAppender) appender).delegate : null;
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        List<Appender<ILoggingEvent>> delegates = new ArrayList<>(1);
+        super.iteratorForAppenders().forEachRemaining(a -> delegates.add(((LagRecordingAppender) a).delegate));
+        return delegates.iterator();
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return findWrapper(appender) != null;
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        LagRecordingAppender wrapper = findWrapper(appender);
+        return wrapper != null && super.detachAppender(wrapper);
+    }
+
+    private LagRecordingAppender findWrapper(Appender<ILoggingEvent> appender) {
+        Iterator<Appender<ILoggingEvent>> it = super.iteratorForAppenders();
+        while (it.hasNext()) {
+            LagRecordingAppender wrapper = (LagRecordingAppender) it.next();
+            if (wrapper.delegate == appender) {
+                return wrapper;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // the depth is estimated from the counters instead of taking the queue lock for each event. The queue itself is
+        // checked when the estimate looks (nearly) full, and periodically to remove the estimate drift
+        long enqueued = monitor.getEnqueuedCount();
+        int remaining = getQueueSize() - (int) (enqueued - dequeued - depthCorrection);
+        if (remaining <= 0 || remaining < getDiscardingThreshold() || enqueued - lastResync >= getQueueSize()) {
+            remaining = resyncDepth(enqueued);
+        }
+
+        // the discarded events are not passed to the superclass, so it can't enqueue an event counted as discarded
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            monitor.onDiscarded();
+            return;
+        }
+
+        if (remaining == 0 && isNeverBlock()) {
+            monitor.onDiscarded();
+            return;
+        }
+
+        if (remaining == 0) {
+            monitor.onBlocked();
+            monitor.onEnqueued();
+            appendBlocked(event);
+            return;
+        }
+
+        monitor.onEnqueued();
+        super.append(event);
+    }
+
+    // The counters drift from the actual depth, as a concurrent producer may fill the queue after the estimate was
+    // taken, and the superclass then drops the event that was counted as enqueued. The events taken by the worker but
+    // not appended yet are also counted. Both are removed by re-basing the estimate on the actual queue depth.
+    private int resyncDepth(long enqueued) {
+        int remaining = getRemainingCapacity();
+        depthCorrection = enqueued - dequeued - (getQueueSize() - remaining);
+        lastResync = enqueued;
+        return remaining;
+    }
+
+    int estimateDepth() {
+        return (int) (monitor.getEnqueuedCount() - dequeued - depthCorrection);
+    }
+
+    private void appendBlocked(ILoggingEvent event) {
+        AsyncEnqueueBlockedEvent jfrEvent = new AsyncEnqueueBlockedEvent(getName(), getQueueSize());
+        jfrEvent.begin();
+        super.append(event);
+        jfrEvent.commit();
+    }
+
+    AsyncQueueMonitor getMonitor() {
+        return monitor;
+    }
+
+    // records the queue lag on the worker thread before passing the event to the wrapped appender
+    private class LagRecordingAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        private final Appender<ILoggingEvent> delegate;
+
+        LagRecordingAppender(Appender<ILoggingEvent> delegate) {
+            this.delegate = delegate;
+            setContext(delegate.getContext());
+            setName(delegate.getName());
+            start();
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            dequeued++;
+            monitor.onDequeued(event);
+            delegate.doAppend(event);
+        }
+
+        @Override
+        public void stop() {
+            super.stop();
+            delegate.stop();
+        }
+    }
+}
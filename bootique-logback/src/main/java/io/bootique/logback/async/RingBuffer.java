@@ -0,0 +1,150 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, pre-allocated multi-producer / single-consumer ring buffer. Producers claim slots with a CAS on a shared
+ * sequence, and each slot carries its own sequence that tells whether it is free to write or ready to read, so
+ * producers never take a lock and never wait for each other, except for the claim itself.
+ *
+ * @since 4.0
+ */
+final class RingBuffer<E> {
+
+    private final Object[] slots;
+    private final AtomicLongArray slotSequences;
+    private final int mask;
+
+    private final AtomicLong tail;
+
+    // only written by the consumer thread
+    private volatile long head;
+
+    RingBuffer(int minCapacity) {
+        int capacity = capacityFor(minCapacity);
+
+        this.slots = new Object[capacity];
+        this.slotSequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.tail = new AtomicLong();
+
+        for (int i = 0; i < capacity; i++) {
+            slotSequences.set(i, i);
+        }
+    }
+
+    static int capacityFor(int minCapacity) {
+        if (minCapacity < 1) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity: " + minCapacity);
+        }
+
+        if (minCapacity > 1 << 30) {
+            throw new IllegalArgumentException("Ring buffer capacity is too large: " + minCapacity);
+        }
+
+        return minCapacity == 1 ? 1 : Integer.highestOneBit(minCapacity - 1) << 1;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Returns an approximate number of elements in the buffer.
+     */
+    int size() {
+        long size = tail.get() - head;
+        return size < 0 ? 0 : (int) Math.min(size, slots.length);
+    }
+
+    int remainingCapacity() {
+        return slots.length - size();
+    }
+
+    boolean isEmpty() {
+        long h = head;
+        return slotSequences.get((int) h & mask) != h + 1;
+    }
+
+    /**
+     * Adds an element if there's space in the buffer. Can be called from any thread.
+     */
+    boolean offer(E element) {
+        while (true) {
+            long t = tail.get();
+            int index = (int) t & mask;
+            long diff = slotSequences.get(index) - t;
+
+            if (diff == 0) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    slots[index] = element;
+
+                    // a volatile write, so that consumers that check "isEmpty" and then park are not missed
+                    slotSequences.set(index, t + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // the slot still holds an element from the previous lap
+                return false;
+            }
+
+            // else another producer claimed this slot, retry with a fresh tail
+        }
+    }
+
+    /**
+     * Removes and returns the next element, or null if the buffer is empty. Must only be called from the consumer
+     * thread.
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long h = head;
+        int index = (int) h & mask;
+
+        if (slotSequences.get(index) != h + 1) {
+            return null;
+        }
+
+        E element = (E) slots[index];
+        slots[index] = null;
+        slotSequences.lazySet(index, h + slots.length);
+        head = h + 1;
+        return element;
+    }
+
+    /**
+     * Passes up to "max" available elements to the consumer, returning the number of elements drained. Must only be
+     * called from the consumer thread.
+     */
+    int drain(Consumer<? super E> consumer, int max) {
+        int drained = 0;
+        E element;
+        while (drained < max && (element = poll()) != null) {
+            consumer.accept(element);
+            drained++;
+        }
+
+        return drained;
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import io.bootique.logback.metrics.AsyncQueueMonitor;
+import io.bootique.logback.metrics.LogMetrics;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An asynchronous appender similar to Logback {@link ch.qos.logback.classic.AsyncAppender}, but backed by a lock-free
+ * {@link RingBuffer} instead of an ArrayBlockingQueue. Events are passed to the attached appenders on a single worker
+ * thread. Supports the same queue size, discarding threshold, "neverBlock", caller data and max flush time settings
+ * as the Logback appender, and a configurable {@link WaitStrategy}.
+ *
+ * @since 4.0
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    private static final int UNDEFINED = -1;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders;
+
+    private int queueSize;
+    private int discardingThreshold;
+    private boolean neverBlock;
+    private boolean includeCallerData;
+    private int maxFlushTime;
+    private WaitStrategy waitStrategy;
+    private int batchSize;
+    private int maxLinger;
+
+    private DispatchWorker worker;
+    private AsyncQueueMonitor monitor;
+
+    public RingBufferAppender() {
+        this.appenders = new AppenderAttachableImpl<>();
+        this.queueSize = AsyncAppenderBase.DEFAULT_QUEUE_SIZE;
+        this.discardingThreshold = UNDEFINED;
+        this.maxFlushTime = AsyncAppenderBase.DEFAULT_MAX_FLUSH_TIME;
+        this.waitStrategy = WaitStrategy.park;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No attached appenders found.");
+            return;
+        }
+
+        if (queueSize < 1) {
+            addError("Invalid queue size [" + queueSize + "]");
+            return;
+        }
+
+        this.worker = new DispatchWorker(
+                getName(),
+                "RingBufferAppender-Worker-" + getName(),
+                queueSize,
+                waitStrategy,
+                this::appendToAll,
+                appenders::detachAndStopAllAppenders);
+
+        if (batchSize > 1) {
+            worker.batch(batchSize, TimeUnit.MILLISECONDS.toNanos(maxLinger), new BatchFlusher(appenders::iteratorForAppenders));
+        }
+
+        if (discardingThreshold == UNDEFINED) {
+            discardingThreshold = worker.capacity() / 5;
+        }
+
+        LogMetrics metrics = LogMetrics.get(getContext());
+        if (metrics != null) {
+            DispatchWorker worker = this.worker;
+            this.monitor = metrics.monitorAsyncQueue(getName(), worker::size, worker::capacity);
+            worker.monitor(monitor);
+        }
+
+        super.start();
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+
+        // stop accepting events and let the worker flush the queued ones
+        super.stop();
+        worker.stop();
+
+        try {
+            if (!worker.join(maxFlushTime)) {
+                addWarn("Max queue flush timeout (" + maxFlushTime + " ms) exceeded. Approximately " + worker.size()
+                        + " queued events were possibly discarded.");
+            } else {
+                addInfo("Queue flush finished successfully within timeout.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            addError("Failed to join worker thread. " + worker.size() + " queued events may be discarded.", e);
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (worker.remainingCapacity() < discardingThreshold && isDiscardable(event)) {
+            if (monitor != null) {
+                monitor.onDiscarded();
+            }
+            return;
+        }
+
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+
+        worker.offer(event, !neverBlock);
+    }
+
+    private boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= Level.INFO_INT;
+    }
+
+    private void appendToAll(ILoggingEvent event) {
+        if (monitor != null) {
+            monitor.onDequeued(event);
+        }
+
+        try {
+            appenders.appendLoopOnAppenders(event);
+        } catch (RuntimeException e) {
+            addError("Error appending an event", e);
+        }
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getDiscardingThreshold() {
+        return discardingThreshold;
+    }
+
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public boolean isNeverBlock() {
+        return neverBlock;
+    }
+
+    public void setNeverBlock(boolean neverBlock) {
+        this.neverBlock = neverBlock;
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public int getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets a max number of events appended before the attached stream appenders are flushed. Values greater than 1
+     * enable batching, which turns off "immediateFlush" of the attached appenders.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxLinger() {
+        return maxLinger;
+    }
+
+    /**
+     * Sets how long in milliseconds an incomplete batch may wait for more events before the appenders are flushed.
+     * If 0 (default), a batch ends as soon as there are no more events in the queue.
+     */
+    public void setMaxLinger(int maxLinger) {
+        this.maxLinger = maxLinger;
+    }
+
+    /**
+     * Returns an approximate number of events waiting in the buffer.
+     */
+    public int getNumberOfElementsInQueue() {
+        return worker != null ? worker.size() : 0;
+    }
+
+    public int getRemainingCapacity() {
+        return worker != null ? worker.remainingCapacity() : 0;
+    }
+
+    /**
+     * Returns the queue health monitor, or null if "log.metrics" are not enabled.
+     */
+    public AsyncQueueMonitor getMonitor() {
+        return monitor;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Defines how a ring buffer appender thread waits for the buffer to change its state: the worker waiting for events,
+ * or a producer waiting for free space in a full buffer.
+ *
+ * @since 4.0
+ */
+public enum WaitStrategy {
+
+    /**
+     * Busy-spins. Has the lowest latency, but occupies a CPU core with the worker thread all the time.
+     */
+    spin {
+        @Override
+        int idle(int attempt) {
+            Thread.onSpinWait();
+            return attempt + 1;
+        }
+    },
+
+    /**
+     * Spins briefly, then yields the CPU to other threads.
+     */
+    yield {
+        @Override
+        int idle(int attempt) {
+            if (attempt < SPIN_ATTEMPTS) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+
+            return attempt + 1;
+        }
+    },
+
+    /**
+     * Spins and yields briefly, then parks the thread. An idle worker is woken up by the producers. Uses the least CPU.
+     */
+    park {
+        @Override
+        int idle(int attempt) {
+            if (attempt < SPIN_ATTEMPTS) {
+                Thread.onSpinWait();
+            } else if (attempt < SPIN_ATTEMPTS + YIELD_ATTEMPTS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+
+            return attempt + 1;
+        }
+
+        @Override
+        boolean parksWorker(int attempt) {
+            return attempt >= SPIN_ATTEMPTS + YIELD_ATTEMPTS;
+        }
+    };
+
+    static final int SPIN_ATTEMPTS = 100;
+    static final int YIELD_ATTEMPTS = 100;
+    static final long PARK_NANOS = 100_000L;
+
+    // an upper bound for a parked worker, in case a wakeup is lost
+    static final long MAX_PARK_NANOS = 10_000_000L;
+
+    /**
+     * Waits a bit, increasing the backoff with each attempt. Returns the next attempt number.
+     */
+    abstract int idle(int attempt);
+
+    /**
+     * Whether an idle worker on the given attempt should park until unparked by a producer, instead of calling
+     * {@link #idle(int)}.
+     */
+    boolean parksWorker(int attempt) {
+        return false;
+    }
+}
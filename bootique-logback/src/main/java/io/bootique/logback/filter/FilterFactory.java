@@ -19,8 +19,11 @@
 
 package io.bootique.logback.filter;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.bootique.annotation.BQConfig;
 import io.bootique.annotation.BQConfigProperty;
@@ -43,7 +46,7 @@ public abstract class FilterFactory implements PolymorphicConfiguration {
     /**
      * @param type filter type
      */
-    @BQConfigProperty("filter type, available types: \"level\", \"threshold\".")
+    @BQConfigProperty("filter type, available types: \"level\", \"threshold\", \"sampling\", \"rateLimit\".")
     public void setType(String type) {
         this.type = type;
     }
@@ -62,4 +65,47 @@ public abstract class FilterFactory implements PolymorphicConfiguration {
 
     public abstract Filter<ILoggingEvent> createFilter();
 
+    /**
+     * Creates a started filter for a given context. Filters that need the context (e.g. to log or to schedule tasks)
+     * should override this method. The default implementation delegates to {@link #createFilter()}.
+     *
+     * @since 4.0
+     */
+    public Filter<ILoggingEvent> createFilter(LoggerContext context) {
+        return createFilter();
+    }
+
+    /**
+     * Returns the reply of the created filter for the events of a given level, if the filter decisions depend on
+     * nothing but the event level. Returns null otherwise, which is the default. Consecutive level-only filters of an
+     * appender are combined into a single {@link LevelTableFilter}.
+     *
+     * @since 4.0
+     */
+    public FilterReply getLevelReply(Level level) {
+        return null;
+    }
+
+    /**
+     * Returns whether the created filter decisions depend only on the event, and the filter can be safely called from
+     * many threads at once. Such filters are evaluated on the logging thread before the event is queued for
+     * asynchronous appending. Returns false by default.
+     *
+     * @since 4.0
+     */
+    public boolean isStateless() {
+        return false;
+    }
+
+    /**
+     * Returns whether the created filter may be evaluated on the logging threads before the event is queued for
+     * asynchronous appending. Unless overridden, returns {@link #isStateless()}. Filters that keep state, but can be
+     * safely called from many threads at once, may override it to return true.
+     *
+     * @since 4.0
+     */
+    public boolean evaluateBeforeEnqueue() {
+        return isStateless();
+    }
+
 }
\ No newline at end of file
@@ -85,6 +85,26 @@ public class LevelFilterFactory extends FilterFactory {
         return levelFilter;
     }
 
+    /**
+     * Returns the reply of the created filter for a given level. Returns null for the subclasses, as they may create a
+     * different filter in {@link #createLevelFilter()}, unless they override this method as well.
+     */
+    @Override
+    public FilterReply getLevelReply(Level level) {
+        if (getClass() != LevelFilterFactory.class) {
+            return null;
+        }
+
+        return level.equals(Level.valueOf(getLevel()))
+                ? getFilterReply(getOnMatch())
+                : getFilterReply(getOnMismatch());
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     public FilterReply getFilterReply(String string) {
         string = string.toUpperCase();
         for(FilterReply reply : FilterReply.values()) {
@@ -0,0 +1,90 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.List;
+
+/**
+ * A filter that replaces a chain of filters whose decisions depend only on the event level (such as "level" and
+ * "threshold"). The combined decision for each level is computed upfront, so the filter decides with a single array
+ * lookup.
+ *
+ * @since 4.0
+ */
+public class LevelTableFilter extends Filter<ILoggingEvent> {
+
+    // TRACE, DEBUG, INFO, WARN, ERROR
+    private static final Level[] LEVELS = {Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR};
+
+    private final FilterReply[] replies;
+
+    protected LevelTableFilter(FilterReply[] replies) {
+        this.replies = replies;
+    }
+
+    /**
+     * Creates a started filter equivalent to the chain of filters produced by the factories. All the factories must
+     * return a non-null {@link FilterFactory#getLevelReply(Level)}.
+     */
+    public static LevelTableFilter create(List<FilterFactory> chain) {
+        FilterReply[] replies = new FilterReply[LEVELS.length];
+
+        for (int i = 0; i < LEVELS.length; i++) {
+            replies[i] = FilterReply.NEUTRAL;
+
+            // same as Logback, the first filter in the chain with a definite answer wins
+            for (FilterFactory f : chain) {
+                FilterReply reply = f.getLevelReply(LEVELS[i]);
+                if (reply == null) {
+                    throw new IllegalArgumentException("Filter is not a level filter: " + f.getClass().getName());
+                }
+
+                if (reply != FilterReply.NEUTRAL) {
+                    replies[i] = reply;
+                    break;
+                }
+            }
+        }
+
+        LevelTableFilter filter = new LevelTableFilter(replies);
+        filter.setName("levelTable");
+        filter.start();
+        return filter;
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (!isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+
+        return replies[index(event.getLevel())];
+    }
+
+    private static int index(Level level) {
+        // TRACE (5000) maps to 0, DEBUG (10000) - to 1, etc.
+        return Math.max(0, Math.min(LEVELS.length - 1, level.toInt() / Level.DEBUG_INT));
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the rate of events per logger and message template with a token bucket per key. Once the bucket of a key
+ * is empty, further events with this key are denied until the bucket refills. When the key has had no suppressed
+ * events for a "quiet period", a single summary event with the number of suppressed events is logged to the original
+ * logger.
+ * <p>
+ * The number of tracked keys is bounded. Keys that are not over the limit are evicted periodically. When the map is
+ * full, a new key replaces an idle key found among a few probed ones. If there is none, events with new keys share a
+ * single bucket until the periodic eviction frees up space.
+ *
+ * @since 4.0
+ */
+public class RateLimitFilter extends Filter<ILoggingEvent> {
+
+    static final String SUMMARY_FORMAT = "{} similar messages suppressed: {}";
+    static final String OVERFLOW_SUMMARY_FORMAT = "{} messages suppressed by rate limiting";
+
+    // stands for a null message template, as the map keys can't be null
+    private static final String NO_TEMPLATE = "";
+
+    // how many keys are checked for idleness when a new key is inserted into a full map
+    private static final int EVICTION_PROBES = 16;
+
+    // keyed by logger name, then by message template, so that the lookup doesn't allocate a composite key. The
+    // per-logger maps are never removed, as the number of loggers is bounded by the application code
+    private final ConcurrentMap<String, ConcurrentMap<String, Bucket>> buckets;
+    private final AtomicInteger keyCount;
+    private int burst;
+    private double eventsPerSecond;
+    private int maxKeys;
+    private long quietPeriod;
+
+    private long emissionIntervalNanos;
+    private long toleranceNanos;
+    private Bucket overflow;
+    private ScheduledFuture<?> summaryTask;
+
+    public RateLimitFilter() {
+        this.buckets = new ConcurrentHashMap<>();
+        this.keyCount = new AtomicInteger();
+        this.burst = 100;
+        this.eventsPerSecond = 10;
+        this.maxKeys = 1000;
+        this.quietPeriod = 10_000;
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (!isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long now = System.nanoTime();
+        Bucket bucket = bucket(event.getLoggerName(), event.getMessage(), now);
+        if (bucket.tryAcquire(now, emissionIntervalNanos, toleranceNanos)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        bucket.suppress(event.getLevel(), now);
+        return FilterReply.DENY;
+    }
+
+    private Bucket bucket(String loggerName, String template, long now) {
+        String key = template != null ? template : NO_TEMPLATE;
+        ConcurrentMap<String, Bucket> loggerBuckets = buckets.get(loggerName);
+        if (loggerBuckets != null) {
+            Bucket bucket = loggerBuckets.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+        }
+
+        // the size check is racy, so the map may grow a bit past the limit under contention
+        if (keyCount.get() >= maxKeys && !evictIdle(now)) {
+            return overflow;
+        }
+
+        if (loggerBuckets == null) {
+            loggerBuckets = buckets.computeIfAbsent(loggerName, n -> new ConcurrentHashMap<>());
+        }
+
+        return loggerBuckets.computeIfAbsent(key, k -> {
+            keyCount.incrementAndGet();
+            return new Bucket(now);
+        });
+    }
+
+    private boolean remove(ConcurrentMap<String, Bucket> loggerBuckets, String key, Bucket bucket) {
+        if (loggerBuckets.remove(key, bucket)) {
+            keyCount.decrementAndGet();
+            return true;
+        }
+
+        return false;
+    }
+
+    // removes one idle key, checking a bounded number of keys, so that the cost of an insert does not depend on the
+    // map size
+    private boolean evictIdle(long now) {
+        int probes = 0;
+        for (ConcurrentMap<String, Bucket> loggerBuckets : buckets.values()) {
+            for (Map.Entry<String, Bucket> e : loggerBuckets.entrySet()) {
+                if (e.getValue().isIdle(now) && remove(loggerBuckets, e.getKey(), e.getValue())) {
+                    return true;
+                }
+
+                if (++probes >= EVICTION_PROBES) {
+                    return false;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Logs the summaries of the keys that have not had suppressed events for the "quiet period", and evicts the
+     * keys that are not over the limit.
+     */
+    void flushSummaries(long now) {
+        long quietNanos = TimeUnit.MILLISECONDS.toNanos(quietPeriod);
+
+        buckets.forEach((loggerName, loggerBuckets) -> loggerBuckets.forEach((key, b) -> {
+            if (b.isIdle(now)) {
+                remove(loggerBuckets, key, b);
+            }
+
+            flushSummary(loggerName, key, b, now, quietNanos);
+        }));
+
+        flushSummary(Logger.ROOT_LOGGER_NAME, null, overflow, now, quietNanos);
+    }
+
+    private void flushSummary(String loggerName, String template, Bucket bucket, long now, long quietNanos) {
+        if (bucket.suppressed.get() > 0 && now - bucket.lastSuppressed >= quietNanos) {
+            long suppressed = bucket.suppressed.getAndSet(0);
+            if (suppressed > 0) {
+                logSummary(loggerName, bucket.lastLevel, suppressed, template);
+            }
+        }
+    }
+
+    /**
+     * Logs a summary of the suppressed events of a given key. The template is null for the events that were limited
+     * together, because the map of keys was full.
+     */
+    protected void logSummary(String loggerName, Level level, long suppressed, String template) {
+        LoggerContext context = (LoggerContext) getContext();
+        Logger logger = context.getLogger(loggerName);
+
+        String format = template != null ? SUMMARY_FORMAT : OVERFLOW_SUMMARY_FORMAT;
+        switch (level.toInt()) {
+            case Level.ERROR_INT:
+                logger.error(format, suppressed, template);
+                break;
+            case Level.WARN_INT:
+                logger.warn(format, suppressed, template);
+                break;
+            case Level.INFO_INT:
+                logger.info(format, suppressed, template);
+                break;
+            case Level.DEBUG_INT:
+                logger.debug(format, suppressed, template);
+                break;
+            default:
+                logger.trace(format, suppressed, template);
+                break;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (burst < 1) {
+            addError("Invalid burst: " + burst + ". Must be 1 or greater");
+            return;
+        }
+
+        if (eventsPerSecond <= 0) {
+            addError("Invalid events per second: " + eventsPerSecond + ". Must be positive");
+            return;
+        }
+
+        if (quietPeriod <= 0) {
+            addError("Invalid quiet period: " + quietPeriod + " ms. Must be positive");
+            return;
+        }
+
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / eventsPerSecond);
+        this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.overflow = new Bucket(System.nanoTime());
+
+        if (getContext() != null) {
+            ScheduledExecutorService executor = getContext().getScheduledExecutorService();
+            this.summaryTask = executor.scheduleAtFixedRate(
+                    () -> flushSummaries(System.nanoTime()),
+                    quietPeriod,
+                    quietPeriod,
+                    TimeUnit.MILLISECONDS);
+            getContext().addScheduledFuture(summaryTask);
+        } else {
+            addWarn("No context, the summaries of suppressed events will not be logged");
+        }
+
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (summaryTask != null) {
+            summaryTask.cancel(false);
+            summaryTask = null;
+        }
+
+        super.stop();
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Sets the number of events per key that can be logged at once before the limit kicks in.
+     */
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public double getEventsPerSecond() {
+        return eventsPerSecond;
+    }
+
+    /**
+     * Sets the sustained rate of events per key.
+     */
+    public void setEventsPerSecond(double eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public long getQuietPeriod() {
+        return quietPeriod;
+    }
+
+    /**
+     * Sets how long in milliseconds a key should have no suppressed events before its summary is logged.
+     */
+    public void setQuietPeriod(long quietPeriod) {
+        this.quietPeriod = quietPeriod;
+    }
+
+    // A token bucket implemented as a "virtual scheduling" cell rate algorithm: instead of the token count, the bucket
+    // stores the time when it becomes full again, so that taking a token is a single compare-and-set
+    private static final class Bucket {
+
+        final AtomicLong fullAt;
+        final AtomicLong suppressed;
+        volatile Level lastLevel;
+        volatile long lastSuppressed;
+
+        Bucket(long now) {
+            this.fullAt = new AtomicLong(now);
+            this.suppressed = new AtomicLong();
+        }
+
+        boolean tryAcquire(long now, long emissionInterval, long tolerance) {
+            while (true) {
+                long fullAt = this.fullAt.get();
+                long start = Math.max(fullAt, now);
+                if (start - now > tolerance) {
+                    return false;
+                }
+
+                if (this.fullAt.compareAndSet(fullAt, start + emissionInterval)) {
+                    return true;
+                }
+            }
+        }
+
+        void suppress(Level level, long now) {
+            lastLevel = level;
+            lastSuppressed = now;
+            suppressed.incrementAndGet();
+        }
+
+        boolean isIdle(long now) {
+            return suppressed.get() == 0 && fullAt.get() - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.filter;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.bootique.annotation.BQConfigProperty;
+import io.bootique.value.Duration;
+
+/**
+ * RateLimitFilter limits the rate of events coming from the same logger with the same message template, so that a
+ * single failing call site can not flood the logs. Suppressed events are reported with a summary event once the burst
+ * is over.
+ *
+ * @since 4.0
+ */
+@JsonTypeName("rateLimit")
+public class RateLimitFilterFactory extends FilterFactory {
+
+    private int burst;
+    private double eventsPerSecond;
+    private int maxKeys;
+    private Duration quietPeriod;
+
+    public RateLimitFilterFactory() {
+        this.burst = 100;
+        this.eventsPerSecond = 10;
+        this.maxKeys = 1000;
+    }
+
+    @BQConfigProperty("Number of events with the same logger and message template that can be logged at once, " +
+            "before the rate limit kicks in. The default is 100.")
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    @BQConfigProperty("Sustained rate of events with the same logger and message template. The default is 10.")
+    public void setEventsPerSecond(double eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    @BQConfigProperty("Max number of logger and message template combinations tracked. Once reached, a new " +
+            "combination replaces an idle one, and if none is found, the new combinations share a single limit " +
+            "until the idle ones are evicted. The default is 1000.")
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    @BQConfigProperty("How long a logger and message template combination should have no suppressed events before " +
+            "a summary with the number of suppressed events is logged. The default is 10s.")
+    public void setQuietPeriod(Duration quietPeriod) {
+        this.quietPeriod = quietPeriod;
+    }
+
+    @Override
+    public Filter<ILoggingEvent> createFilter() {
+        return createRateLimitFilter(null);
+    }
+
+    @Override
+    public Filter<ILoggingEvent> createFilter(LoggerContext context) {
+        return createRateLimitFilter(context);
+    }
+
+    protected RateLimitFilter createRateLimitFilter(LoggerContext context) {
+        RateLimitFilter filter = new RateLimitFilter();
+        filter.setContext(context);
+        filter.setBurst(burst);
+        filter.setEventsPerSecond(eventsPerSecond);
+        filter.setMaxKeys(maxKeys);
+
+        if (quietPeriod != null) {
+            filter.setQuietPeriod(quietPeriod.getDuration().toMillis());
+        }
+
+        filter.setName("rateLimit");
+        setType("rateLimit");
+
+        filter.start();
+
+        return filter;
+    }
+
+    // the filter is thread-safe, and is best applied before the events are queued
+    @Override
+    public boolean evaluateBeforeEnqueue() {
+        return true;
+    }
+}
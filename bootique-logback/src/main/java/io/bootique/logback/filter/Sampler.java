@@ -0,0 +1,293 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.filter;
+
+import ch.qos.logback.classic.Level;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which events of high-volume loggers to keep. Each combination of logger name and level is sampled
+ * separately, either by keeping one of every "rate" events, or by keeping at most "limit" events per "interval", or
+ * both. Events at or above the "always pass" level are always kept. The sampler is thread-safe and does not lock.
+ * To avoid contention, the "1 in N" counting is split into a few stripes picked by the calling thread, each keeping one
+ * of every "rate" of its events, so with multiple threads a few more events than "1 in N" may be kept.
+ *
+ * @since 4.0
+ */
+public class Sampler {
+
+    // marks the loggers that are not sampled
+    private static final LoggerSamples NOT_SAMPLED = new LoggerSamples(null);
+
+    // TRACE, DEBUG, INFO, WARN, ERROR
+    private static final int LEVELS = 5;
+
+    // a power of 2, so that a thread hash can be masked to a stripe index
+    private static final int STRIPES = Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(), 8));
+
+    // each stripe counter takes a whole 64 byte cache line
+    private static final int STRIPE_PADDING = 8;
+
+    private final ConcurrentMap<String, LoggerSamples> samples;
+    private final Set<String> loggers;
+    private int rate;
+    private int limit;
+    private long intervalNanos;
+    private Level alwaysPassLevel;
+
+    public Sampler() {
+        this.samples = new ConcurrentHashMap<>();
+        this.loggers = new HashSet<>();
+        this.rate = 1;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1);
+        this.alwaysPassLevel = Level.WARN;
+    }
+
+    /**
+     * Returns true if the event should be kept, false if it should be suppressed.
+     */
+    public boolean sample(String loggerName, Level level) {
+        if (level.isGreaterOrEqual(alwaysPassLevel)) {
+            return true;
+        }
+
+        LoggerSamples loggerSamples = samples.computeIfAbsent(loggerName, this::createSamples);
+        if (loggerSamples == NOT_SAMPLED) {
+            return true;
+        }
+
+        return loggerSamples.levels[levelIndex(level)].sample(this);
+    }
+
+    /**
+     * Returns the total number of events suppressed so far.
+     */
+    public long getSuppressedCount() {
+        long count = 0;
+        for (LoggerSamples s : samples.values()) {
+            count += s.suppressedCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the numbers of events suppressed so far keyed by logger name. Loggers with no suppressed events are
+     * omitted. Together with the sampling rate, these allow to estimate the actual event volumes.
+     */
+    public Map<String, Long> getSuppressedCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        samples.forEach((name, s) -> {
+            long count = s.suppressedCount();
+            if (count > 0) {
+                counts.put(name, count);
+            }
+        });
+        return counts;
+    }
+
+    private LoggerSamples createSamples(String loggerName) {
+        return loggers.isEmpty() || isSampled(loggerName) ? new LoggerSamples(this) : NOT_SAMPLED;
+    }
+
+    private boolean isSampled(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            if (loggers.contains(name)) {
+                return true;
+            }
+
+            int dot = Math.max(name.lastIndexOf('.'), name.lastIndexOf('$'));
+            if (dot < 0) {
+                return false;
+            }
+
+            name = name.substring(0, dot);
+        }
+    }
+
+    private static int levelIndex(Level level) {
+        return Math.max(0, Math.min(LEVELS - 1, level.toInt() / Level.DEBUG_INT));
+    }
+
+    /**
+     * Sets the names of the sampled loggers. Child loggers of these are sampled as well. If empty (the default), all
+     * loggers are sampled.
+     */
+    public void setLoggers(Collection<String> loggers) {
+        this.loggers.clear();
+        this.loggers.addAll(loggers);
+        this.samples.clear();
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    /**
+     * Sets the "1 in N" rate. The default is 1, i.e. all events are kept.
+     */
+    public void setRate(int rate) {
+        if (rate < 1) {
+            throw new IllegalArgumentException("Invalid sampling rate: " + rate + ". Must be 1 or greater");
+        }
+
+        this.rate = rate;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the max number of events kept per interval. The default is 0, i.e. no limit.
+     */
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public long getInterval() {
+        return TimeUnit.NANOSECONDS.toMillis(intervalNanos);
+    }
+
+    /**
+     * Sets the "limit" interval in milliseconds. The default is 1 second.
+     */
+    public void setInterval(long intervalMs) {
+        if (intervalMs < 1) {
+            throw new IllegalArgumentException("Invalid sampling interval: " + intervalMs + ". Must be 1 ms or greater");
+        }
+
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+    }
+
+    public Level getAlwaysPassLevel() {
+        return alwaysPassLevel;
+    }
+
+    public void setAlwaysPassLevel(Level alwaysPassLevel) {
+        this.alwaysPassLevel = alwaysPassLevel;
+    }
+
+    private static final class LoggerSamples {
+
+        final LevelSample[] levels;
+
+        LoggerSamples(Sampler sampler) {
+            this.levels = new LevelSample[sampler != null ? LEVELS : 0];
+            for (int i = 0; i < levels.length; i++) {
+                levels[i] = new LevelSample(sampler);
+            }
+        }
+
+        long suppressedCount() {
+            long count = 0;
+            for (LevelSample l : levels) {
+                count += l.suppressed.sum();
+            }
+            return count;
+        }
+    }
+
+    private static final class LevelSample {
+
+        final StripedCounter counter;
+        final AtomicReference<Window> window;
+        final LongAdder suppressed;
+
+        LevelSample(Sampler sampler) {
+            this.counter = sampler.rate > 1 ? new StripedCounter() : null;
+            this.window = sampler.limit > 0 ? new AtomicReference<>(new Window(System.nanoTime())) : null;
+            this.suppressed = new LongAdder();
+        }
+
+        boolean sample(Sampler sampler) {
+
+            if (counter != null && counter.getAndIncrement() % sampler.rate != 0) {
+                suppressed.increment();
+                return false;
+            }
+
+            if (window != null && !window(sampler).tryAcquire(sampler.limit)) {
+                suppressed.increment();
+                return false;
+            }
+
+            return true;
+        }
+
+        private Window window(Sampler sampler) {
+            Window w = window.get();
+            long now = System.nanoTime();
+            if (now - w.start < sampler.intervalNanos) {
+                return w;
+            }
+
+            Window next = new Window(now);
+            return window.compareAndSet(w, next) ? next : window.get();
+        }
+    }
+
+    private static final class StripedCounter {
+
+        final AtomicLongArray counts;
+
+        StripedCounter() {
+            this.counts = new AtomicLongArray(STRIPES * STRIPE_PADDING);
+        }
+
+        long getAndIncrement() {
+            int hash = System.identityHashCode(Thread.currentThread());
+            int stripe = (hash ^ (hash >>> 16)) & (STRIPES - 1);
+            return counts.getAndIncrement(stripe * STRIPE_PADDING);
+        }
+    }
+
+    private static final class Window {
+
+        final long start;
+        final LongAdder count;
+
+        Window(long start) {
+            this.start = start;
+            this.count = new LongAdder();
+        }
+
+        // under contention, the limit may be exceeded by a few events
+        boolean tryAcquire(int limit) {
+            if (count.sum() >= limit) {
+                return false;
+            }
+
+            count.increment();
+            return true;
+        }
+    }
+}
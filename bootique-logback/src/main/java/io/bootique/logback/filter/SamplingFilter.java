@@ -0,0 +1,67 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.filter;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * An appender filter that denies the events not picked by a {@link Sampler}.
+ *
+ * @since 4.0
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    private final Sampler sampler;
+
+    public SamplingFilter() {
+        this(new Sampler());
+    }
+
+    public SamplingFilter(Sampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (!isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+
+        return sampler.sample(event.getLoggerName(), event.getLevel()) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public Sampler getSampler() {
+        return sampler;
+    }
+
+    @Override
+    public void stop() {
+        if (isStarted()) {
+            long suppressed = sampler.getSuppressedCount();
+            if (suppressed > 0) {
+                addInfo("Sampling suppressed " + suppressed + " events: " + sampler.getSuppressedCounts());
+            }
+        }
+
+        super.stop();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.bootique.annotation.BQConfigProperty;
+import io.bootique.logback.LogbackLevel;
+import io.bootique.value.Duration;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * SamplingFilter keeps only a sample of the events of high-volume loggers, either one of every N events, or at most a
+ * given number of events per time interval. Each logger and level is sampled separately.
+ *
+ * @since 4.0
+ */
+@JsonTypeName("sampling")
+public class SamplingFilterFactory extends FilterFactory {
+
+    private Collection<String> loggers;
+    private int rate;
+    private int limit;
+    private Duration interval;
+    private LogbackLevel alwaysPassLevel;
+
+    public SamplingFilterFactory() {
+        this.loggers = Collections.emptyList();
+        this.rate = 1;
+        this.alwaysPassLevel = LogbackLevel.warn;
+    }
+
+    @BQConfigProperty("Names of the sampled loggers, including their child loggers. If empty, all loggers are sampled.")
+    public void setLoggers(Collection<String> loggers) {
+        this.loggers = loggers;
+    }
+
+    @BQConfigProperty("Only one of every 'rate' events of each logger and level is kept. The default is 1, i.e. no " +
+            "'1 in N' sampling.")
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    @BQConfigProperty("Max number of events of each logger and level kept per 'interval'. The default is 0, i.e. no limit.")
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    @BQConfigProperty("Time interval of the 'limit'. The default is 1s.")
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    @BQConfigProperty("Events at or above this level are never sampled. The default is 'warn'.")
+    public void setAlwaysPassLevel(LogbackLevel alwaysPassLevel) {
+        this.alwaysPassLevel = alwaysPassLevel;
+    }
+
+    @Override
+    public Filter<ILoggingEvent> createFilter() {
+        return createSamplingFilter();
+    }
+
+    protected SamplingFilter createSamplingFilter() {
+        SamplingFilter filter = new SamplingFilter(createSampler());
+        filter.setName("sampling");
+        setType("sampling");
+
+        filter.start();
+
+        return filter;
+    }
+
+    protected Sampler createSampler() {
+        Sampler sampler = new Sampler();
+        sampler.setLoggers(loggers);
+        sampler.setRate(rate);
+        sampler.setLimit(limit);
+        sampler.setAlwaysPassLevel(Level.toLevel(alwaysPassLevel.name(), Level.WARN));
+
+        if (interval != null) {
+            sampler.setInterval(interval.getDuration().toMillis());
+        }
+
+        return sampler;
+    }
+
+    // the sampler is thread-safe, so it is best applied before the events are queued
+    @Override
+    public boolean evaluateBeforeEnqueue() {
+        return true;
+    }
+}
@@ -19,9 +19,11 @@
 
 package io.bootique.logback.filter;
 
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.filter.ThresholdFilter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
 /**
@@ -40,6 +42,24 @@ public class ThresholdFilterFactory extends FilterFactory {
         return createThresholdFilter();
     }
 
+    /**
+     * Returns the reply of the created filter for a given level. Subclasses get null, so that the filter from their
+     * {@link #createThresholdFilter()} is attached as is, unless they override this method too.
+     */
+    @Override
+    public FilterReply getLevelReply(Level level) {
+        if (getClass() != ThresholdFilterFactory.class) {
+            return null;
+        }
+
+        return level.isGreaterOrEqual(Level.toLevel(getLevel())) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     protected ThresholdFilter createThresholdFilter() {
         ThresholdFilter thresholdFilter = new ThresholdFilter();
         thresholdFilter.setLevel(getLevel());
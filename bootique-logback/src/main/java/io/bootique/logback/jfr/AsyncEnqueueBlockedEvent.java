@@ -0,0 +1,49 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a logging thread finds an asynchronous appender queue full and has to wait for free space. The event
+ * duration is the time the thread was blocked.
+ *
+ * @since 4.0
+ */
+@Name("io.bootique.logback.AsyncEnqueueBlocked")
+@Label("Async Enqueue Blocked")
+@Category({"Bootique", "Logging"})
+@Description("A logging thread waited for free space in a full async appender queue")
+public class AsyncEnqueueBlockedEvent extends jdk.jfr.Event {
+
+    @Label("Queue")
+    final String queue;
+
+    @Label("Queue Capacity")
+    final int capacity;
+
+    public AsyncEnqueueBlockedEvent(String queue, int capacity) {
+        this.queue = queue;
+        this.capacity = capacity;
+    }
+}
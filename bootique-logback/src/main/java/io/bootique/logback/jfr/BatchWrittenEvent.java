@@ -0,0 +1,51 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted by an asynchronous appender worker at the end of a batch. The event duration is the time it took to flush
+ * the appenders output.
+ *
+ * @since 4.0
+ */
+@Name("io.bootique.logback.BatchWritten")
+@Label("Batch Written")
+@Category({"Bootique", "Logging"})
+@Description("An async appender worker flushed a batch of events")
+@StackTrace(false)
+public class BatchWrittenEvent extends jdk.jfr.Event {
+
+    @Label("Queue")
+    final String queue;
+
+    @Label("Events")
+    final int events;
+
+    public BatchWrittenEvent(String queue, int events) {
+        this.queue = queue;
+        this.events = events;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted when a rolled over log file is compressed. The event duration is the compression time.
+ *
+ * @since 4.0
+ */
+@Name("io.bootique.logback.CompressionFinished")
+@Label("Log Compression Finished")
+@Category({"Bootique", "Logging"})
+@Description("A rolled over log file was compressed")
+@StackTrace(false)
+public class CompressionEvent extends jdk.jfr.Event {
+
+    @Label("Archive")
+    final String archive;
+
+    @Label("Compressed Size")
+    @DataAmount
+    long compressedBytes;
+
+    public CompressionEvent(String archive) {
+        this.archive = archive;
+    }
+
+    public void setCompressedBytes(long compressedBytes) {
+        this.compressedBytes = compressedBytes;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.jfr;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Custom JDK Flight Recorder events of the logging pipeline. The events are always emitted, and only cost a flag
+ * check unless a recording with the "io.bootique.logback" events enabled is running.
+ *
+ * @since 4.0
+ */
+public final class JfrEvents {
+
+    /**
+     * Every this many encoded events one is timed. Must be a power of two.
+     */
+    public static final int RENDER_SAMPLE_INTERVAL = 64;
+
+    private static volatile boolean registered;
+
+    private JfrEvents() {
+    }
+
+    /**
+     * Registers the event types with the Flight Recorder, so that they are listed in the recording metadata and can
+     * be enabled in the JFR settings even before they are emitted.
+     */
+    public static void register() {
+        if (registered) {
+            return;
+        }
+
+        FlightRecorder.register(AsyncEnqueueBlockedEvent.class);
+        FlightRecorder.register(BatchWrittenEvent.class);
+        FlightRecorder.register(RolloverEvent.class);
+        FlightRecorder.register(CompressionEvent.class);
+        FlightRecorder.register(LayoutRenderEvent.class);
+        registered = true;
+    }
+
+    /**
+     * Wraps the encoder to emit {@link LayoutRenderEvent} for a sample of the encoded events.
+     */
+    public static Encoder<ILoggingEvent> instrument(Encoder<ILoggingEvent> encoder, String appenderName) {
+        return new RenderSamplingEncoder(encoder, appenderName);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.jfr;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+/**
+ * An encoder that times every Nth call of another encoder, emitting a {@link LayoutRenderEvent} if JFR is recording.
+ */
+class RenderSamplingEncoder extends EncoderBase<ILoggingEvent> {
+
+    private final Encoder<ILoggingEvent> delegate;
+    private final String appenderName;
+
+    // not thread-safe on purpose, as a lost increment only shifts the sample
+    private int calls;
+
+    RenderSamplingEncoder(Encoder<ILoggingEvent> delegate, String appenderName) {
+        this.delegate = delegate;
+        this.appenderName = appenderName;
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return delegate.headerBytes();
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        if ((++calls & (JfrEvents.RENDER_SAMPLE_INTERVAL - 1)) != 0) {
+            return delegate.encode(event);
+        }
+
+        LayoutRenderEvent jfrEvent = new LayoutRenderEvent(appenderName);
+        if (!jfrEvent.isEnabled()) {
+            return delegate.encode(event);
+        }
+
+        jfrEvent.begin();
+        byte[] encoded = delegate.encode(event);
+        jfrEvent.bytes = encoded != null ? encoded.length : 0;
+        jfrEvent.commit();
+        return encoded;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return delegate.footerBytes();
+    }
+
+    @Override
+    public void setContext(Context context) {
+        super.setContext(context);
+        delegate.setContext(context);
+    }
+
+    @Override
+    public void start() {
+        delegate.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        delegate.stop();
+    }
+}
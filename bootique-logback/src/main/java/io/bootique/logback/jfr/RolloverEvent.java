@@ -0,0 +1,51 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a rolling file appender rolls over its file. The event duration is the time the appender was blocked
+ * by the rollover, including the synchronous compression, if any.
+ *
+ * @since 4.0
+ */
+@Name("io.bootique.logback.Rollover")
+@Label("Log Rollover")
+@Category({"Bootique", "Logging"})
+@Description("A rolling file appender rolled over the log file")
+public class RolloverEvent extends jdk.jfr.Event {
+
+    @Label("File")
+    final String file;
+
+    @Label("File Size")
+    @DataAmount
+    final long bytes;
+
+    public RolloverEvent(String file, long bytes) {
+        this.file = file;
+        this.bytes = bytes;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.layout;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Renders timestamps via immutable {@link DateTimeFormatter}s. The parts of the pattern around the millisecond fields
+ * are rendered once per second and cached, so that only the milliseconds are rendered for each event.
+ *
+ * @since 4.0
+ */
+class CachingTimestampFormatter extends TimestampFormatter {
+
+    private final DateTimeFormatter[] sectionFormatters;
+
+    // a single immutable entry, so a plain volatile field is enough to share it between threads
+    private volatile RenderedSecond cache;
+
+    CachingTimestampFormatter(List<String> sections, ZoneId zone, Locale locale) {
+        int len = sections.size();
+        this.sectionFormatters = new DateTimeFormatter[len];
+
+        for (int i = 0; i < len; i++) {
+            String section = sections.get(i);
+            sectionFormatters[i] = section.isEmpty()
+                    ? null
+                    : DateTimeFormatter.ofPattern(section, locale).withZone(zone);
+        }
+    }
+
+    @Override
+    public String format(long timestamp) {
+        long second = Math.floorDiv(timestamp, 1000L);
+
+        RenderedSecond rendered = this.cache;
+        if (rendered == null || rendered.second != second) {
+            rendered = render(second);
+            this.cache = rendered;
+        }
+
+        String[] sections = rendered.sections;
+        if (sections.length == 1) {
+            return sections[0];
+        }
+
+        int millis = (int) Math.floorMod(timestamp, 1000L);
+        StringBuilder out = new StringBuilder(rendered.length + 3 * (sections.length - 1));
+        out.append(sections[0]);
+        for (int i = 1; i < sections.length; i++) {
+            appendMillis(out, millis);
+            out.append(sections[i]);
+        }
+
+        return out.toString();
+    }
+
+    private RenderedSecond render(long second) {
+        Instant instant = Instant.ofEpochSecond(second);
+
+        int len = sectionFormatters.length;
+        String[] sections = new String[len];
+        for (int i = 0; i < len; i++) {
+            sections[i] = sectionFormatters[i] != null ? sectionFormatters[i].format(instant) : "";
+        }
+
+        return new RenderedSecond(second, sections);
+    }
+
+    private static final class RenderedSecond {
+
+        final long second;
+        final String[] sections;
+        final int length;
+
+        RenderedSecond(long second, String[] sections) {
+            this.second = second;
+            this.sections = sections;
+
+            int length = 0;
+            for (String s : sections) {
+                length += s.length();
+            }
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.layout;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Renders ISO-8601 UTC timestamps with millisecond precision (e.g. "2026-10-18T12:34:56.789Z"). The date and time
+ * up to the seconds are calculated by hand and cached per second.
+ *
+ * @since 4.0
+ */
+class Iso8601UtcTimestampFormatter extends TimestampFormatter {
+
+    // 10000-01-01T00:00:00Z
+    private static final long MAX_FOUR_DIGIT_YEAR_SECOND = 253402300800L;
+
+    private static final DateTimeFormatter FALLBACK_FORMATTER = DateTimeFormatter
+            .ofPattern("uuuu-MM-dd'T'HH:mm:ss.")
+            .withZone(ZoneOffset.UTC);
+
+    // a single immutable entry, so a plain volatile field is enough to share it between threads
+    private volatile RenderedSecond cache;
+
+    @Override
+    public String format(long timestamp) {
+        long second = Math.floorDiv(timestamp, 1000L);
+
+        RenderedSecond rendered = this.cache;
+        if (rendered == null || rendered.second != second) {
+            rendered = new RenderedSecond(second, render(second));
+            this.cache = rendered;
+        }
+
+        StringBuilder out = new StringBuilder(rendered.prefix.length() + 4);
+        out.append(rendered.prefix);
+        appendMillis(out, (int) Math.floorMod(timestamp, 1000L));
+        out.append('Z');
+        return out.toString();
+    }
+
+    static String render(long second) {
+
+        if (second < 0 || second >= MAX_FOUR_DIGIT_YEAR_SECOND) {
+            return FALLBACK_FORMATTER.format(Instant.ofEpochSecond(second));
+        }
+
+        long days = second / 86400;
+        int secondOfDay = (int) (second % 86400);
+
+        // civil date from days since epoch, see http://howardhinnant.github.io/date_algorithms.html#civil_from_days
+        long z = days + 719468;
+        long era = z / 146097;
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        char[] chars = new char[20];
+        write4(chars, 0, year);
+        chars[4] = '-';
+        write2(chars, 5, month);
+        chars[7] = '-';
+        write2(chars, 8, day);
+        chars[10] = 'T';
+        write2(chars, 11, secondOfDay / 3600);
+        chars[13] = ':';
+        write2(chars, 14, (secondOfDay / 60) % 60);
+        chars[16] = ':';
+        write2(chars, 17, secondOfDay % 60);
+        chars[19] = '.';
+        return new String(chars);
+    }
+
+    private static void write2(char[] chars, int offset, int value) {
+        chars[offset] = (char) ('0' + value / 10);
+        chars[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    private static void write4(char[] chars, int offset, int value) {
+        write2(chars, offset, value / 100);
+        write2(chars, offset + 2, value % 100);
+    }
+
+    private static final class RenderedSecond {
+
+        final long second;
+        final String prefix;
+
+        RenderedSecond(long second, String prefix) {
+            this.second = second;
+            this.prefix = prefix;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.layout;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A Logback encoder that writes events as UTF-8 JSON straight into a per-thread reusable byte buffer, skipping the
+ * intermediate String created when a {@link JsonLayout} is wrapped in a LayoutWrappingEncoder. The produced bytes are
+ * the same as those of the wrapped layout encoded in UTF-8.
+ *
+ * @since 4.0
+ */
+public class JsonEncoder extends EncoderBase<ILoggingEvent> {
+
+    // per-thread buffers that grew beyond this size (e.g. after a huge stack trace) are not retained
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private final JsonLayout layout;
+    private final ThreadLocal<ByteGenerator> generators;
+
+    public JsonEncoder(JsonLayout layout) {
+        this.layout = Objects.requireNonNull(layout);
+        this.generators = new ThreadLocal<>();
+    }
+
+    @Override
+    public void start() {
+        if (!layout.isStarted()) {
+            layout.start();
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        layout.stop();
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+
+        // custom map-based layouts can't be streamed
+        if (layout.isMapBased()) {
+            return toBytes(layout.doLayout(event));
+        }
+
+        ByteGenerator bg = generators.get();
+        if (bg == null) {
+            bg = createByteGenerator();
+            generators.set(bg);
+        }
+
+        try {
+            layout.writeEvent(event, bg.generator);
+            bg.generator.flush();
+            return bg.buffer.toByteArray();
+        } catch (IOException | RuntimeException e) {
+
+            // the generator state is unknown after a failure, so start from scratch for the next event
+            generators.remove();
+            addError("Error encoding JSON log event. Defaulting to layout rendering", e);
+            return toBytes(layout.toJsonString(layout.toJsonMap(event)));
+        } finally {
+            bg.buffer.reset();
+            if (bg.buffer.getCurrentSegment().length > MAX_RETAINED_BUFFER_SIZE) {
+                generators.remove();
+            }
+        }
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    private ByteGenerator createByteGenerator() {
+        ByteArrayBuilder buffer = new ByteArrayBuilder(512);
+        try {
+            JsonGenerator generator = layout.getJsonFactory().createGenerator(buffer, JsonEncoding.UTF8);
+            return new ByteGenerator(buffer, layout.configureGenerator(generator));
+        } catch (IOException e) {
+            throw new RuntimeException("Error creating JSON generator", e);
+        }
+    }
+
+    private static byte[] toBytes(String s) {
+        return s != null ? s.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static class ByteGenerator {
+
+        final ByteArrayBuilder buffer;
+        final JsonGenerator generator;
+
+        ByteGenerator(ByteArrayBuilder buffer, JsonGenerator generator) {
+            this.buffer = buffer;
+            this.generator = generator;
+        }
+    }
+}
@@ -25,18 +25,24 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.IThrowableProxy;
 import ch.qos.logback.classic.spi.LoggerContextVO;
 import ch.qos.logback.core.LayoutBase;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
- * A Logback {@link ch.qos.logback.core.Layout} that renders each event as a JSON object.
+ * A Logback {@link ch.qos.logback.core.Layout} that renders each event as a JSON object. Events are streamed to a
+ * per-thread reusable {@link JsonGenerator}, without creating an intermediate map. Subclasses that override
+ * {@link #toJsonMap(ILoggingEvent)} or {@link #toJsonString(Map)} are rendered via the map-based path instead.
  *
  * @since 4.0
  */
@@ -52,16 +58,37 @@ public class JsonLayout extends LayoutBase<ILoggingEvent> {
     private static final String EXCEPTION_ATTR_NAME = "exception";
     private static final String CONTEXT_ATTR_NAME = "context";
 
+    private static final SerializableString TIMESTAMP_FIELD = new SerializedString(TIMESTAMP_ATTR_NAME);
+    private static final SerializableString LEVEL_FIELD = new SerializedString(LEVEL_ATTR_NAME);
+    private static final SerializableString THREAD_FIELD = new SerializedString(THREAD_ATTR_NAME);
+    private static final SerializableString MDC_FIELD = new SerializedString(MDC_ATTR_NAME);
+    private static final SerializableString LOGGER_FIELD = new SerializedString(LOGGER_ATTR_NAME);
+    private static final SerializableString FORMATTED_MESSAGE_FIELD = new SerializedString(FORMATTED_MESSAGE_ATTR_NAME);
+    private static final SerializableString MESSAGE_FIELD = new SerializedString(MESSAGE_ATTR_NAME);
+    private static final SerializableString EXCEPTION_FIELD = new SerializedString(EXCEPTION_ATTR_NAME);
+    private static final SerializableString CONTEXT_FIELD = new SerializedString(CONTEXT_ATTR_NAME);
+
+    // per-thread buffers that grew beyond this size (e.g. after a huge stack trace) are not retained
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
     private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
     private final ThrowableHandlingConverter throwableProxyConverter;
+    private final ThreadLocal<StringGenerator> generators;
+    private final boolean mapBased;
 
     private boolean prettyPrint = false;
 
-    private String timestampFormat;
+    private TimestampFormatter timestampFormatter;
 
     public JsonLayout() {
         this.objectMapper = new ObjectMapper();
+
+        // events are written one after another to the same generator, so no separator is needed between them
+        this.jsonFactory = new JsonFactory().setRootValueSeparator(null);
         this.throwableProxyConverter = new ThrowableProxyConverter();
+        this.generators = new ThreadLocal<>();
+        this.mapBased = overridesMapRendering(getClass());
     }
 
     @Override
@@ -78,11 +105,60 @@ public class JsonLayout extends LayoutBase<ILoggingEvent> {
 
     @Override
     public String doLayout(ILoggingEvent event) {
-        Map<String, Object> map = toJsonMap(event);
-        if (map == null || map.isEmpty()) {
-            return null;
+        if (mapBased) {
+            Map<String, Object> map = toJsonMap(event);
+            if (map == null || map.isEmpty()) {
+                return null;
+            }
+            return toJsonString(map);
+        }
+
+        StringGenerator sg = generators.get();
+        if (sg == null) {
+            sg = createStringGenerator();
+            generators.set(sg);
         }
-        return toJsonString(map);
+
+        try {
+            writeEvent(event, sg.generator);
+            sg.generator.flush();
+            return sg.buffer.toString();
+        } catch (IOException | RuntimeException e) {
+
+            // the generator state is unknown after a failure, so start from scratch for the next event
+            generators.remove();
+            addError("Error streaming JSON log event. Defaulting to map rendering", e);
+            return toJsonString(toJsonMap(event));
+        } finally {
+            if (!sg.buffer.reset(MAX_RETAINED_BUFFER_SIZE)) {
+                generators.remove();
+            }
+        }
+    }
+
+    /**
+     * Writes a single event as a JSON object to the provided generator.
+     */
+    protected void writeEvent(ILoggingEvent event, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeFields(event, generator);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes event fields to the provided generator. The set and order of fields must match
+     * {@link #toJsonMap(ILoggingEvent)}.
+     */
+    protected void writeFields(ILoggingEvent event, JsonGenerator generator) throws IOException {
+        writeTimestamp(TIMESTAMP_FIELD, event.getTimeStamp(), generator);
+        write(LEVEL_FIELD, String.valueOf(event.getLevel()), generator);
+        write(THREAD_FIELD, event.getThreadName(), generator);
+        writeMap(MDC_FIELD, event.getMDCPropertyMap(), generator);
+        write(LOGGER_FIELD, event.getLoggerName(), generator);
+        write(FORMATTED_MESSAGE_FIELD, event.getFormattedMessage(), generator);
+        write(MESSAGE_FIELD, event.getMessage(), generator);
+        write(CONTEXT_FIELD, contextName(event), generator);
+        writeThrowableInfo(EXCEPTION_FIELD, event, generator);
     }
 
     protected Map<String, Object> toJsonMap(ILoggingEvent event) {
@@ -131,24 +207,96 @@ public class JsonLayout extends LayoutBase<ILoggingEvent> {
     }
 
     protected void addThrowableInfo(String key, ILoggingEvent event, Map<String, Object> map) {
+        String ex = throwableInfo(event);
+        if (ex != null) {
+            map.put(key, ex);
+        }
+    }
+
+    protected void writeTimestamp(SerializableString key, long timestamp, JsonGenerator generator) throws IOException {
+        String formatted = formatTimestamp(timestamp);
+        if (formatted != null) {
+            generator.writeFieldName(key);
+            generator.writeString(formatted);
+        }
+    }
+
+    protected void write(SerializableString key, String value, JsonGenerator generator) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(key);
+            generator.writeString(value);
+        }
+    }
+
+    protected void writeMap(SerializableString key, Map<String, String> value, JsonGenerator generator) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            generator.writeFieldName(key);
+            generator.writeStartObject();
+            for (Map.Entry<String, String> e : value.entrySet()) {
+                generator.writeFieldName(e.getKey());
+                generator.writeString(e.getValue());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    protected void writeThrowableInfo(SerializableString key, ILoggingEvent event, JsonGenerator generator) throws IOException {
+        String ex = throwableInfo(event);
+        if (ex != null) {
+            generator.writeFieldName(key);
+            generator.writeString(ex);
+        }
+    }
+
+    protected String formatTimestamp(long timestamp) {
+        if (timestampFormatter == null || timestamp < 0) {
+            return String.valueOf(timestamp);
+        }
+
+        return timestampFormatter.format(timestamp);
+    }
+
+    /**
+     * Applies this layout settings to a newly created generator.
+     */
+    protected JsonGenerator configureGenerator(JsonGenerator generator) {
+        if (prettyPrint) {
+            // DefaultPrettyPrinter is stateful, so each generator needs its own instance
+            generator.setPrettyPrinter(new EventPrettyPrinter());
+        }
+
+        return generator;
+    }
+
+    protected JsonFactory getJsonFactory() {
+        return jsonFactory;
+    }
+
+    boolean isMapBased() {
+        return mapBased;
+    }
+
+    private StringGenerator createStringGenerator() {
+        StringBuilderWriter buffer = new StringBuilderWriter();
+        try {
+            return new StringGenerator(buffer, configureGenerator(jsonFactory.createGenerator(buffer)));
+        } catch (IOException e) {
+            throw new RuntimeException("Error creating JSON generator", e);
+        }
+    }
+
+    private String throwableInfo(ILoggingEvent event) {
         if (event != null) {
             IThrowableProxy throwableProxy = event.getThrowableProxy();
             if (throwableProxy != null) {
                 String ex = throwableProxyConverter.convert(event);
                 if (ex != null && !ex.isEmpty()) {
-                    map.put(key, ex);
+                    return ex;
                 }
             }
         }
-    }
-
-    protected String formatTimestamp(long timestamp) {
-        if (timestampFormat == null || timestamp < 0) {
-            return String.valueOf(timestamp);
-        }
 
-        DateFormat format = new SimpleDateFormat(timestampFormat);
-        return format.format(new Date(timestamp));
+        return null;
     }
 
     private static String contextName(ILoggingEvent event) {
@@ -156,11 +304,112 @@ public class JsonLayout extends LayoutBase<ILoggingEvent> {
         return vo != null ? vo.getName() : null;
     }
 
+    private static boolean overridesMapRendering(Class<?> type) {
+        for (Class<?> c = type; c != JsonLayout.class; c = c.getSuperclass()) {
+            if (declares(c, "toJsonMap", ILoggingEvent.class) || declares(c, "toJsonString", Map.class)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean declares(Class<?> type, String method, Class<?> paramType) {
+        try {
+            type.getDeclaredMethod(method, paramType);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sets a {@link java.text.SimpleDateFormat} pattern or {@link TimestampFormatter#ISO8601_UTC} for the event
+     * timestamps. If not set, timestamps are rendered as milliseconds since epoch.
+     *
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
     public void setTimestampFormat(String timestampFormat) {
-        this.timestampFormat = timestampFormat;
+        this.timestampFormatter = timestampFormat != null ? TimestampFormatter.create(timestampFormat) : null;
     }
 
     public void setPrettyPrint(boolean prettyPrint) {
         this.prettyPrint = prettyPrint;
     }
+
+    /**
+     * Pretty printer that writes nothing between consecutive root-level values.
+     */
+    private static class EventPrettyPrinter extends DefaultPrettyPrinter {
+
+        @Override
+        public EventPrettyPrinter createInstance() {
+            return new EventPrettyPrinter();
+        }
+
+        @Override
+        public void writeRootValueSeparator(JsonGenerator g) {
+        }
+    }
+
+    private static class StringGenerator {
+
+        final StringBuilderWriter buffer;
+        final JsonGenerator generator;
+
+        StringGenerator(StringBuilderWriter buffer, JsonGenerator generator) {
+            this.buffer = buffer;
+            this.generator = generator;
+        }
+    }
+
+    /**
+     * A non-synchronized Writer over a reusable StringBuilder.
+     */
+    private static class StringBuilderWriter extends Writer {
+
+        private final StringBuilder builder = new StringBuilder(512);
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            builder.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            builder.append(str, off, off + len);
+        }
+
+        @Override
+        public Writer append(CharSequence csq) {
+            builder.append(csq);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /**
+         * Clears the buffer, returning false if it became too large to be kept around.
+         */
+        boolean reset(int maxRetainedSize) {
+            builder.setLength(0);
+            return builder.capacity() <= maxRetainedSize;
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
 }
@@ -21,6 +21,7 @@ package io.bootique.logback.layout;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.encoder.Encoder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.bootique.annotation.BQConfig;
 import io.bootique.annotation.BQConfigProperty;
@@ -38,11 +39,14 @@ public class JsonLayoutFactory extends LayoutFactory {
 
     private String timestampFormat;
     private boolean prettyPrint;
+    private boolean directEncoding;
 
     /**
-     * Sets timestamp for output logs. Default is {@link #DEFAULT_TIMESTAMP}.
+     * Sets timestamp for output logs. Either a {@link java.text.SimpleDateFormat} pattern or
+     * {@link TimestampFormatter#ISO8601_UTC}. Default is {@link #DEFAULT_TIMESTAMP}.
      */
-    @BQConfigProperty("Timestamp format for json. Default is \'yyyy-MM-dd HH:mm:ss.SSS\'")
+    @BQConfigProperty("Timestamp format for json. Either a SimpleDateFormat pattern or 'ISO8601_UTC'. " +
+            "Default is \'yyyy-MM-dd HH:mm:ss.SSS\'")
     public void setTimestampFormat(String timestampFormat) {
         this.timestampFormat = timestampFormat;
     }
@@ -55,8 +59,34 @@ public class JsonLayoutFactory extends LayoutFactory {
         this.prettyPrint = prettyPrint;
     }
 
+    /**
+     * Sets whether the events should be encoded straight to UTF-8 bytes, without creating an intermediate String.
+     * Default is false.
+     */
+    @BQConfigProperty("If true, events are written as UTF-8 bytes directly, bypassing an intermediate String per event. " +
+            "Default is false.")
+    public void setDirectEncoding(boolean directEncoding) {
+        this.directEncoding = directEncoding;
+    }
+
+    @Override
+    public Encoder<ILoggingEvent> createEncoder(LoggerContext context, String logFormat) {
+        if (!directEncoding) {
+            return null;
+        }
+
+        JsonEncoder encoder = new JsonEncoder(createJsonLayout(context));
+        encoder.setContext(context);
+        encoder.start();
+        return encoder;
+    }
+
     @Override
     public Layout<ILoggingEvent> createLayout(LoggerContext context, String logFormat) {
+        return createJsonLayout(context);
+    }
+
+    protected JsonLayout createJsonLayout(LoggerContext context) {
         String timestamp = this.timestampFormat != null ? this.timestampFormat : DEFAULT_TIMESTAMP;
 
         JsonLayout jsonLayout = new JsonLayout();
@@ -22,6 +22,7 @@ package io.bootique.logback.layout;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.encoder.Encoder;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.bootique.annotation.BQConfig;
 import io.bootique.annotation.BQConfigProperty;
@@ -51,4 +52,14 @@ public abstract class LayoutFactory implements PolymorphicConfiguration {
 
     public abstract Layout<ILoggingEvent> createLayout(LoggerContext context, String defaultLogFormat);
 
+    /**
+     * Creates an optional encoder that converts events to bytes directly, bypassing the String produced by the
+     * layout. Returns null by default, in which case the appender wraps the layout in a LayoutWrappingEncoder.
+     *
+     * @since 4.0
+     */
+    public Encoder<ILoggingEvent> createEncoder(LoggerContext context, String defaultLogFormat) {
+        return null;
+    }
+
 }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.layout;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Renders timestamps with patterns that can't be safely translated to {@link java.time.format.DateTimeFormatter},
+ * using a {@link SimpleDateFormat} per thread.
+ *
+ * @since 4.0
+ */
+class SimpleDateTimestampFormatter extends TimestampFormatter {
+
+    private final ThreadLocal<SimpleDateFormat> formats;
+
+    SimpleDateTimestampFormatter(String pattern) {
+
+        // fail early on invalid patterns
+        new SimpleDateFormat(pattern);
+
+        this.formats = ThreadLocal.withInitial(() -> new SimpleDateFormat(pattern));
+    }
+
+    @Override
+    public String format(long timestamp) {
+        return formats.get().format(new Date(timestamp));
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.layout;
+
+import java.text.DecimalFormatSymbols;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A thread-safe formatter of event timestamps. Formatters are created from {@link java.text.SimpleDateFormat}
+ * patterns and produce the same output as {@link java.text.SimpleDateFormat} in the default time zone and locale.
+ * Common numeric patterns are rendered via an immutable {@link java.time.format.DateTimeFormatter} with a per-second
+ * cache, other patterns fall back to a per-thread {@link java.text.SimpleDateFormat}. A special
+ * {@link #ISO8601_UTC} pattern renders ISO-8601 timestamps in UTC (e.g. "2026-10-18T12:34:56.789Z").
+ *
+ * @since 4.0
+ */
+public abstract class TimestampFormatter {
+
+    /**
+     * A pattern for ISO-8601 UTC timestamps with millisecond precision, e.g. "2026-10-18T12:34:56.789Z".
+     */
+    public static final String ISO8601_UTC = "ISO8601_UTC";
+
+    /**
+     * Creates a formatter for the pattern.
+     *
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static TimestampFormatter create(String pattern) {
+
+        if (ISO8601_UTC.equalsIgnoreCase(pattern)) {
+            return new Iso8601UtcTimestampFormatter();
+        }
+
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        if (DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0') {
+            List<String> sections = splitOnMillis(pattern);
+            if (sections != null) {
+                return new CachingTimestampFormatter(sections, ZoneId.systemDefault(), locale);
+            }
+        }
+
+        return new SimpleDateTimestampFormatter(pattern);
+    }
+
+    /**
+     * Splits a pattern into sections separated by the "SSS" millisecond fields. Returns null if the pattern contains
+     * anything whose rendering may differ between SimpleDateFormat and DateTimeFormatter.
+     */
+    static List<String> splitOnMillis(String pattern) {
+
+        List<String> sections = new ArrayList<>(2);
+        StringBuilder section = new StringBuilder();
+
+        int len = pattern.length();
+        int i = 0;
+        while (i < len) {
+            char c = pattern.charAt(i);
+
+            if (c == '\'') {
+                int end = closingQuote(pattern, i);
+                if (end < 0) {
+                    return null;
+                }
+
+                section.append(pattern, i, end + 1);
+                i = end + 1;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int end = i + 1;
+                while (end < len && pattern.charAt(end) == c) {
+                    end++;
+                }
+
+                int count = end - i;
+                if (c == 'S' && count == 3) {
+                    sections.add(section.toString());
+                    section.setLength(0);
+                } else if (isSameInDateTimeFormatter(c, count)) {
+                    section.append(pattern, i, end);
+                } else {
+                    return null;
+                }
+
+                i = end;
+            } else if ("[]{}#".indexOf(c) >= 0) {
+                // reserved by DateTimeFormatter, but literals in SimpleDateFormat
+                return null;
+            } else {
+                section.append(c);
+                i++;
+            }
+        }
+
+        sections.add(section.toString());
+        return sections;
+    }
+
+    private static int closingQuote(String pattern, int start) {
+        int len = pattern.length();
+        for (int i = start + 1; i < len; i++) {
+            if (pattern.charAt(i) == '\'') {
+
+                // a doubled quote inside a quoted literal is an escaped quote
+                if (i > start + 1 && i + 1 < len && pattern.charAt(i + 1) == '\'') {
+                    i++;
+                    continue;
+                }
+
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isSameInDateTimeFormatter(char letter, int count) {
+        switch (letter) {
+            case 'y':
+                return count <= 4;
+            case 'M':
+            case 'd':
+            case 'H':
+            case 'h':
+            case 'm':
+            case 's':
+                return count <= 2;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns a formatted timestamp. Must only be called for non-negative timestamps.
+     */
+    public abstract String format(long timestamp);
+
+    static void appendMillis(StringBuilder out, int millis) {
+        out.append((char) ('0' + millis / 100));
+        out.append((char) ('0' + (millis / 10) % 10));
+        out.append((char) ('0' + millis % 10));
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+/**
+ * JMX view of an {@link AsyncQueueMonitor}. Registered as "io.bootique.logback:type=AsyncQueue,name=..." if JMX is
+ * enabled in "log.metrics".
+ *
+ * @since 4.0
+ */
+public interface AsyncQueueMXBean {
+
+    String getName();
+
+    int getQueueDepth();
+
+    int getQueueCapacity();
+
+    long getEnqueuedCount();
+
+    long getBlockedCount();
+
+    long getDiscardedCount();
+
+    long getLagP50Micros();
+
+    long getLagP99Micros();
+
+    long getLagP999Micros();
+
+    long getLagMaxMicros();
+
+    void resetLag();
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Health of a single asynchronous appender queue: current depth, the number of events queued, the number of times
+ * a producer found the queue full and had to wait, the number of events discarded, and the histogram of the lag
+ * between an event creation and the moment it is passed to the wrapped appenders. Counters are updated by the async
+ * appenders, the depth is read from the queue on demand.
+ *
+ * @since 4.0
+ */
+public class AsyncQueueMonitor implements AsyncQueueMXBean {
+
+    private final String name;
+    private final IntSupplier depth;
+    private final IntSupplier capacity;
+    private final LongAdder enqueued;
+    private final LongAdder dequeued;
+    private final LongAdder blocked;
+    private final LongAdder discarded;
+    private final LatencyHistogram lag;
+
+    public AsyncQueueMonitor(String name, IntSupplier depth, IntSupplier capacity) {
+        this.name = name;
+        this.depth = depth;
+        this.capacity = capacity;
+        this.enqueued = new LongAdder();
+        this.dequeued = new LongAdder();
+        this.blocked = new LongAdder();
+        this.discarded = new LongAdder();
+        this.lag = new LatencyHistogram();
+    }
+
+    public void onEnqueued() {
+        enqueued.increment();
+    }
+
+    /**
+     * Called when a producer found the queue full and has to wait for free space.
+     */
+    public void onBlocked() {
+        blocked.increment();
+    }
+
+    /**
+     * Called when an event is dropped, either below the discarding threshold or because the queue is full and the
+     * appender never blocks.
+     */
+    public void onDiscarded() {
+        discarded.increment();
+    }
+
+    /**
+     * Records the lag of an event that is about to be appended. Must be called on the queue consumer thread.
+     */
+    public void onDequeued(ILoggingEvent event) {
+        dequeued.increment();
+
+        Instant created = event.getInstant();
+        if (created != null) {
+            Instant now = Instant.now();
+            lag.record((now.getEpochSecond() - created.getEpochSecond()) * 1_000_000L
+                    + (now.getNano() - created.getNano()) / 1000);
+        }
+    }
+
+    public LatencyHistogram getLag() {
+        return lag;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return depth.getAsInt();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return capacity.getAsInt();
+    }
+
+    @Override
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    /**
+     * Returns the number of the events taken from the queue. The difference with {@link #getEnqueuedCount()} is the
+     * number of the events queued or being appended, which can be read without locking the queue.
+     */
+    public long getDequeuedCount() {
+        return dequeued.sum();
+    }
+
+    @Override
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    @Override
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    @Override
+    public long getLagP50Micros() {
+        return lag.getPercentile(50.);
+    }
+
+    @Override
+    public long getLagP99Micros() {
+        return lag.getPercentile(99.);
+    }
+
+    @Override
+    public long getLagP999Micros() {
+        return lag.getPercentile(99.9);
+    }
+
+    @Override
+    public long getLagMaxMicros() {
+        return lag.getMax();
+    }
+
+    @Override
+    public void resetLag() {
+        lag.reset();
+    }
+}
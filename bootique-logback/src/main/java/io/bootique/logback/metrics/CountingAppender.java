@@ -0,0 +1,40 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+/**
+ * An appender attached to the root logger that updates the metrics counters on the logging thread.
+ */
+class CountingAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private final LogMetrics metrics;
+
+    CountingAppender(LogMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        metrics.count(event);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+/**
+ * One of the most frequent keys found by {@link HeavyHitters}.
+ *
+ * @since 4.0
+ */
+public class HeavyHitter {
+
+    private final String key;
+    private final long count;
+    private final double share;
+
+    public HeavyHitter(String key, long count, double share) {
+        this.key = key;
+        this.count = count;
+        this.share = share;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the key. May be slightly higher than the actual number.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the estimated share of the key occurrences in the total, between 0 and 1.
+     */
+    public double getShare() {
+        return share;
+    }
+
+    @Override
+    public String toString() {
+        return key + ": " + count + " (" + Math.round(share * 1000) / 10. + "%)";
+    }
+}
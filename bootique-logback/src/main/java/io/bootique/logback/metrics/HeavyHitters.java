@@ -0,0 +1,190 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds the most frequent keys in a stream in constant memory, no matter how many distinct keys there are. The
+ * frequencies are estimated with a count-min sketch, and up to "capacity" keys with the highest estimates are kept
+ * as the top candidates. Updating the shared sketch on each call would make the logging threads contend on the same
+ * cache lines, so once the total reaches "width * sampleRate" (where the sketch error exceeds the sampling step
+ * anyway), only a random sample of the calls (1 in "sampleRate") updates the sketch, with the increments scaled by the
+ * rate. Before that, or with the rate of 1, the estimates may exceed the true counts (never undercount), with the
+ * error bounded by a small fraction of the total. After that, the estimates of the frequent keys stay accurate, as
+ * their relative sampling error shrinks as the count grows.
+ *
+ * @since 4.0
+ */
+public class HeavyHitters {
+
+    private static final int DEPTH = 4;
+    private static final int DEFAULT_WIDTH = 2048;
+    private static final int DEFAULT_SAMPLE_RATE = 16;
+
+    private final AtomicLongArray sketch;
+    private final int width;
+    private final int capacity;
+    private final int sampleRate;
+    private final Set<String> candidates;
+    private final LongAdder total;
+    private final long exactUpdates;
+
+    // set once the total reaches "exactUpdates", never reset
+    private volatile boolean sampling;
+
+    // the lowest estimate among the candidates when the candidate set is full, 0 otherwise
+    private volatile long admissionThreshold;
+
+    public HeavyHitters(int capacity) {
+        this(capacity, DEFAULT_WIDTH, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * @param capacity   how many top keys to track
+     * @param width      number of counters per sketch row. Rounded up to a power of two. The estimation error is
+     *                   about total / width.
+     * @param sampleRate 1 in how many calls updates the sketch once the total reaches "width * sampleRate". 1
+     *                   counts every call.
+     */
+    public HeavyHitters(int capacity, int width, int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+        this.width = width > 1 ? Integer.highestOneBit(width - 1) << 1 : 1;
+        this.sketch = new AtomicLongArray(DEPTH * this.width);
+        this.capacity = capacity;
+        this.candidates = ConcurrentHashMap.newKeySet();
+        this.total = new LongAdder();
+        this.exactUpdates = (long) this.width * this.sampleRate;
+    }
+
+    public void add(String key) {
+        total.increment();
+
+        int increment = 1;
+        if (sampling) {
+            if (ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+                return;
+            }
+
+            increment = sampleRate;
+        } else if (sampleRate > 1 && total.sum() >= exactUpdates) {
+            sampling = true;
+        }
+
+        int h1 = spread(key.hashCode());
+        int h2 = spread(h1 ^ 0x9E3779B9) | 1;
+
+        long estimate = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            estimate = Math.min(estimate, sketch.addAndGet(index(i, h1, h2), increment));
+        }
+
+        if (estimate > admissionThreshold && !candidates.contains(key)) {
+            admit(key);
+        }
+    }
+
+    /**
+     * Returns an estimated number of times the key was added.
+     */
+    public long estimate(String key) {
+        int h1 = spread(key.hashCode());
+        int h2 = spread(h1 ^ 0x9E3779B9) | 1;
+
+        long estimate = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            estimate = Math.min(estimate, sketch.get(index(i, h1, h2)));
+        }
+
+        return estimate;
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Returns the top keys ordered by their estimated counts, from the highest.
+     */
+    public List<HeavyHitter> getTop() {
+        long total = getTotal();
+
+        List<HeavyHitter> top = new ArrayList<>(candidates.size());
+        for (String key : candidates) {
+            long count = estimate(key);
+            top.add(new HeavyHitter(key, count, total > 0 ? (double) count / total : 0.));
+        }
+
+        top.sort(Comparator.comparingLong(HeavyHitter::getCount).reversed());
+        return top;
+    }
+
+    private synchronized void admit(String key) {
+        if (!candidates.add(key)) {
+            return;
+        }
+
+        if (candidates.size() > capacity) {
+            String lowest = null;
+            long lowestEstimate = Long.MAX_VALUE;
+            for (String c : candidates) {
+                long e = estimate(c);
+                if (e < lowestEstimate) {
+                    lowest = c;
+                    lowestEstimate = e;
+                }
+            }
+
+            candidates.remove(lowest);
+        }
+
+        admissionThreshold = candidates.size() < capacity ? 0 : lowestEstimate();
+    }
+
+    private long lowestEstimate() {
+        long lowest = Long.MAX_VALUE;
+        for (String c : candidates) {
+            lowest = Math.min(lowest, estimate(c));
+        }
+
+        return lowest;
+    }
+
+    // a row hash derived from two base hashes (Kirsch-Mitzenmacher)
+    private int index(int row, int h1, int h2) {
+        return row * width + ((h1 + row * h2) & (width - 1));
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.encoder.EncoderBase;
+import ch.qos.logback.core.encoder.Encoder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An encoder that counts the bytes produced by another encoder.
+ */
+class InstrumentedEncoder extends EncoderBase<ILoggingEvent> {
+
+    private final Encoder<ILoggingEvent> delegate;
+    private final LongAdder bytes;
+
+    InstrumentedEncoder(Encoder<ILoggingEvent> delegate, LongAdder bytes) {
+        this.delegate = delegate;
+        this.bytes = bytes;
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return count(delegate.headerBytes());
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        return count(delegate.encode(event));
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return count(delegate.footerBytes());
+    }
+
+    private byte[] count(byte[] encoded) {
+        if (encoded != null) {
+            bytes.add(encoded.length);
+        }
+
+        return encoded;
+    }
+
+    @Override
+    public void setContext(Context context) {
+        super.setContext(context);
+        delegate.setContext(context);
+    }
+
+    @Override
+    public void start() {
+        delegate.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        delegate.stop();
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.spi.LifeCycle;
+import io.bootique.logback.LogbackLevel;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Cheap counters of the logging activity: events per level, events per configured logger, bytes rendered per
+ * appender, and the health of the asynchronous appender queues. Only populated if enabled via "log.metrics" configuration. Can be injected and published by other
+ * modules.
+ *
+ * @since 4.0
+ */
+public class LogMetrics {
+
+    static final String CONTEXT_KEY = LogMetrics.class.getName();
+    static final String JMX_DOMAIN = "io.bootique.logback";
+
+    // TRACE, DEBUG, INFO, WARN, ERROR
+    private static final int LEVELS = 5;
+
+    private final boolean enabled;
+    private final LongAdder[] levelCounts;
+    private final Map<String, LongAdder> loggerCounts;
+    private final LongAdder rootCount;
+    private final ConcurrentMap<String, LongAdder> loggerCountsByName;
+    private final ConcurrentMap<String, LongAdder> appenderBytes;
+    private final HeavyHitters topLoggers;
+    private final HeavyHitters topTemplates;
+    private final ConcurrentMap<String, AsyncQueueMonitor> asyncQueues;
+
+    private JmxPublisher jmx;
+
+    /**
+     * Returns the metrics installed in the context, or null if metrics are not enabled or the context is null.
+     */
+    public static LogMetrics get(Context context) {
+        return context != null ? (LogMetrics) context.getObject(CONTEXT_KEY) : null;
+    }
+
+    /**
+     * Creates a disabled instance, whose counters are always zero.
+     */
+    public static LogMetrics disabled() {
+        return new LogMetrics(false, Collections.emptySet(), 0);
+    }
+
+    LogMetrics(boolean enabled, Collection<String> loggerNames, int topK) {
+        this.enabled = enabled;
+
+        this.levelCounts = new LongAdder[LEVELS];
+        for (int i = 0; i < LEVELS; i++) {
+            levelCounts[i] = new LongAdder();
+        }
+
+        this.loggerCounts = new HashMap<>();
+        loggerNames.forEach(n -> loggerCounts.put(n, new LongAdder()));
+
+        this.rootCount = new LongAdder();
+        this.loggerCountsByName = new ConcurrentHashMap<>();
+        this.appenderBytes = new ConcurrentHashMap<>();
+        this.topLoggers = topK > 0 ? new HeavyHitters(topK) : null;
+        this.topTemplates = topK > 0 ? new HeavyHitters(topK) : null;
+        this.asyncQueues = new ConcurrentHashMap<>();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the number of events of a given level logged so far.
+     */
+    public long getEventCount(LogbackLevel level) {
+        switch (level) {
+            case error:
+                return levelCounts[4].sum();
+            case warn:
+                return levelCounts[3].sum();
+            case info:
+                return levelCounts[2].sum();
+            case debug:
+                return levelCounts[1].sum();
+            case trace:
+                return levelCounts[0].sum();
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns the total number of events logged so far.
+     */
+    public long getEventCount() {
+        long count = 0;
+        for (LongAdder a : levelCounts) {
+            count += a.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the numbers of events keyed by the configured logger names ("log.loggers" keys). Each event is counted
+     * once, under the most specific configured logger. The events of other loggers are counted under "ROOT".
+     */
+    public Map<String, Long> getLoggerEventCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        loggerCounts.forEach((n, a) -> counts.put(n, a.sum()));
+        counts.put(org.slf4j.Logger.ROOT_LOGGER_NAME, rootCount.sum());
+        return counts;
+    }
+
+    /**
+     * Returns the numbers of bytes rendered so far keyed by appender name. Unnamed appenders are keyed by their type
+     * and target.
+     */
+    public Map<String, Long> getAppenderByteCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        appenderBytes.forEach((n, a) -> counts.put(n, a.sum()));
+        return counts;
+    }
+
+    /**
+     * Returns the estimated noisiest loggers, from the noisiest. Returns an empty list unless "topK" is configured.
+     */
+    public List<HeavyHitter> getTopLoggers() {
+        return topLoggers != null ? topLoggers.getTop() : Collections.emptyList();
+    }
+
+    /**
+     * Returns the estimated most frequent message templates (i.e. the messages before the arguments are substituted),
+     * from the most frequent. As each template usually comes from a single line of code, this points to the noisiest
+     * call sites. Returns an empty list unless "topK" is configured.
+     */
+    public List<HeavyHitter> getTopMessageTemplates() {
+        return topTemplates != null ? topTemplates.getTop() : Collections.emptyList();
+    }
+
+    /**
+     * Returns the health monitors of the asynchronous appender queues keyed by the appender name. The shared
+     * dispatcher queues are monitored together under the "dispatcher" name.
+     */
+    public Map<String, AsyncQueueMonitor> getAsyncQueues() {
+        return Collections.unmodifiableMap(asyncQueues);
+    }
+
+    /**
+     * Creates a health monitor for an asynchronous appender queue, registering it under the appender name (and
+     * publishing it via JMX, if enabled). A monitor with the same name created earlier is replaced.
+     */
+    public AsyncQueueMonitor monitorAsyncQueue(String appenderName, IntSupplier depth, IntSupplier capacity) {
+        String name = appenderName != null ? appenderName : "async";
+        AsyncQueueMonitor monitor = new AsyncQueueMonitor(name, depth, capacity);
+        asyncQueues.put(name, monitor);
+
+        if (jmx != null) {
+            jmx.register(monitor);
+        }
+
+        return monitor;
+    }
+
+    /**
+     * Wraps the encoder to count the bytes it renders under a given appender name.
+     */
+    public Encoder<ILoggingEvent> instrument(Encoder<ILoggingEvent> encoder, String appenderName) {
+        return new InstrumentedEncoder(encoder, appenderBytes.computeIfAbsent(appenderName, n -> new LongAdder()));
+    }
+
+    void count(ILoggingEvent event) {
+        levelCounts[levelIndex(event.getLevel())].increment();
+        loggerCountsByName.computeIfAbsent(event.getLoggerName(), this::resolveLoggerCount).increment();
+
+        if (topLoggers != null) {
+            topLoggers.add(event.getLoggerName());
+
+            String template = event.getMessage();
+            if (template != null) {
+                topTemplates.add(template);
+            }
+        }
+    }
+
+    void install(Context context) {
+        context.putObject(CONTEXT_KEY, this);
+    }
+
+    void publishViaJmx(Context context) {
+        this.jmx = new JmxPublisher(context);
+        context.register(jmx);
+        jmx.start();
+    }
+
+    private LongAdder resolveLoggerCount(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            LongAdder count = loggerCounts.get(name);
+            if (count != null) {
+                return count;
+            }
+
+            int dot = Math.max(name.lastIndexOf('.'), name.lastIndexOf('$'));
+            if (dot < 0) {
+                return rootCount;
+            }
+
+            name = name.substring(0, dot);
+        }
+    }
+
+    private static int levelIndex(Level level) {
+        // TRACE (5000) maps to 0, DEBUG (10000) - to 1, etc.
+        return Math.max(0, Math.min(LEVELS - 1, level.toInt() / Level.DEBUG_INT));
+    }
+
+    // unregisters the queue MBeans when the context is reset
+    private static class JmxPublisher extends ContextAwareBase implements LifeCycle {
+
+        private final MBeanServer server;
+        private final Map<ObjectName, AsyncQueueMonitor> registered;
+        private volatile boolean started;
+
+        JmxPublisher(Context context) {
+            setContext(context);
+            this.server = ManagementFactory.getPlatformMBeanServer();
+            this.registered = new ConcurrentHashMap<>();
+        }
+
+        void register(AsyncQueueMonitor monitor) {
+            try {
+                ObjectName name = new ObjectName(JMX_DOMAIN + ":type=AsyncQueue,name=" + ObjectName.quote(monitor.getName()));
+
+                // replace a stale bean left by an earlier context
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+
+                server.registerMBean(monitor, name);
+                registered.put(name, monitor);
+            } catch (JMException e) {
+                addWarn("Failed to register JMX bean for the async queue '" + monitor.getName() + "'", e);
+            }
+        }
+
+        @Override
+        public void start() {
+            started = true;
+        }
+
+        @Override
+        public void stop() {
+            started = false;
+            registered.keySet().forEach(n -> {
+                try {
+                    server.unregisterMBean(n);
+                } catch (JMException e) {
+                    // already unregistered
+                }
+            });
+            registered.clear();
+        }
+
+        @Override
+        public boolean isStarted() {
+            return started;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.bootique.annotation.BQConfig;
+import io.bootique.annotation.BQConfigProperty;
+
+import java.util.Collection;
+
+/**
+ * Configures collection of the logging {@link LogMetrics}.
+ *
+ * @since 4.0
+ */
+@BQConfig("Collection of logging metrics")
+public class LogMetricsFactory {
+
+    private boolean enabled;
+    private int topK;
+    private boolean jmx;
+
+    public LogMetricsFactory() {
+        this.enabled = true;
+        this.topK = 10;
+        this.jmx = true;
+    }
+
+    @BQConfigProperty("Whether to collect the metrics. The default is true.")
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @BQConfigProperty("How many of the noisiest loggers and message templates to track. Memory use does not depend on " +
+            "the number of distinct loggers. 0 disables the tracking. The default is 10.")
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+
+    @BQConfigProperty("Whether to publish the async appender queue monitors as 'io.bootique.logback:type=AsyncQueue' " +
+            "JMX beans. The default is true.")
+    public void setJmx(boolean jmx) {
+        this.jmx = jmx;
+    }
+
+    /**
+     * Creates metrics and installs them in the context, attaching the counting appender to the root logger. Must be
+     * called before the appenders are created, so that their encoders are instrumented. Returns null if the metrics
+     * are disabled.
+     *
+     * @param loggerNames configured logger names to count the events for
+     */
+    public LogMetrics createMetrics(LoggerContext context, Collection<String> loggerNames) {
+        if (!enabled) {
+            return null;
+        }
+
+        LogMetrics metrics = new LogMetrics(true, loggerNames, topK);
+        metrics.install(context);
+
+        if (jmx) {
+            metrics.publishViaJmx(context);
+        }
+
+        CountingAppender appender = new CountingAppender(metrics);
+        appender.setContext(context);
+        appender.setName("metrics");
+        appender.start();
+
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+        return metrics;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import ch.qos.logback.core.rolling.RolloverFailure;
+import ch.qos.logback.core.rolling.TimeBasedFileNamingAndTriggeringPolicy;
+import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
+import ch.qos.logback.core.rolling.helper.ArchiveRemover;
+import ch.qos.logback.core.rolling.helper.CompressionMode;
+import ch.qos.logback.core.rolling.helper.RenameUtil;
+import ch.qos.logback.core.spi.ContextAware;
+import io.bootique.logback.jfr.CompressionEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Compresses the rolled over files on behalf of a rolling policy, either in the rollover thread, or in the background.
+ * The background jobs run one at a time on a dedicated thread, so that a long compression doesn't occupy the shared
+ * context executors.
+ */
+class ArchiveCompression {
+
+    private static final long MAX_STOP_WAIT_MS = 30_000;
+
+    private final ArchiveCompressor compressor;
+    private final ContextAware owner;
+    private final RenameUtil renameUtil;
+
+    private ExecutorService executor;
+    private Future<?> lastJob;
+
+    ArchiveCompression(ArchiveCompressor compressor, ContextAware owner) {
+        this.compressor = compressor;
+        this.owner = owner;
+        this.renameUtil = new RenameUtil();
+        this.renameUtil.setContext(owner.getContext());
+    }
+
+    void rename(String source, String target) throws RolloverFailure {
+        renameUtil.rename(source, target);
+    }
+
+    /**
+     * Does the job of {@link TimeBasedRollingPolicy#rollover()} with the compressor of this object: moves the file of
+     * the elapsed period aside, compresses it in the background, and starts the cleanup of the old archives. If the
+     * archive index is provided, the archive is added to it once compressed, and the index does the cleanup.
+     */
+    void rolloverTimeBased(TimeBasedRollingPolicy<?> policy, ArchiveIndex index) throws RolloverFailure {
+        TimeBasedFileNamingAndTriggeringPolicy<?> naming = policy.getTimeBasedFileNamingAndTriggeringPolicy();
+
+        // for the patterns with a compression suffix known to Logback, the elapsed period name is without it
+        String elapsed = naming.getElapsedPeriodsFileName();
+        String archive = policy.getCompressionMode() == CompressionMode.GZ ? elapsed + ".gz" : elapsed;
+
+        String active = policy.getParentsRawFileProperty() != null ? policy.getParentsRawFileProperty() : elapsed;
+        String source = elapsed + System.nanoTime() + ".tmp";
+        rename(active, source);
+        compressAsync(source, archive, index);
+        if (index != null) {
+            return;
+        }
+
+        ArchiveRemover remover = naming.getArchiveRemover();
+        if (remover != null) {
+            remover.cleanAsynchronously(Instant.ofEpochMilli(naming.getCurrentTime()));
+        }
+    }
+
+    /**
+     * Compresses the source into the target, and deletes the source. Errors are reported to the owner status.
+     *
+     * @return whether the target was created
+     */
+    boolean compress(String source, String target) {
+        File sourceFile = new File(source);
+        File targetFile = new File(target);
+
+        if (!sourceFile.isFile()) {
+            owner.addWarn("The file to compress [" + source + "] does not exist");
+            return false;
+        }
+
+        try {
+            compressor.compress(sourceFile, targetFile);
+        } catch (IOException | RuntimeException e) {
+            owner.addError("Failed to compress [" + source + "] into [" + target + "]", e);
+            targetFile.delete();
+            return false;
+        }
+
+        if (!sourceFile.delete()) {
+            owner.addWarn("Failed to delete the compressed file [" + source + "]");
+        }
+
+        return true;
+    }
+
+    /**
+     * Compresses the source into the target in the background, emitting a JFR event for it. If the archive index is
+     * provided, the target is added to it when compressed.
+     */
+    synchronized Future<?> compressAsync(String source, String target, ArchiveIndex index) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "bootique-logback-compressor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        this.lastJob = executor.submit(() -> {
+            CompressionEvent event = new CompressionEvent(target);
+            event.begin();
+            boolean compressed = compress(source, target);
+            long size = new File(target).length();
+            event.setCompressedBytes(size);
+            event.commit();
+
+            // the jobs run one at a time, so the archives are added in the rollover order
+            if (compressed && index != null) {
+                index.add(target, size);
+            }
+        });
+
+        return lastJob;
+    }
+
+    /**
+     * Waits for the pending background job, if any, and releases the compressor.
+     */
+    synchronized void stop() {
+        if (lastJob != null) {
+            try {
+                lastJob.get(MAX_STOP_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                owner.addError("Timed out waiting for the compression job to finish", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                owner.addError("The compression job failed", e.getCause());
+            }
+        }
+
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+
+        compressor.close();
+    }
+}
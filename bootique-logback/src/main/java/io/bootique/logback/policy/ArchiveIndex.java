@@ -0,0 +1,594 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
+import ch.qos.logback.core.spi.ContextAwareBase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory index of the archives of a time-based rolling policy, that enforces the max number of the archived
+ * periods and the max total size of the archives. The archive directory is scanned only once, when the index is
+ * loaded. After that, the index is updated with each new archive, and the eviction deletes the oldest archives
+ * straight from the index. So the cost of a cleanup is proportional to the number of the deleted files, not to the
+ * number of the files on disk.
+ *
+ * <p>A period is identified by the date part of the archive name, so the size-based archives of the same period
+ * (differing only by "%i") are evicted together when the number of periods is exceeded. The archives found on startup
+ * are ordered by the date parsed from their name, falling back to the modification time if the date can't be parsed.
+ * Unlike the Logback cleanup, the periods are counted as they are found, so
+ * the periods with no archives (e.g. when the app was not running) are not counted.</p>
+ *
+ * <p>After an eviction, the {@link DictionaryCompressor} sidecars that are no longer referenced by any indexed archive
+ * in the same directory are deleted as well, and so are the directories left empty.</p>
+ *
+ * @since 4.0
+ */
+public class ArchiveIndex extends ContextAwareBase {
+
+    private final int maxPeriods;
+    private final long maxBytes;
+    private final String baseDir;
+    private final int depth;
+    private final Pattern pattern;
+    private final List<Token> tokens;
+    private final SimpleDateFormat primaryDate;
+    private final int primaryGroup;
+
+    private final Deque<Period> periods;
+    private final List<Archive> pending;
+    private long totalBytes;
+
+    /**
+     * @param fileNamePattern Logback file name pattern of the archives
+     * @param maxPeriods      max number of the archived periods to keep, or 0 for no limit
+     * @param maxBytes        max total size of the archives, or 0 for no limit
+     */
+    public ArchiveIndex(String fileNamePattern, int maxPeriods, long maxBytes) {
+        this.maxPeriods = maxPeriods;
+        this.maxBytes = maxBytes;
+        this.periods = new ArrayDeque<>();
+        this.pending = new ArrayList<>();
+
+        String normalized = normalize(fileNamePattern);
+        int firstToken = normalized.indexOf('%');
+        int lastSlash = normalized.lastIndexOf('/', firstToken >= 0 ? firstToken : normalized.length());
+
+        // the deepest directory with a fixed name, and the number of the directory levels below it
+        this.baseDir = lastSlash > 0 ? normalized.substring(0, lastSlash) : lastSlash == 0 ? "/" : "";
+        this.depth = (int) normalized.substring(lastSlash + 1).chars().filter(c -> c == '/').count() + 1;
+
+        this.tokens = new ArrayList<>();
+        this.pattern = toRegex(normalized, tokens);
+
+        // the non-auxiliary date is the one that defines the rollover period, so it is used to order the archives
+        int primary = -1;
+        for (int i = 0; i < tokens.size() && primary < 0; i++) {
+            Token t = tokens.get(i);
+            if (!t.index && !t.aux) {
+                primary = i;
+            }
+        }
+
+        this.primaryGroup = primary;
+        this.primaryDate = primary >= 0 ? createDateFormat(tokens.get(primary)) : null;
+    }
+
+    private static SimpleDateFormat createDateFormat(Token token) {
+        SimpleDateFormat format;
+        try {
+            format = new SimpleDateFormat(token.datePattern);
+        } catch (IllegalArgumentException e) {
+            // a pattern valid for Logback may use the letters unknown to SimpleDateFormat, so falling back to mtime
+            return null;
+        }
+
+        if (token.timeZone != null) {
+            format.setTimeZone(token.timeZone);
+        }
+
+        return format;
+    }
+
+    // converts the "%d" and "%i" tokens to the regex groups, recording the tokens in the order of the groups
+    static Pattern toRegex(String fileNamePattern, List<Token> tokens) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+
+        int len = fileNamePattern.length();
+        for (int i = 0; i < len; i++) {
+            char c = fileNamePattern.charAt(i);
+            char next = i + 1 < len ? fileNamePattern.charAt(i + 1) : 0;
+
+            if (c == '%' && (next == 'd' || next == 'i')) {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+
+                i++;
+                if (next == 'i') {
+                    regex.append("(\\d+)");
+                    tokens.add(Token.index());
+                } else {
+                    String options = null;
+                    if (i + 1 < len && fileNamePattern.charAt(i + 1) == '{') {
+                        int end = fileNamePattern.indexOf('}', i + 1);
+                        options = fileNamePattern.substring(i + 2, end > 0 ? end : len);
+                        i = end > 0 ? end : len - 1;
+                    }
+
+                    Token date = Token.date(options);
+                    regex.append('(').append(dateToRegex(date.datePattern)).append(')');
+                    tokens.add(date);
+                }
+            } else {
+                literal.append(c);
+            }
+        }
+
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+
+        return Pattern.compile(regex.toString());
+    }
+
+    // converts a date pattern to a regex matching only the dates formatted with that pattern, the same way Logback
+    // "FileNamePattern.toRegex" does
+    static String dateToRegex(String datePattern) {
+        StringBuilder regex = new StringBuilder();
+
+        int len = datePattern.length();
+        for (int i = 0; i < len; ) {
+            char c = datePattern.charAt(i);
+
+            if (c == '\'') {
+                int end = datePattern.indexOf('\'', i + 1);
+                if (end < 0) {
+                    end = len;
+                }
+
+                // two single quotes in a row stand for a quote char
+                String literal = end == i + 1 ? "'" : datePattern.substring(i + 1, end);
+                regex.append(Pattern.quote(literal));
+                i = end + 1;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int end = i;
+                while (end < len && datePattern.charAt(end) == c) {
+                    end++;
+                }
+
+                regex.append(fieldToRegex(c, end - i));
+                i = end;
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+                i++;
+            }
+        }
+
+        return regex.toString();
+    }
+
+    private static String fieldToRegex(char letter, int count) {
+        switch (letter) {
+            case 'G':
+            case 'E':
+            case 'a':
+                return "\\p{L}+";
+            case 'M':
+            case 'L':
+                return count >= 3 ? "\\p{L}+\\.?" : count == 2 ? "\\d{2}" : "\\d{1,2}";
+            case 'y':
+            case 'Y':
+                // "yy" is the only numeric field truncated to its width
+                return count == 2 ? "\\d{2}" : "\\d{" + count + ",}";
+            case 'z':
+            case 'Z':
+            case 'X':
+            case 'x':
+            case 'O':
+            case 'V':
+                return "[^/]+?";
+            default:
+                // numeric fields: the count is the min number of digits
+                return "\\d{" + count + ",}";
+        }
+    }
+
+    private static String normalize(String path) {
+        return path.replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Scans the archive directory, replacing the current contents of the index with the found archives, and deletes
+     * the archives over the limits.
+     *
+     * @param activeFile the file currently written by the appender, which must not be indexed even if it matches the
+     *                   pattern
+     */
+    public synchronized void load(String activeFile) {
+        periods.clear();
+        pending.clear();
+        totalBytes = 0;
+
+        List<Archive> found = scan(activeFile != null ? normalize(activeFile) : null);
+        found.sort(Comparator.comparingLong((Archive a) -> a.date != Long.MIN_VALUE ? a.date : a.modified)
+                .thenComparingLong(a -> a.index)
+                .thenComparing(a -> a.path));
+
+        Map<String, Period> byKey = new LinkedHashMap<>();
+        for (Archive a : found) {
+            byKey.computeIfAbsent(a.period, Period::new).archives.add(a);
+            totalBytes += a.size;
+        }
+
+        periods.addAll(byKey.values());
+        addInfo("Indexed " + found.size() + " archive(s) in " + periods.size() + " period(s)");
+        evict();
+    }
+
+    private List<Archive> scan(String activeFile) {
+        List<Archive> found = new ArrayList<>();
+        Path root = Paths.get(baseDir.isEmpty() ? "." : baseDir);
+        if (!Files.isDirectory(root)) {
+            return found;
+        }
+
+        try {
+            Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class), depth, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile()) {
+                        String path = normalize(baseDir.isEmpty() ? root.relativize(file).toString() : file.toString());
+                        if (!path.equals(activeFile)) {
+                            Archive archive = match(path, attrs.size());
+                            if (archive != null) {
+                                archive.modified = attrs.lastModifiedTime().toMillis();
+                                found.add(archive);
+                            }
+                        }
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            addError("Failed to scan the archive directory [" + root + "]", e);
+        }
+
+        return found;
+    }
+
+    private Archive match(String path, long size) {
+        Matcher m = pattern.matcher(path);
+        if (!m.matches()) {
+            return null;
+        }
+
+        StringBuilder period = new StringBuilder();
+        long index = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            String group = m.group(i + 1);
+            if (tokens.get(i).index) {
+                try {
+                    index = Long.parseLong(group);
+                } catch (NumberFormatException e) {
+                    index = Long.MAX_VALUE;
+                }
+            } else {
+                period.append(group).append('/');
+            }
+        }
+
+        Archive archive = new Archive(path, period.toString(), index, size);
+        archive.date = primaryDate != null ? parseDate(m.group(primaryGroup + 1)) : Long.MIN_VALUE;
+        return archive;
+    }
+
+    private long parseDate(String date) {
+        ParsePosition position = new ParsePosition(0);
+        Date parsed = primaryDate.parse(date, position);
+        return parsed != null && position.getIndex() == date.length() ? parsed.getTime() : Long.MIN_VALUE;
+    }
+
+    /**
+     * Adds a new archive as the most recent one, and deletes the archives over the limits.
+     *
+     * @param archive archive file name
+     * @param size    archive size, or a negative number if the archive is still being written (e.g. compressed in the
+     *                background). The size of such an archive is taken from the file when the next archive is added.
+     */
+    public synchronized void add(String archive, long size) {
+        resolvePending();
+
+        Archive a = match(normalize(archive), size);
+        if (a == null) {
+            addWarn("Archive [" + archive + "] does not match the file name pattern, ignoring");
+            return;
+        }
+
+        Period last = periods.peekLast();
+        if (last == null || !last.key.equals(a.period)) {
+            last = new Period(a.period);
+            periods.addLast(last);
+        }
+
+        last.archives.addLast(a);
+        if (size < 0) {
+            pending.add(a);
+        } else {
+            totalBytes += size;
+        }
+
+        evict();
+    }
+
+    /**
+     * Adds the archive produced by the last rollover of a standard Logback policy. If the policy compresses the
+     * archives, the archive is still being written, so its size is taken later.
+     */
+    void addRolledOver(TimeBasedRollingPolicy<?> policy) {
+        String elapsed = policy.getTimeBasedFileNamingAndTriggeringPolicy().getElapsedPeriodsFileName();
+
+        switch (policy.getCompressionMode()) {
+            case GZ:
+                add(elapsed + ".gz", -1);
+                break;
+            case ZIP:
+                add(elapsed + ".zip", -1);
+                break;
+            case XZ:
+                add(elapsed + ".xz", -1);
+                break;
+            default:
+                add(elapsed, new File(elapsed).length());
+                break;
+        }
+    }
+
+    private void resolvePending() {
+        for (Archive a : pending) {
+            a.size = new File(a.path).length();
+            totalBytes += a.size;
+        }
+
+        pending.clear();
+    }
+
+    private void evict() {
+        Set<File> dirs = new LinkedHashSet<>();
+
+        if (maxPeriods > 0) {
+            while (periods.size() > maxPeriods) {
+                for (Archive a : periods.pollFirst().archives) {
+                    delete(a, dirs);
+                }
+            }
+        }
+
+        if (maxBytes > 0) {
+            while (totalBytes > maxBytes && !periods.isEmpty()) {
+                Period oldest = periods.peekFirst();
+                delete(oldest.archives.pollFirst(), dirs);
+                if (oldest.archives.isEmpty()) {
+                    periods.pollFirst();
+                }
+            }
+        }
+
+        for (File dir : dirs) {
+            deleteUnusedDictionaries(dir);
+
+            // deleting a non-empty directory fails, so the emptiness is checked without listing the directory
+            while (dir != null && !normalize(dir.getPath()).equals(baseDir) && dir.delete()) {
+                dir = dir.getParentFile();
+            }
+        }
+    }
+
+    private void delete(Archive a, Set<File> dirs) {
+        if (a.size > 0) {
+            totalBytes -= a.size;
+        } else if (a.size < 0) {
+            pending.remove(a);
+        }
+
+        File file = new File(a.path);
+        if (!file.delete() && file.exists()) {
+            addWarn("Failed to delete the archive [" + a.path + "]");
+            return;
+        }
+
+        File dir = file.getParentFile();
+        if (dir != null) {
+            dirs.add(dir);
+        }
+    }
+
+    // Lists the directory once per eviction. The sidecars are kept if the dictionary of any remaining archive in the
+    // directory can't be read, as it may be one of them.
+    private void deleteUnusedDictionaries(File dir) {
+        File[] sidecars = dir.listFiles((d, name) -> DictionaryCompressor.isDictionaryFile(name));
+        if (sidecars == null || sidecars.length == 0) {
+            return;
+        }
+
+        Set<String> used = new HashSet<>();
+        for (Period p : periods) {
+            for (Archive a : p.archives) {
+                File archive = new File(a.path);
+                if (!dir.equals(archive.getParentFile())) {
+                    continue;
+                }
+
+                Integer dictionaryId;
+                try {
+                    dictionaryId = DictionaryArchiveReader.readDictionaryId(archive);
+                } catch (IOException e) {
+                    addWarn("Failed to read the archive [" + a.path + "] header, keeping the dictionaries", e);
+                    return;
+                }
+
+                if (dictionaryId != null) {
+                    used.add(DictionaryCompressor.dictionaryFile(dir, dictionaryId).getName());
+                }
+            }
+        }
+
+        for (File sidecar : sidecars) {
+            if (!used.contains(sidecar.getName()) && !sidecar.delete() && sidecar.exists()) {
+                addWarn("Failed to delete the unused dictionary [" + sidecar + "]");
+            }
+        }
+    }
+
+    /**
+     * Returns the number of the indexed archives.
+     */
+    public synchronized int getArchiveCount() {
+        int count = 0;
+        for (Period p : periods) {
+            count += p.archives.size();
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the number of the indexed periods.
+     */
+    public synchronized int getPeriodCount() {
+        return periods.size();
+    }
+
+    /**
+     * Returns the total size of the indexed archives, excluding the ones that are still being written.
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    static class Period {
+
+        final String key;
+        final Deque<Archive> archives;
+
+        Period(String key) {
+            this.key = key;
+            this.archives = new ArrayDeque<>();
+        }
+    }
+
+    static class Archive {
+
+        final String path;
+        final String period;
+        final long index;
+        long size;
+        long modified;
+
+        // the date parsed from the name, or Long.MIN_VALUE if it can't be parsed
+        long date;
+
+        Archive(String path, String period, long index, long size) {
+            this.path = path;
+            this.period = period;
+            this.index = index;
+            this.size = size;
+        }
+    }
+
+    static class Token {
+
+        final boolean index;
+        final String datePattern;
+        final TimeZone timeZone;
+        final boolean aux;
+
+        private Token(boolean index, String datePattern, TimeZone timeZone, boolean aux) {
+            this.index = index;
+            this.datePattern = datePattern;
+            this.timeZone = timeZone;
+            this.aux = aux;
+        }
+
+        static Token index() {
+            return new Token(true, null, null, false);
+        }
+
+        // parses the "%d" options, same as Logback "DateTokenConverter": the date pattern, followed by the optional
+        // "aux" flag and time zone
+        static Token date(String options) {
+            String datePattern = "yyyy-MM-dd";
+            TimeZone timeZone = null;
+            boolean aux = false;
+
+            if (options != null) {
+                String[] parts = options.split(",");
+                if (!parts[0].trim().isEmpty()) {
+                    datePattern = parts[0].trim();
+                }
+
+                for (int i = 1; i < parts.length; i++) {
+                    String option = parts[i].trim();
+                    if ("aux".equalsIgnoreCase(option)) {
+                        aux = true;
+                    } else if (!option.isEmpty()) {
+                        timeZone = TimeZone.getTimeZone(option);
+                    }
+                }
+            }
+
+            return new Token(false, datePattern, timeZone, aux);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.EncoderBase;
+import ch.qos.logback.core.rolling.TriggeringPolicy;
+import ch.qos.logback.core.spi.ContextAwareBase;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size triggering policy that knows the active file size from counting the bytes produced by the appender encoder,
+ * instead of checking the file length. It wraps a standard size-based policy (whose "checkIncrement" should be zero),
+ * passing it a view of the active file whose length is the counted size. So the size is checked on every event
+ * without any file system calls, and the file is rolled over once it reaches the max size, exceeding it by at most one
+ * event.
+ *
+ * <p>The appender must use the encoder returned by {@link #countingEncoder(Encoder)}, and must report the file size
+ * via {@link #fileOpened(long)} each time it opens the file.</p>
+ *
+ * @since 4.0
+ */
+public class ByteCountingTriggeringPolicy<E> extends ContextAwareBase implements TriggeringPolicy<E> {
+
+    private final TriggeringPolicy<E> delegate;
+    private final AtomicLong bytes;
+
+    // accessed under the appender triggering lock
+    private File activeFile;
+    private File countedFile;
+
+    private volatile boolean started;
+
+    public ByteCountingTriggeringPolicy(TriggeringPolicy<E> delegate) {
+        this.delegate = delegate;
+        this.bytes = new AtomicLong();
+    }
+
+    /**
+     * Returns an encoder that adds the bytes produced by the wrapped encoder to this policy's count.
+     */
+    public Encoder<E> countingEncoder(Encoder<E> encoder) {
+        return new CountingEncoder<>(encoder, bytes);
+    }
+
+    /**
+     * Resets the count to the size of the just opened file. Must be called before anything is written to the file.
+     */
+    public void fileOpened(long size) {
+        bytes.set(size);
+    }
+
+    /**
+     * Returns the number of bytes in the active file, as counted by this policy.
+     */
+    public long getCount() {
+        return bytes.get();
+    }
+
+    @Override
+    public boolean isTriggeringEvent(File activeFile, E event) {
+
+        // the appender replaces the active file object on rollover, so the view is recreated once per file
+        if (activeFile != this.activeFile) {
+            this.activeFile = activeFile;
+            this.countedFile = activeFile != null ? new CountedFile(activeFile.getPath(), bytes) : null;
+        }
+
+        return delegate.isTriggeringEvent(countedFile, event);
+    }
+
+    @Override
+    public void start() {
+        if (!delegate.isStarted()) {
+            delegate.start();
+        }
+
+        started = true;
+    }
+
+    @Override
+    public void stop() {
+        started = false;
+        delegate.stop();
+    }
+
+    @Override
+    public boolean isStarted() {
+        return started;
+    }
+
+    static class CountedFile extends File {
+
+        private final AtomicLong bytes;
+
+        CountedFile(String path, AtomicLong bytes) {
+            super(path);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public long length() {
+            return bytes.get();
+        }
+    }
+
+    static class CountingEncoder<E> extends EncoderBase<E> {
+
+        private final Encoder<E> delegate;
+        private final AtomicLong bytes;
+
+        CountingEncoder(Encoder<E> delegate, AtomicLong bytes) {
+            this.delegate = delegate;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public byte[] headerBytes() {
+            return count(delegate.headerBytes());
+        }
+
+        @Override
+        public byte[] encode(E event) {
+            return count(delegate.encode(event));
+        }
+
+        @Override
+        public byte[] footerBytes() {
+            return count(delegate.footerBytes());
+        }
+
+        private byte[] count(byte[] encoded) {
+            if (encoded != null) {
+                bytes.addAndGet(encoded.length);
+            }
+
+            return encoded;
+        }
+
+        @Override
+        public void setContext(Context context) {
+            super.setContext(context);
+            delegate.setContext(context);
+        }
+
+        @Override
+        public void start() {
+            delegate.start();
+            super.start();
+        }
+
+        @Override
+        public void stop() {
+            super.stop();
+            delegate.stop();
+        }
+    }
+}
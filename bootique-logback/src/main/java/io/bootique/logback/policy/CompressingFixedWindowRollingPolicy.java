@@ -0,0 +1,84 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import ch.qos.logback.core.rolling.FixedWindowRollingPolicy;
+import ch.qos.logback.core.rolling.RolloverFailure;
+import ch.qos.logback.core.rolling.helper.FileNamePattern;
+
+import java.io.File;
+import java.util.Objects;
+
+/**
+ * A fixed window rolling policy that compresses the archives with a custom {@link ArchiveCompressor}. Like the
+ * standard policy, compresses the file synchronously during the rollover.
+ *
+ * @since 4.0
+ */
+public class CompressingFixedWindowRollingPolicy extends FixedWindowRollingPolicy {
+
+    private final ArchiveCompressor compressor;
+    private ArchiveCompression compression;
+    private FileNamePattern archivePattern;
+
+    public CompressingFixedWindowRollingPolicy(ArchiveCompressor compressor) {
+        this.compressor = Objects.requireNonNull(compressor);
+    }
+
+    @Override
+    public void start() {
+        this.compression = new ArchiveCompression(compressor, this);
+        this.archivePattern = new FileNamePattern(getFileNamePattern(), getContext());
+        super.start();
+    }
+
+    @Override
+    public void rollover() throws RolloverFailure {
+
+        int minIndex = getMinIndex();
+        int maxIndex = getMaxIndex();
+        if (maxIndex < 0) {
+            return;
+        }
+
+        File oldest = new File(archivePattern.convertInt(maxIndex));
+        if (oldest.exists()) {
+            oldest.delete();
+        }
+
+        for (int i = maxIndex - 1; i >= minIndex; i--) {
+            String archive = archivePattern.convertInt(i);
+            if (new File(archive).exists()) {
+                compression.rename(archive, archivePattern.convertInt(i + 1));
+            }
+        }
+
+        compression.compress(getActiveFileName(), archivePattern.convertInt(minIndex));
+    }
+
+    @Override
+    public void stop() {
+        if (compression != null) {
+            compression.stop();
+        }
+
+        super.stop();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import ch.qos.logback.core.rolling.RolloverFailure;
+
+import java.util.Objects;
+
+/**
+ * A size-and-time-based rolling policy that compresses the archives with a custom {@link ArchiveCompressor}.
+ *
+ * @since 4.0
+ */
+public class CompressingSizeAndTimeBasedRollingPolicy<E> extends IndexedSizeAndTimeBasedRollingPolicy<E> {
+
+    private final ArchiveCompressor compressor;
+    private ArchiveCompression compression;
+
+    public CompressingSizeAndTimeBasedRollingPolicy(ArchiveCompressor compressor) {
+        this.compressor = Objects.requireNonNull(compressor);
+    }
+
+    @Override
+    public void start() {
+        this.compression = new ArchiveCompression(compressor, this);
+        super.start();
+    }
+
+    @Override
+    public void rollover() throws RolloverFailure {
+        compression.rolloverTimeBased(this, getArchiveIndex());
+    }
+
+    @Override
+    public void stop() {
+        if (compression != null) {
+            compression.stop();
+        }
+
+        super.stop();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.bootique.annotation.BQConfig;
+import io.bootique.config.PolymorphicConfiguration;
+
+/**
+ * A factory of the compressor of the rolled over log files, that replaces the standard Logback compression.
+ *
+ * @since 4.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type", defaultImpl = GzipCompressionFactory.class)
+@BQConfig("Compression of the rolled over log files")
+public abstract class CompressionFactory implements PolymorphicConfiguration {
+
+    /**
+     * Returns the file name suffix, that the rolling policy "fileNamePattern" must end with for this compression.
+     */
+    protected abstract String getFileSuffix();
+
+    public abstract ArchiveCompressor createCompressor();
+
+    /**
+     * Checks that the rolling policy file name pattern matches this compression.
+     *
+     * @throws IllegalStateException if the pattern doesn't end with the expected suffix
+     */
+    public void validate(String fileNamePattern) {
+        String suffix = getFileSuffix();
+        if (fileNamePattern == null || !fileNamePattern.endsWith(suffix)) {
+            throw new IllegalStateException(String.format(
+                    "The property \"fileNamePattern\" [%s] must end with \"%s\" for this compression",
+                    fileNamePattern,
+                    suffix));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Reads the log archives written by {@link DictionaryCompressor}, looking up their dictionaries in the sidecar files.
+ * Can be run from the command line to decompress an archive to the standard output:
+ *
+ * <pre>
+ * java -cp bootique-logback.jar io.bootique.logback.policy.DictionaryArchiveReader app-2024-01-01.log.zz
+ * </pre>
+ *
+ * @since 4.0
+ */
+public class DictionaryArchiveReader {
+
+    private static final int ZLIB_HEADER_SIZE = 2;
+    private static final int ZLIB_DEFLATE = 8;
+    private static final int ZLIB_PRESET_DICTIONARY = 0x20;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: DictionaryArchiveReader <archive>");
+            System.exit(1);
+        }
+
+        try (InputStream in = open(new File(args[0]))) {
+            in.transferTo(System.out);
+        }
+
+        System.out.flush();
+    }
+
+    /**
+     * Opens a decompressing stream over the archive, with the dictionary loaded from the archive directory.
+     */
+    public static InputStream open(File archive) throws IOException {
+        return open(archive, archive.getAbsoluteFile().getParentFile());
+    }
+
+    /**
+     * Opens a decompressing stream over the archive, with the dictionary loaded from a given directory.
+     */
+    public static InputStream open(File archive, File dictionaryDir) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(archive.toPath())));
+        try {
+            return open(in, dictionaryDir);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the id of the dictionary an archive was compressed with, or null if the archive is not a zlib stream
+     * with a preset dictionary.
+     */
+    static Integer readDictionaryId(File archive) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(archive.toPath()))) {
+            int cmf = in.read();
+            int flg = in.read();
+
+            // a valid zlib header is a multiple of 31, that sets the deflate compression method
+            if (flg < 0 || (cmf & 0x0F) != ZLIB_DEFLATE || ((cmf << 8) | flg) % 31 != 0
+                    || (flg & ZLIB_PRESET_DICTIONARY) == 0) {
+                return null;
+            }
+
+            return in.readInt();
+        }
+    }
+
+    private static InputStream open(DataInputStream in, File dictionaryDir) throws IOException {
+
+        // parsing the header ourselves to find the dictionary id, and then feeding it to the inflater
+        byte[] header = new byte[ZLIB_HEADER_SIZE + 4];
+        in.readFully(header, 0, ZLIB_HEADER_SIZE);
+
+        int headerSize = ZLIB_HEADER_SIZE;
+        if ((header[1] & ZLIB_PRESET_DICTIONARY) != 0) {
+            in.readFully(header, ZLIB_HEADER_SIZE, 4);
+            headerSize += 4;
+        }
+
+        Inflater inflater = new Inflater();
+        inflater.setInput(header, 0, headerSize);
+
+        if (headerSize > ZLIB_HEADER_SIZE) {
+            try {
+                inflater.inflate(new byte[1]);
+            } catch (DataFormatException e) {
+                inflater.end();
+                throw new ZipException("Invalid archive header: " + e.getMessage());
+            }
+
+            if (inflater.needsDictionary()) {
+                File dictionary = DictionaryCompressor.dictionaryFile(dictionaryDir, inflater.getAdler());
+                if (!dictionary.isFile()) {
+                    inflater.end();
+                    throw new ZipException("Dictionary file not found: " + dictionary);
+                }
+
+                inflater.setDictionary(Files.readAllBytes(dictionary.toPath()));
+            }
+        }
+
+        // the inflater is not shared, so it is released by the stream, unlike with the InflaterInputStream default
+        return new InflaterInputStream(in, inflater) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+}
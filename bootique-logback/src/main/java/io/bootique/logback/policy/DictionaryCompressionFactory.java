@@ -0,0 +1,76 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import ch.qos.logback.core.util.FileSize;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.bootique.annotation.BQConfig;
+import io.bootique.annotation.BQConfigProperty;
+
+import java.util.zip.Deflater;
+
+/**
+ * Configures a compressor that deflates the rolled over files with a preset dictionary trained on the log itself. The
+ * archives are zlib streams, that need the dictionary sidecar file to be decompressed with
+ * {@link DictionaryArchiveReader}.
+ *
+ * @since 4.0
+ */
+@JsonTypeName("dictionary")
+@BQConfig("Dictionary deflate compression of the rolled over log files")
+public class DictionaryCompressionFactory extends CompressionFactory {
+
+    private int level;
+    private String dictionarySize;
+
+    public DictionaryCompressionFactory() {
+        this.level = Deflater.DEFAULT_COMPRESSION;
+    }
+
+    @BQConfigProperty("Compression level from 1 (fastest) to 9 (smallest). Default is 6.")
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    @BQConfigProperty("Max size of the dictionary, e.g. '16KB'. Default and max is 32KB.")
+    public void setDictionarySize(String dictionarySize) {
+        this.dictionarySize = dictionarySize;
+    }
+
+    @Override
+    protected String getFileSuffix() {
+        return ".zz";
+    }
+
+    @Override
+    public ArchiveCompressor createCompressor() {
+        int size = DictionaryTrainer.MAX_DICTIONARY_SIZE;
+        if (dictionarySize != null && dictionarySize.length() > 0) {
+            long bytes = FileSize.valueOf(dictionarySize).getSize();
+            if (bytes <= 0 || bytes > DictionaryTrainer.MAX_DICTIONARY_SIZE) {
+                throw new IllegalArgumentException("Invalid 'dictionarySize': " + dictionarySize);
+            }
+
+            size = (int) bytes;
+        }
+
+        return new DictionaryCompressor(level, size);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.regex.Pattern;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * A compressor that writes zlib streams deflated with a preset dictionary. The dictionary is trained on the first
+ * compressed file and is reused for the following ones. It is stored next to the archives in a sidecar file named
+ * after the dictionary id, i.e. its Adler-32 checksum, which is also written to the header of each zlib stream. Use
+ * {@link DictionaryArchiveReader} to read the archives. A sidecar is deleted by the {@link ArchiveIndex} eviction
+ * together with the last archive in its directory that refers to it, but is never deleted by the Logback cleanup.
+ *
+ * @since 4.0
+ */
+public class DictionaryCompressor implements ArchiveCompressor {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern DICTIONARY_FILE = Pattern.compile("dictionary-[0-9a-f]{8}\\.zdict");
+
+    private final int level;
+    private final int dictionarySize;
+
+    private byte[] dictionary;
+    private int dictionaryId;
+
+    public DictionaryCompressor(int level, int dictionarySize) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+
+        if (dictionarySize <= 0 || dictionarySize > DictionaryTrainer.MAX_DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Invalid dictionary size: " + dictionarySize);
+        }
+
+        this.level = level;
+        this.dictionarySize = dictionarySize;
+    }
+
+    /**
+     * Returns the sidecar file of the dictionary with a given id.
+     */
+    public static File dictionaryFile(File dir, int dictionaryId) {
+        return new File(dir, String.format("dictionary-%08x.zdict", dictionaryId));
+    }
+
+    static boolean isDictionaryFile(String fileName) {
+        return DICTIONARY_FILE.matcher(fileName).matches();
+    }
+
+    @Override
+    public void compress(File source, File target) throws IOException {
+
+        byte[] dictionary = dictionary(source);
+        if (dictionary.length > 0) {
+            writeSidecar(target.getAbsoluteFile().getParentFile());
+        }
+
+        Deflater deflater = new Deflater(level);
+        try {
+            if (dictionary.length > 0) {
+                deflater.setDictionary(dictionary);
+            }
+
+            try (InputStream in = Files.newInputStream(source.toPath());
+                 OutputStream out = new DeflaterOutputStream(
+                         Files.newOutputStream(target.toPath()),
+                         deflater,
+                         BUFFER_SIZE)) {
+                in.transferTo(out);
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private synchronized byte[] dictionary(File sample) throws IOException {
+
+        // if nothing repeats in the sample, trying again with the next file
+        if (dictionary == null || dictionary.length == 0) {
+            this.dictionary = DictionaryTrainer.train(sample, dictionarySize);
+
+            Adler32 adler = new Adler32();
+            adler.update(dictionary);
+            this.dictionaryId = (int) adler.getValue();
+        }
+
+        return dictionary;
+    }
+
+    private synchronized void writeSidecar(File dir) throws IOException {
+        File file = dictionaryFile(dir, dictionaryId);
+        if (file.isFile()) {
+            return;
+        }
+
+        // writing via a temp file, so that a reader never sees a partial dictionary
+        File temp = new File(dir, file.getName() + ".tmp");
+        Files.write(temp.toPath(), dictionary);
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a preset deflate dictionary from a sample of a log file. Log lines mostly differ in numbers (timestamps, ids,
+ * durations), while the text between the numbers (levels, thread and logger names, message templates) repeats. So the
+ * lines are split at the digits, and the most frequent of the remaining segments are put in the dictionary. The more
+ * valuable segments go to the end of the dictionary, where they are the cheapest to refer to.
+ *
+ * @since 4.0
+ */
+public class DictionaryTrainer {
+
+    /**
+     * Max size of a deflate dictionary, i.e. the size of the deflate window.
+     */
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    private static final int SAMPLE_CHUNKS = 16;
+    private static final int SAMPLE_CHUNK_SIZE = 64 * 1024;
+
+    // shorter segments are encoded by deflate just as well without a dictionary
+    private static final int MIN_SEGMENT_LENGTH = 4;
+
+    /**
+     * Returns a dictionary built from the chunks of the file spread evenly from its start to its end. The dictionary
+     * is empty if nothing in the sample repeats.
+     */
+    public static byte[] train(File file, int maxSize) throws IOException {
+        if (maxSize <= 0 || maxSize > MAX_DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Invalid dictionary size: " + maxSize);
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (String line : sampleLines(file)) {
+            countSegments(line, counts);
+        }
+
+        List<Map.Entry<String, Integer>> segments = new ArrayList<>();
+        for (Map.Entry<String, Integer> e : counts.entrySet()) {
+            if (e.getValue() > 1) {
+                segments.add(e);
+            }
+        }
+
+        // pick the segments saving the most bytes...
+        segments.sort((e1, e2) -> Long.compare(score(e2), score(e1)));
+
+        List<byte[]> picked = new ArrayList<>();
+        int size = 0;
+        for (Map.Entry<String, Integer> e : segments) {
+            byte[] bytes = e.getKey().getBytes(StandardCharsets.UTF_8);
+            if (size + bytes.length <= maxSize) {
+                picked.add(bytes);
+                size += bytes.length;
+            }
+        }
+
+        // ... and put the best ones last
+        byte[] dictionary = new byte[size];
+        int offset = size;
+        for (byte[] bytes : picked) {
+            offset -= bytes.length;
+            System.arraycopy(bytes, 0, dictionary, offset, bytes.length);
+        }
+
+        return dictionary;
+    }
+
+    private static long score(Map.Entry<String, Integer> segment) {
+        return (long) segment.getValue() * (segment.getKey().length() - MIN_SEGMENT_LENGTH + 1);
+    }
+
+    private static void countSegments(String line, Map<String, Integer> counts) {
+        int start = -1;
+        int len = line.length();
+        for (int i = 0; i <= len; i++) {
+            boolean separator = i == len || Character.isDigit(line.charAt(i));
+            if (separator) {
+                if (start >= 0 && i - start >= MIN_SEGMENT_LENGTH) {
+                    counts.merge(line.substring(start, i), 1, Integer::sum);
+                }
+                start = -1;
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+    }
+
+    private static List<String> sampleLines(File file) throws IOException {
+        List<String> lines = new ArrayList<>();
+
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            long length = in.length();
+            int chunks = (int) Math.min(SAMPLE_CHUNKS, (length + SAMPLE_CHUNK_SIZE - 1) / SAMPLE_CHUNK_SIZE);
+            byte[] buffer = new byte[SAMPLE_CHUNK_SIZE];
+
+            for (int c = 0; c < chunks; c++) {
+                long offset = length * c / chunks;
+                in.seek(offset);
+
+                int read = 0;
+                while (read < buffer.length) {
+                    int n = in.read(buffer, read, buffer.length - read);
+                    if (n < 0) {
+                        break;
+                    }
+                    read += n;
+                }
+
+                String[] chunkLines = new String(buffer, 0, read, StandardCharsets.UTF_8).split("\n", -1);
+
+                // the first and the last lines of a chunk may be cut off
+                int from = offset > 0 ? 1 : 0;
+                int to = offset + read < length ? chunkLines.length - 1 : chunkLines.length;
+                for (int i = from; i < to; i++) {
+                    lines.add(chunkLines[i] + "\n");
+                }
+            }
+        }
+
+        return lines;
+    }
+}
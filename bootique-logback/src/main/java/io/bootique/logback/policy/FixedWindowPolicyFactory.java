@@ -46,6 +46,7 @@ public class FixedWindowPolicyFactory extends RollingPolicyFactory {
 
     private String fileSize;
     private Duration checkIncrement;
+    private boolean countBytes;
 
     /**
      * Sets a maximum size of a single log file. Exceeding this size causes
@@ -70,9 +71,21 @@ public class FixedWindowPolicyFactory extends RollingPolicyFactory {
         this.checkIncrement = checkIncrement;
     }
 
+    /**
+     * @since 4.0
+     */
+    @BQConfigProperty("Whether to track the file size by counting the written bytes instead of checking the file " +
+            "length. The file is then rolled over as soon as it reaches 'fileSize', with no file system calls per " +
+            "event, and 'checkIncrement' is ignored. Default is false.")
+    public void setCountBytes(boolean countBytes) {
+        this.countBytes = countBytes;
+    }
+
     @Override
     protected FixedWindowRollingPolicy instantiatePolicy(LoggerContext context) {
-        FixedWindowRollingPolicy policy = new FixedWindowRollingPolicy();
+        FixedWindowRollingPolicy policy = getCompression() != null
+                ? new CompressingFixedWindowRollingPolicy(getCompression().createCompressor())
+                : new FixedWindowRollingPolicy();
         policy.setFileNamePattern(getFileNamePattern());
         if (getHistorySize() > 0) {
             policy.setMinIndex(1);
@@ -90,12 +103,22 @@ public class FixedWindowPolicyFactory extends RollingPolicyFactory {
             policy.setMaxFileSize(FileSize.valueOf(fileSize));
         }
 
-        if (checkIncrement != null) {
+        // the counted size is cheap to check, so it is checked on every event
+        if (countBytes) {
+            policy.setCheckIncrement(new ch.qos.logback.core.util.Duration(0));
+        } else if (checkIncrement != null) {
             policy.setCheckIncrement(new ch.qos.logback.core.util.Duration(checkIncrement.getDuration().toMillis()));
         }
 
         policy.setContext(context);
-        return policy;
+
+        if (!countBytes) {
+            return policy;
+        }
+
+        ByteCountingTriggeringPolicy<ILoggingEvent> countingPolicy = new ByteCountingTriggeringPolicy<>(policy);
+        countingPolicy.setContext(context);
+        return countingPolicy;
     }
 
     @Override
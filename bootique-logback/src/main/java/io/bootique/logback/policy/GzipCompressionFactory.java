@@ -0,0 +1,86 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import ch.qos.logback.core.util.FileSize;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.bootique.annotation.BQConfig;
+import io.bootique.annotation.BQConfigProperty;
+
+import java.util.zip.Deflater;
+
+/**
+ * Configures a parallel gzip compressor, that splits each rolled over file in blocks and compresses them on multiple
+ * threads at once. The result is a standard multi-member gzip file.
+ *
+ * @since 4.0
+ */
+@JsonTypeName("gzip")
+@BQConfig("Parallel gzip compression of the rolled over log files")
+public class GzipCompressionFactory extends CompressionFactory {
+
+    private int parallelism;
+    private int level;
+    private String blockSize;
+
+    public GzipCompressionFactory() {
+        this.level = Deflater.DEFAULT_COMPRESSION;
+    }
+
+    @BQConfigProperty("Max number of threads compressing the blocks of a file. Default is half the number of CPU " +
+            "cores.")
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    @BQConfigProperty("Compression level from 1 (fastest) to 9 (smallest). Default is 6, the same as with gzip.")
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    @BQConfigProperty("Size of the blocks compressed independently, e.g. '1MB'. Default is 1MB.")
+    public void setBlockSize(String blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    protected String getFileSuffix() {
+        return ".gz";
+    }
+
+    @Override
+    public ArchiveCompressor createCompressor() {
+        int parallelism = this.parallelism > 0
+                ? this.parallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        int blockSize = ParallelGzipCompressor.DEFAULT_BLOCK_SIZE;
+        if (this.blockSize != null && this.blockSize.length() > 0) {
+            long size = FileSize.valueOf(this.blockSize).getSize();
+            if (size <= 0 || size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid gzip 'blockSize': " + this.blockSize);
+            }
+
+            blockSize = (int) size;
+        }
+
+        return new ParallelGzipCompressor(parallelism, level, blockSize);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import ch.qos.logback.core.rolling.RolloverFailure;
+import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
+
+/**
+ * A time-based rolling policy that cleans up the old archives via an {@link ArchiveIndex} instead of the Logback
+ * archive remover, avoiding the archive directory scans on rollover. With no index set, behaves as the standard
+ * Logback policy.
+ *
+ * @since 4.0
+ */
+public class IndexedTimeBasedRollingPolicy<E> extends TimeBasedRollingPolicy<E> {
+
+    private ArchiveIndex archiveIndex;
+
+    public void setArchiveIndex(ArchiveIndex archiveIndex) {
+        this.archiveIndex = archiveIndex;
+    }
+
+    protected ArchiveIndex getArchiveIndex() {
+        return archiveIndex;
+    }
+
+    @Override
+    public void start() {
+        super.start();
+
+        if (archiveIndex != null) {
+            archiveIndex.setContext(getContext());
+            archiveIndex.load(getActiveFileName());
+        }
+    }
+
+    @Override
+    public void rollover() throws RolloverFailure {
+        super.rollover();
+
+        if (archiveIndex != null) {
+            archiveIndex.addRolledOver(this);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A gzip compressor that splits the file into blocks and deflates them in parallel, like "pigz" does. Each block is
+ * written as a separate gzip member, so the result is a multi-member gzip file, readable by any gzip tool or
+ * {@link java.util.zip.GZIPInputStream}. As each block starts with an empty deflate window, the compression ratio is
+ * slightly worse than that of a single-member file, which is negligible for the blocks of a megabyte or more.
+ *
+ * @since 4.0
+ */
+public class ParallelGzipCompressor implements ArchiveCompressor {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    private static final byte[] MEMBER_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+    private static final int MEMBER_TRAILER_SIZE = 8;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final int level;
+    private final int blockSize;
+
+    /**
+     * @param parallelism max number of blocks deflated at once
+     * @param level       deflate compression level, 0-9, or -1 for the default level
+     * @param blockSize   size of the uncompressed blocks
+     */
+    public ParallelGzipCompressor(int parallelism, int level, int blockSize) {
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism: " + parallelism);
+        }
+
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Invalid block size: " + blockSize);
+        }
+
+        this.parallelism = parallelism;
+        this.level = level;
+        this.blockSize = blockSize;
+        this.pool = new ForkJoinPool(parallelism, ParallelGzipCompressor::createThread, null, false);
+    }
+
+    private static ForkJoinWorkerThread createThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("bootique-logback-gzip-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    @Override
+    public void compress(File source, File target) throws IOException {
+
+        try (FileChannel in = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(target.toPath()), blockSize)) {
+
+            // reading ahead of the writer by a bounded number of blocks, so that the memory use doesn't depend on
+            // the file size
+            int maxPending = parallelism * 2;
+            Deque<Future<byte[]>> pending = new ArrayDeque<>(maxPending);
+            boolean empty = true;
+
+            byte[] block;
+            while ((block = readBlock(in)) != null) {
+                byte[] data = block;
+                pending.add(pool.submit(() -> gzipMember(data)));
+                empty = false;
+
+                if (pending.size() >= maxPending) {
+                    out.write(await(pending.poll()));
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                out.write(await(pending.poll()));
+            }
+
+            // a gzip file must have at least one member
+            if (empty) {
+                out.write(gzipMember(new byte[0]));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private byte[] readBlock(FileChannel in) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(blockSize);
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                break;
+            }
+        }
+
+        int len = buffer.position();
+        if (len == 0) {
+            return null;
+        }
+
+        return len == blockSize ? buffer.array() : Arrays.copyOf(buffer.array(), len);
+    }
+
+    byte[] gzipMember(byte[] data) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+        out.write(MEMBER_HEADER, 0, MEMBER_HEADER.length);
+
+        // "nowrap" produces raw deflate data, to be framed with the gzip header and trailer
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            byte[] chunk = new byte[Math.min(64 * 1024, data.length + 64)];
+            while (!deflater.finished()) {
+                int len = deflater.deflate(chunk);
+                out.write(chunk, 0, len);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        byte[] trailer = new byte[MEMBER_TRAILER_SIZE];
+        writeIntLE(trailer, 0, (int) crc.getValue());
+        writeIntLE(trailer, 4, data.length);
+        out.write(trailer, 0, trailer.length);
+
+        return out.toByteArray();
+    }
+
+    private static void writeIntLE(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >>> 8);
+        buffer[offset + 2] = (byte) (value >>> 16);
+        buffer[offset + 3] = (byte) (value >>> 24);
+    }
+
+    private static byte[] await(Future<byte[]> member) throws IOException {
+        try {
+            return member.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to compress a block", e.getCause());
+        }
+    }
+}
@@ -43,6 +43,7 @@ public abstract class RollingPolicyFactory implements PolymorphicConfiguration {
 
 	private String fileNamePattern;
 	private int historySize;
+	private CompressionFactory compression;
 	
 	/**
 	 * Sets a filename pattern for the archived log files. The filename can be a
@@ -84,6 +85,17 @@ public abstract class RollingPolicyFactory implements PolymorphicConfiguration {
 		this.historySize = historySize;
 	}
 
+	/**
+	 * Sets a compressor for the archived log files, to be used instead of the standard Logback compression. The
+	 * "fileNamePattern" must end with the suffix of the configured compression (e.g. ".gz").
+	 *
+	 * @since 4.0
+	 */
+	@BQConfigProperty
+	public void setCompression(CompressionFactory compression) {
+		this.compression = compression;
+	}
+
 	protected String getFileNamePattern() {
 		return fileNamePattern;
 	}
@@ -92,6 +104,13 @@ public abstract class RollingPolicyFactory implements PolymorphicConfiguration {
 		return historySize;
 	}
 
+	/**
+	 * @since 4.0
+	 */
+	protected CompressionFactory getCompression() {
+		return compression;
+	}
+
 	/**
 	 * Creates rolling policy for rotation. This method validates rolling policy
 	 * properties before creation policy.
@@ -104,6 +123,9 @@ public abstract class RollingPolicyFactory implements PolymorphicConfiguration {
 	 */
 	public RollingPolicy createRollingPolicy(LoggerContext context) {
 		getFileNamePatternValidator(context).validate();
+		if (compression != null) {
+			compression.validate(fileNamePattern);
+		}
 		return instantiatePolicy(context);
 	}
 
@@ -55,7 +55,22 @@ public class SizeAndTimeBasedPolicyFactory extends TimeBasedPolicyFactory {
 
 	@Override
 	protected SizeAndTimeBasedRollingPolicy<ILoggingEvent> instantiatePolicy(LoggerContext context) {
-		SizeAndTimeBasedRollingPolicy<ILoggingEvent> policy = new SizeAndTimeBasedRollingPolicy<>();
+		ArchiveIndex archiveIndex = createArchiveIndex();
+
+		SizeAndTimeBasedRollingPolicy<ILoggingEvent> policy;
+		if (getCompression() != null) {
+			CompressingSizeAndTimeBasedRollingPolicy<ILoggingEvent> compressing =
+					new CompressingSizeAndTimeBasedRollingPolicy<>(getCompression().createCompressor());
+			compressing.setArchiveIndex(archiveIndex);
+			policy = compressing;
+		} else if (archiveIndex != null) {
+			IndexedSizeAndTimeBasedRollingPolicy<ILoggingEvent> indexed = new IndexedSizeAndTimeBasedRollingPolicy<>();
+			indexed.setArchiveIndex(archiveIndex);
+			policy = indexed;
+		} else {
+			policy = new SizeAndTimeBasedRollingPolicy<>();
+		}
+
 		policy.setContext(context);
 		setupBasePolicySettings(policy);
 		if (fileSize != null && fileSize.length() > 0) {
@@ -40,6 +40,7 @@ import io.bootique.annotation.BQConfigProperty;
 public class TimeBasedPolicyFactory extends RollingPolicyFactory {
 
     private String totalSize;
+    private boolean indexArchives;
 
     /**
      * Sets a maximum size of all log files combined. Equivalent to Logback
@@ -56,12 +57,37 @@ public class TimeBasedPolicyFactory extends RollingPolicyFactory {
         this.totalSize = totalSize;
     }
 
+    /**
+     * @since 4.0
+     */
+    @BQConfigProperty("Whether to enforce 'historySize' and 'totalSize' via an in-memory index of the archives " +
+            "instead of the Logback cleanup. The archive directory is then scanned only once on startup, and not on " +
+            "every rollover. Default is false.")
+    public void setIndexArchives(boolean indexArchives) {
+        this.indexArchives = indexArchives;
+    }
+
     @Override
     protected TimeBasedRollingPolicy<ILoggingEvent> instantiatePolicy(LoggerContext context) {
-		TimeBasedRollingPolicy<ILoggingEvent> policy = new TimeBasedRollingPolicy<>();
+        ArchiveIndex archiveIndex = createArchiveIndex();
+
+        TimeBasedRollingPolicy<ILoggingEvent> policy;
+        if (getCompression() != null) {
+            CompressingTimeBasedRollingPolicy<ILoggingEvent> compressing =
+                    new CompressingTimeBasedRollingPolicy<>(getCompression().createCompressor());
+            compressing.setArchiveIndex(archiveIndex);
+            policy = compressing;
+        } else if (archiveIndex != null) {
+            IndexedTimeBasedRollingPolicy<ILoggingEvent> indexed = new IndexedTimeBasedRollingPolicy<>();
+            indexed.setArchiveIndex(archiveIndex);
+            policy = indexed;
+        } else {
+            policy = new TimeBasedRollingPolicy<>();
+        }
+
         policy.setContext(context);
         setupBasePolicySettings(policy);
-		return policy;
+        return policy;
     }
 
     @Override
@@ -79,8 +105,29 @@ public class TimeBasedPolicyFactory extends RollingPolicyFactory {
         };
     }
 
+    /**
+     * Creates an index that enforces the history and total size limits, or returns null if the archives are not
+     * indexed, or there are no limits.
+     *
+     * @since 4.0
+     */
+    protected ArchiveIndex createArchiveIndex() {
+        long maxBytes = totalSize != null && totalSize.length() > 0 ? FileSize.valueOf(totalSize).getSize() : 0;
+        if (!indexArchives || (getHistorySize() <= 0 && maxBytes <= 0)) {
+            return null;
+        }
+
+        return new ArchiveIndex(getFileNamePattern(), getHistorySize(), maxBytes);
+    }
+
     protected void setupBasePolicySettings(TimeBasedRollingPolicy<ILoggingEvent> policy) {
         policy.setFileNamePattern(getFileNamePattern());
+
+        // the limits are enforced by the archive index instead of the Logback archive remover
+        if (indexArchives) {
+            return;
+        }
+
         if (getHistorySize() > 0) {
             policy.setMaxHistory(getHistorySize());
             policy.setCleanHistoryOnStart(true);
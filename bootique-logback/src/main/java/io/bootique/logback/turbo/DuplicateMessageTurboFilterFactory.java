@@ -0,0 +1,65 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.turbo;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.DuplicateMessageFilter;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.bootique.annotation.BQConfig;
+import io.bootique.annotation.BQConfigProperty;
+
+/**
+ * Drops the repetitions of the same message template once a certain number of them has been logged.
+ *
+ * @since 4.0
+ */
+@JsonTypeName("duplicate")
+@BQConfig("Turbo filter that suppresses repeated messages")
+public class DuplicateMessageTurboFilterFactory extends TurboFilterFactory {
+
+    private int allowedRepetitions;
+    private int cacheSize;
+
+    public DuplicateMessageTurboFilterFactory() {
+        this.allowedRepetitions = DuplicateMessageFilter.DEFAULT_ALLOWED_REPETITIONS;
+        this.cacheSize = DuplicateMessageFilter.DEFAULT_CACHE_SIZE;
+    }
+
+    @BQConfigProperty("How many repetitions of a message template are logged before the rest are dropped. " +
+            "The default is 5.")
+    public void setAllowedRepetitions(int allowedRepetitions) {
+        this.allowedRepetitions = allowedRepetitions;
+    }
+
+    @BQConfigProperty("How many distinct message templates are tracked. The least recently used templates are " +
+            "evicted. The default is 100.")
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @Override
+    public TurboFilter createTurboFilter(LoggerContext context) {
+        DuplicateMessageFilter filter = new DuplicateMessageFilter();
+        filter.setAllowedRepetitions(allowedRepetitions);
+        filter.setCacheSize(cacheSize);
+        return initFilter(filter, context);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.turbo;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.MarkerFilter;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.bootique.annotation.BQConfig;
+import io.bootique.annotation.BQConfigProperty;
+
+import java.util.Objects;
+
+/**
+ * Accepts or denies logging calls based on the presence of an SLF4J marker.
+ *
+ * @since 4.0
+ */
+@JsonTypeName("marker")
+@BQConfig("Turbo filter that matches logging calls by marker")
+public class MarkerTurboFilterFactory extends TurboFilterFactory {
+
+    private String marker;
+    private TurboFilterReply onMatch;
+    private TurboFilterReply onMismatch;
+
+    public MarkerTurboFilterFactory() {
+        this.onMatch = TurboFilterReply.neutral;
+        this.onMismatch = TurboFilterReply.neutral;
+    }
+
+    @BQConfigProperty("Marker name to match. Required.")
+    public void setMarker(String marker) {
+        this.marker = marker;
+    }
+
+    @BQConfigProperty("Decision for the calls with the marker. The default is 'neutral'.")
+    public void setOnMatch(TurboFilterReply onMatch) {
+        this.onMatch = onMatch;
+    }
+
+    @BQConfigProperty("Decision for the calls without the marker. The default is 'neutral'.")
+    public void setOnMismatch(TurboFilterReply onMismatch) {
+        this.onMismatch = onMismatch;
+    }
+
+    @Override
+    public TurboFilter createTurboFilter(LoggerContext context) {
+        MarkerFilter filter = new MarkerFilter();
+        filter.setMarker(Objects.requireNonNull(marker, "'marker' is not set"));
+        filter.setOnMatch(onMatch.toFilterReply().name());
+        filter.setOnMismatch(onMismatch.toFilterReply().name());
+        return initFilter(filter, context);
+    }
+}
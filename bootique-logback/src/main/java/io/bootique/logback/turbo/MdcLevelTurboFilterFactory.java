@@ -0,0 +1,106 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.turbo;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.DynamicThresholdFilter;
+import ch.qos.logback.classic.turbo.MDCValueLevelPair;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.bootique.annotation.BQConfig;
+import io.bootique.annotation.BQConfigProperty;
+import io.bootique.logback.LogbackLevel;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Picks the level threshold of a logging call based on a value stored in MDC, e.g. to enable debug logging for a
+ * single user.
+ *
+ * @since 4.0
+ */
+@JsonTypeName("mdcLevel")
+@BQConfig("Turbo filter that picks the level threshold based on an MDC value")
+public class MdcLevelTurboFilterFactory extends TurboFilterFactory {
+
+    private String key;
+    private LogbackLevel defaultLevel;
+    private Map<String, LogbackLevel> levels;
+    private TurboFilterReply onHigherOrEqual;
+    private TurboFilterReply onLower;
+
+    public MdcLevelTurboFilterFactory() {
+        this.defaultLevel = LogbackLevel.error;
+        this.levels = Collections.emptyMap();
+        this.onHigherOrEqual = TurboFilterReply.neutral;
+        this.onLower = TurboFilterReply.deny;
+    }
+
+    @BQConfigProperty("MDC key whose value determines the level threshold. Required.")
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    @BQConfigProperty("Level threshold used when the MDC value is missing or has no mapping. The default is 'error'.")
+    public void setDefaultLevel(LogbackLevel defaultLevel) {
+        this.defaultLevel = defaultLevel;
+    }
+
+    @BQConfigProperty("Level thresholds keyed by the MDC value.")
+    public void setLevels(Map<String, LogbackLevel> levels) {
+        this.levels = levels;
+    }
+
+    @BQConfigProperty("Decision for the events at or above the threshold. The default is 'neutral'. Use 'accept' to " +
+            "log such events even if the logger level is higher.")
+    public void setOnHigherOrEqual(TurboFilterReply onHigherOrEqual) {
+        this.onHigherOrEqual = onHigherOrEqual;
+    }
+
+    @BQConfigProperty("Decision for the events below the threshold. The default is 'deny'.")
+    public void setOnLower(TurboFilterReply onLower) {
+        this.onLower = onLower;
+    }
+
+    @Override
+    public TurboFilter createTurboFilter(LoggerContext context) {
+        DynamicThresholdFilter filter = new DynamicThresholdFilter();
+        filter.setKey(Objects.requireNonNull(key, "MDC 'key' is not set"));
+        filter.setDefaultThreshold(toLevel(defaultLevel));
+        filter.setOnHigherOrEqual(onHigherOrEqual.toFilterReply());
+        filter.setOnLower(onLower.toFilterReply());
+
+        levels.forEach((v, l) -> {
+            MDCValueLevelPair pair = new MDCValueLevelPair();
+            pair.setValue(v);
+            pair.setLevel(toLevel(l));
+            filter.addMDCValueLevelPair(pair);
+        });
+
+        return initFilter(filter, context);
+    }
+
+    private static Level toLevel(LogbackLevel level) {
+        return Level.toLevel(level.name(), Level.ERROR);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.turbo;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.bootique.logback.filter.Sampler;
+import org.slf4j.Marker;
+
+/**
+ * A turbo filter that denies the logging calls not picked by a {@link Sampler}, before the logging events are created.
+ *
+ * @since 4.0
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final Sampler sampler;
+
+    public SamplingTurboFilter() {
+        this(new Sampler());
+    }
+
+    public SamplingTurboFilter(Sampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+
+        // "isXyzEnabled()" checks come with no format; sample the actual logging call instead
+        if (!isStarted() || format == null || level == null) {
+            return FilterReply.NEUTRAL;
+        }
+
+        // do not count the calls that the logger discards anyway
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        return sampler.sample(logger.getName(), level) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public Sampler getSampler() {
+        return sampler;
+    }
+
+    @Override
+    public void stop() {
+        if (isStarted()) {
+            long suppressed = sampler.getSuppressedCount();
+            if (suppressed > 0) {
+                addInfo("Sampling suppressed " + suppressed + " events: " + sampler.getSuppressedCounts());
+            }
+        }
+
+        super.stop();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.turbo;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.bootique.annotation.BQConfig;
+import io.bootique.annotation.BQConfigProperty;
+import io.bootique.logback.LogbackLevel;
+import io.bootique.logback.filter.Sampler;
+import io.bootique.value.Duration;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Logs only a sample of the calls of the configured loggers, either one of every N calls, or at most a given number of
+ * calls per time interval. Each logger and level is sampled separately.
+ *
+ * @since 4.0
+ */
+@JsonTypeName("sampling")
+@BQConfig("Turbo filter that logs only a sample of the calls per logger")
+public class SamplingTurboFilterFactory extends TurboFilterFactory {
+
+    private Collection<String> loggers;
+    private int rate;
+    private int limit;
+    private Duration interval;
+    private LogbackLevel alwaysPassLevel;
+
+    public SamplingTurboFilterFactory() {
+        this.loggers = Collections.emptyList();
+        this.rate = 1;
+        this.alwaysPassLevel = LogbackLevel.warn;
+    }
+
+    @BQConfigProperty("Names of the sampled loggers, including their child loggers. If empty, all loggers are sampled.")
+    public void setLoggers(Collection<String> loggers) {
+        this.loggers = loggers;
+    }
+
+    @BQConfigProperty("Only one of every 'rate' calls of each sampled logger is logged. The default is 1, i.e. no sampling.")
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    @BQConfigProperty("Max number of calls of each logger and level logged per 'interval'. The default is 0, i.e. no limit.")
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    @BQConfigProperty("Time interval of the 'limit'. The default is 1s.")
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    @BQConfigProperty("Calls at or above this level are never sampled. The default is 'warn'.")
+    public void setAlwaysPassLevel(LogbackLevel alwaysPassLevel) {
+        this.alwaysPassLevel = alwaysPassLevel;
+    }
+
+    @Override
+    public TurboFilter createTurboFilter(LoggerContext context) {
+        Sampler sampler = new Sampler();
+        sampler.setLoggers(loggers);
+        sampler.setRate(rate);
+        sampler.setLimit(limit);
+        sampler.setAlwaysPassLevel(Level.toLevel(alwaysPassLevel.name(), Level.WARN));
+
+        if (interval != null) {
+            sampler.setInterval(interval.getDuration().toMillis());
+        }
+
+        return initFilter(new SamplingTurboFilter(sampler), context);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.turbo;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.bootique.annotation.BQConfig;
+import io.bootique.annotation.BQConfigProperty;
+import io.bootique.config.PolymorphicConfiguration;
+
+/**
+ * A factory of context-wide filters that are evaluated before a logging event is created. Unlike the appender
+ * filters, a turbo filter that denies a logging call saves the cost of the event construction and formatting.
+ *
+ * @since 4.0
+ */
+@BQConfig("Context-wide filter applied before the logging event is created")
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+public abstract class TurboFilterFactory implements PolymorphicConfiguration {
+
+    private String name;
+
+    /**
+     * Returns a started turbo filter.
+     */
+    public abstract TurboFilter createTurboFilter(LoggerContext context);
+
+    protected <T extends TurboFilter> T initFilter(T filter, LoggerContext context) {
+        filter.setContext(context);
+
+        if (name != null) {
+            filter.setName(name);
+        }
+
+        filter.start();
+        return filter;
+    }
+
+    @BQConfigProperty("Optional filter name.")
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.turbo;
+
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * A decision of a turbo filter about a logging call.
+ *
+ * @since 4.0
+ */
+public enum TurboFilterReply {
+
+    // names must be in lowercase - LC is what we expect in YAML..
+
+    /**
+     * The event is logged, bypassing the logger level check.
+     */
+    accept,
+
+    /**
+     * The event is dropped.
+     */
+    deny,
+
+    /**
+     * The decision is left to the other filters and the logger level.
+     */
+    neutral;
+
+    public FilterReply toFilterReply() {
+        switch (this) {
+            case accept:
+                return FilterReply.ACCEPT;
+            case deny:
+                return FilterReply.DENY;
+            default:
+                return FilterReply.NEUTRAL;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback;
+
+import ch.qos.logback.classic.Logger;
+import io.bootique.BQRuntime;
+import io.bootique.junit.BQTest;
+import io.bootique.junit.BQTestFactory;
+import io.bootique.junit.BQTestTool;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the logging hot path against allocation regressions, by checking the bytes allocated per event by the
+ * logging thread for the main synchronous configurations. The budgets are about 25% above the values measured on
+ * JDK 17, so a new per-event allocation of a few hundred bytes (a formatter, a map, a buffer copy) fails the test.
+ */
+@BQTest
+public class AllocationBudgetIT {
+
+    private static final int WARMUP_EVENTS = 50_000;
+    private static final int MEASURED_EVENTS = 10_000;
+
+    @BQTestTool
+    final BQTestFactory testFactory = new BQTestFactory().autoLoadModules();
+
+    private static com.sun.management.ThreadMXBean threadBean;
+
+    @BeforeAll
+    public static void checkAllocationTracking() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "Thread allocation tracking is not available on this JVM");
+
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported(),
+                "Thread allocation tracking is not supported on this JVM");
+
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void patternToConsole() {
+
+        // Logback console appender resolves System.out on each write, so the output can be discarded
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            // measured: 1_003 bytes
+            assertBudget("classpath:io/bootique/logback/test-alloc-console.yml", 1_250, AllocationBudgetIT::logInfo);
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+
+    @Test
+    public void jsonToFile() {
+        // measured: 1_008 bytes
+        assertBudget("classpath:io/bootique/logback/test-alloc-json-file.yml", 1_260, AllocationBudgetIT::logInfo);
+    }
+
+    @Test
+    public void filtered_Accepted() {
+        // measured: 1_004 bytes
+        assertBudget("classpath:io/bootique/logback/test-alloc-filtered.yml", 1_250, AllocationBudgetIT::logInfo);
+    }
+
+    @Test
+    public void filtered_Denied() {
+        // measured: 160 bytes
+        assertBudget("classpath:io/bootique/logback/test-alloc-filtered.yml", 200, AllocationBudgetIT::logDebug);
+    }
+
+    private static void logInfo(Logger logger) {
+        logger.info("Processed {} in {} ms", "/api/items", 1017);
+    }
+
+    private static void logDebug(Logger logger) {
+        logger.debug("Processed {} in {} ms", "/api/items", 1017);
+    }
+
+    private void assertBudget(String config, long maxBytesPerEvent, Consumer<Logger> logCall) {
+        BQRuntime app = testFactory.app("-c", config)
+                .module(LogbackModule.class)
+                .createRuntime();
+
+        Logger logger = app.getInstance(Logger.class);
+
+        // let the JIT compile the hot path, as escape analysis removes some of the allocations
+        for (int i = 0; i < WARMUP_EVENTS; i++) {
+            logCall.accept(logger);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_EVENTS; i++) {
+            logCall.accept(logger);
+        }
+        long perEvent = (threadBean.getThreadAllocatedBytes(threadId) - before) / MEASURED_EVENTS;
+
+        app.shutdown();
+
+        assertTrue(perEvent <= maxBytesPerEvent,
+                () -> config + ": " + perEvent + " bytes allocated per event, the budget is " + maxBytesPerEvent);
+    }
+}
@@ -146,6 +146,39 @@ public class LogbackBQConfigIT {
         assertTrue(logs.get("multi-noname.log").endsWith("one: info-log-to-file"), () -> "Unexpected log: " + logs.get("multi-noname.log"));
     }
 
+    @Test
+    public void fileMultiAppender_Dispatcher_Root() {
+        Map<String, String> logs = logTester.run(
+                "classpath:io/bootique/logback/test-multi-file-appender-dispatcher.yml",
+                l -> l.info("info-log-to-file")
+        );
+
+        assertEquals(3, logs.size());
+        assertEquals(new HashSet<>(asList("multi-one.log", "multi-two.log", "multi-noname.log")), logs.keySet());
+
+        assertTrue(logs.get("multi-one.log").endsWith("ROOT: info-log-to-file"), () -> "Unexpected log: " + logs.get("multi-one.log"));
+        assertTrue(logs.get("multi-noname.log").endsWith("ROOT: info-log-to-file"), () -> "Unexpected log: " + logs.get("multi-noname.log"));
+        assertEquals("", logs.get("multi-two.log"));
+    }
+
+    @Test
+    public void fileMultiAppender_Dispatcher_Child() {
+
+        Map<String, String> logs = logTester.run(
+                "classpath:io/bootique/logback/test-multi-file-appender-dispatcher.yml",
+                l -> LoggerFactory.getLogger("one").info("info-log-to-file")
+        );
+
+        assertEquals(3, logs.size());
+        assertEquals(new HashSet<>(asList("multi-one.log", "multi-two.log", "multi-noname.log")), logs.keySet());
+
+        // "one" is referenced by both the root and the child logger, so it gets the event twice, same as without
+        // the dispatcher
+        assertEquals("one: info-log-to-file\none: info-log-to-file", logs.get("multi-one.log"));
+        assertEquals("one: info-log-to-file", logs.get("multi-two.log"));
+        assertEquals("one: info-log-to-file", logs.get("multi-noname.log"));
+    }
+
     /**
      * Checks file appender with rolling policy "time" (TimeBasedRollingPolicy)
      * <p>
@@ -25,6 +25,7 @@ import io.bootique.junit.BQTestTool;
 import io.bootique.logback.unit.LogTester;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MarkerFactory;
 
 import java.util.Map;
 
@@ -117,6 +118,34 @@ public class LogbackFiltersIT {
     }
 
 
+    /**
+     * Checks file appender with SamplingFilter
+     */
+    @Test
+    public void fileAppenderSamplingFilter() {
+
+        String samplingLog = logTester.run(
+                "classpath:io/bootique/logback/test-file-appender-filter-sampling.yml",
+                "sampling.log",
+                l -> {
+                    org.slf4j.Logger sampled = LoggerFactory.getLogger("sampled");
+                    for (int i = 0; i < 4; i++) {
+                        sampled.info("sampled-log-to-file-" + i);
+                        l.info("info-log-to-file-" + i);
+                    }
+                    sampled.warn("warn-log-to-file");
+                });
+
+        assertEquals("sampled: sampled-log-to-file-0\n" +
+                "ROOT: info-log-to-file-0\n" +
+                "ROOT: info-log-to-file-1\n" +
+                "sampled: sampled-log-to-file-2\n" +
+                "ROOT: info-log-to-file-2\n" +
+                "ROOT: info-log-to-file-3\n" +
+                "sampled: warn-log-to-file", samplingLog, () -> "Unexpected log: " + samplingLog);
+    }
+
+
     @Test
     public void fileLoggerLevelOff() {
 
@@ -135,4 +164,27 @@ public class LogbackFiltersIT {
         String thresholdLog = logs.get("logfile1-off.log");
         assertEquals("two: warn-log-to-file-2", thresholdLog, () -> "Unexpected log: " + thresholdLog);
     }
+
+    @Test
+    public void turboFilters() {
+
+        String turboLog = logTester.run(
+                "classpath:io/bootique/logback/test-turbo-filters.yml",
+                "turbo.log",
+                l -> {
+                    l.info(MarkerFactory.getMarker("NOISY"), "marked-log-to-file");
+                    l.info("unmarked-log-to-file");
+
+                    org.slf4j.Logger sampled = LoggerFactory.getLogger("sampled.x");
+                    for (int i = 0; i < 6; i++) {
+                        sampled.info("sampled-log-to-file-" + i);
+                    }
+                    sampled.warn("warn-log-to-file");
+                });
+
+        assertEquals("ROOT: unmarked-log-to-file\n" +
+                "sampled.x: sampled-log-to-file-0\n" +
+                "sampled.x: sampled-log-to-file-3\n" +
+                "sampled.x: warn-log-to-file", turboLog, () -> "Unexpected log: " + turboLog);
+    }
 }
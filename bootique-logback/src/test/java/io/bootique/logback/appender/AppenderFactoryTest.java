@@ -19,11 +19,15 @@
 
 package io.bootique.logback.appender;
 
+import ch.qos.logback.classic.AsyncAppender;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.PatternLayout;
 import ch.qos.logback.classic.html.HTMLLayout;
 import ch.qos.logback.classic.log4j.XMLLayout;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.FileAppender;
 import ch.qos.logback.core.Layout;
 import io.bootique.config.ConfigurationFactory;
 import io.bootique.junit.BQTest;
@@ -32,6 +36,8 @@ import io.bootique.junit.BQTestTool;
 import io.bootique.logback.LogbackContextFactory;
 import io.bootique.logback.LogbackLevel;
 import io.bootique.logback.LogbackModule;
+import io.bootique.logback.async.RingBufferAppender;
+import io.bootique.logback.async.WaitStrategy;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -124,4 +130,50 @@ public class AppenderFactoryTest {
         Layout<ILoggingEvent> actualLayout = a1.createLayout(new LoggerContext(), "");
         assertInstanceOf(XMLLayout.class, actualLayout);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void createAppender_Async() {
+        ConfigurationFactory configFactory = testFactory.app("-c", "classpath:io/bootique/logback/test-appender-async.yml")
+                .module(LogbackModule.class)
+                .createRuntime()
+                .getInstance(ConfigurationFactory.class);
+
+        LogbackContextFactory rootFactory = configFactory.config(LogbackContextFactory.class, "log");
+        AppenderFactory[] appenders = rootFactory.getAppenders().toArray(new AppenderFactory[3]);
+        LoggerContext context = new LoggerContext();
+
+        Appender<ILoggingEvent> fileAppender = appenders[0].createAppender(context, "%m%n");
+        try {
+            assertInstanceOf(AsyncAppender.class, fileAppender);
+            AsyncAppender async = (AsyncAppender) fileAppender;
+            assertEquals(1024, async.getQueueSize());
+            assertEquals(0, async.getDiscardingThreshold());
+            assertEquals(5000, async.getMaxFlushTime());
+            assertTrue(async.isNeverBlock());
+            assertFalse(async.isIncludeCallerData());
+            assertInstanceOf(FileAppender.class, async.iteratorForAppenders().next());
+        } finally {
+            fileAppender.stop();
+        }
+
+        Appender<ILoggingEvent> consoleAppender = appenders[1].createAppender(context, "%m%n");
+        try {
+            assertInstanceOf(ConsoleAppender.class, consoleAppender);
+        } finally {
+            consoleAppender.stop();
+        }
+
+        Appender<ILoggingEvent> ringBufferAppender = appenders[2].createAppender(context, "%m%n");
+        try {
+            assertInstanceOf(RingBufferAppender.class, ringBufferAppender);
+            RingBufferAppender ringBuffer = (RingBufferAppender) ringBufferAppender;
+            assertEquals(1000, ringBuffer.getQueueSize());
+            assertEquals(WaitStrategy.yield, ringBuffer.getWaitStrategy());
+            assertEquals(64, ringBuffer.getBatchSize());
+            assertEquals(5, ringBuffer.getMaxLinger());
+            assertInstanceOf(FileAppender.class, ringBuffer.iteratorForAppenders().next());
+        } finally {
+            ringBufferAppender.stop();
+        }
+    }
+}
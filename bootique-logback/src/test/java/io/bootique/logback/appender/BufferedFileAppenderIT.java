@@ -0,0 +1,125 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.appender;
+
+import io.bootique.junit.BQTest;
+import io.bootique.junit.BQTestFactory;
+import io.bootique.junit.BQTestTool;
+import io.bootique.logback.unit.LogTester;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@BQTest
+public class BufferedFileAppenderIT {
+
+    @BQTestTool
+    final BQTestFactory testFactory = new BQTestFactory().autoLoadModules();
+
+    @BQTestTool
+    final LogTester logTester = new LogTester(testFactory, "target/logs/buffered");
+
+    @Test
+    public void bufferedAppender() {
+
+        // the buffer is smaller than the total output, so it is written out a few times before the shutdown flush
+        String log = logTester.run(
+                "classpath:io/bootique/logback/test-buffered-file-appender.yml",
+                "buffered.log",
+                l -> {
+                    for (int i = 0; i < 1000; i++) {
+                        l.info("info-log-to-buffer-" + i);
+                    }
+                });
+
+        String[] lines = log.split("\n");
+        assertEquals(1000, lines.length);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("ROOT: info-log-to-buffer-" + i, lines[i]);
+        }
+    }
+
+    @Test
+    public void bufferedAppender_Rotate() {
+
+        // the lines are apart by more than the flush interval, so the size policy sees each of them in the file
+        Map<String, String> logs = logTester.run(
+                "classpath:io/bootique/logback/test-buffered-file-appender-rotation.yml",
+                l -> {
+                    for (int i = 1; i <= 4; i++) {
+                        l.info("buffered-line-" + i);
+                        sleep(200);
+                    }
+                });
+
+        assertEquals(3, logs.size(), "Expected 2 archived files + 1 current log-file");
+        assertEquals("ROOT: buffered-line-4", logs.get("logfile-current.log"));
+        assertEquals("ROOT: buffered-line-3", logs.get("logfile-1.log"));
+        assertEquals("ROOT: buffered-line-2", logs.get("logfile-2.log"));
+    }
+
+    @Test
+    public void durableAppender_GroupCommit() {
+
+        // concurrent appends share the commits, none of the events should be lost or mangled
+        String log = logTester.run(
+                "classpath:io/bootique/logback/test-durable-file-appender.yml",
+                "durable.log",
+                l -> {
+                    Thread[] threads = new Thread[4];
+                    for (int t = 0; t < threads.length; t++) {
+                        threads[t] = new Thread(() -> {
+                            for (int i = 0; i < 50; i++) {
+                                l.info("durable-line");
+                            }
+                        });
+                        threads[t].start();
+                    }
+
+                    for (Thread t : threads) {
+                        join(t);
+                    }
+                });
+
+        String[] lines = log.split("\n");
+        assertEquals(200, lines.length);
+        for (String line : lines) {
+            assertEquals("ROOT: durable-line", line);
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
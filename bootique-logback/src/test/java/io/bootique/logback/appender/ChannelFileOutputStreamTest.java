@@ -0,0 +1,224 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.appender;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ChannelFileOutputStreamTest {
+
+    @Test
+    public void write_Buffered() throws IOException {
+        File file = tempFile();
+
+        try (ChannelFileOutputStream out = open(file, false, 16)) {
+            out.write(bytes("0123456789"));
+            out.write('!');
+            assertEquals(11, out.getBufferedBytes());
+            assertEquals("", read(file));
+
+            // doesn't fit in the remaining space, so the buffer is written out first
+            out.write(bytes("abcdefghij"));
+            assertEquals(10, out.getBufferedBytes());
+            assertEquals("0123456789!", read(file));
+
+            out.flush();
+            assertEquals(0, out.getBufferedBytes());
+            assertEquals("0123456789!abcdefghij", read(file));
+        }
+    }
+
+    @Test
+    public void write_LargerThanBuffer() throws IOException {
+        File file = tempFile();
+
+        try (ChannelFileOutputStream out = open(file, false, 8)) {
+            out.write(bytes("ab"));
+            out.write(bytes("cdefghijklmnopqrstuvwxyz"));
+            assertEquals(0, out.getBufferedBytes());
+            assertEquals("abcdefghijklmnopqrstuvwxyz", read(file));
+        }
+    }
+
+    @Test
+    public void write_Append() throws IOException {
+        File file = tempFile();
+        Files.write(file.toPath(), bytes("abc"));
+
+        try (ChannelFileOutputStream out = open(file, true, 16)) {
+            out.write(bytes("def"));
+        }
+
+        assertEquals("abcdef", read(file));
+
+        try (ChannelFileOutputStream out = open(file, false, 16)) {
+            out.write(bytes("xyz"));
+        }
+
+        assertEquals("xyz", read(file));
+    }
+
+    @Test
+    public void write_Closed() throws IOException {
+        ChannelFileOutputStream out = open(tempFile(), false, 16);
+        out.close();
+        out.close();
+
+        assertThrows(IOException.class, () -> out.write(bytes("abc")));
+    }
+
+    @Test
+    public void periodicFlush() throws Exception {
+        File file = tempFile();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        try (ChannelFileOutputStream out = ChannelFileOutputStream.open(
+                file,
+                false,
+                1024,
+                scheduler,
+                10,
+                FileDurability.none)) {
+            out.write(bytes("abc"));
+
+            for (int i = 0; i < 100 && out.getBufferedBytes() > 0; i++) {
+                Thread.sleep(10);
+            }
+
+            assertEquals("abc", read(file));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void awaitDurable_GroupCommit() throws Exception {
+        File file = tempFile();
+        ExecutorService writers = Executors.newFixedThreadPool(8);
+
+        try (ChannelFileOutputStream out = ChannelFileOutputStream.open(
+                file,
+                false,
+                1024,
+                null,
+                0,
+                FileDurability.groupCommit)) {
+
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(writers.submit(() -> {
+                    for (int j = 0; j < 100; j++) {
+                        out.write(bytes("0123456789\n"));
+                        out.awaitDurable();
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> r : results) {
+                r.get();
+            }
+
+            // all the data must have been written out by the commits
+            assertEquals(0, out.getBufferedBytes());
+            assertEquals(8 * 100 * 11, file.length());
+        } finally {
+            writers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void awaitDurable_Closed() throws IOException {
+        ChannelFileOutputStream durable = ChannelFileOutputStream.open(
+                tempFile(),
+                false,
+                16,
+                null,
+                0,
+                FileDurability.groupCommit);
+        durable.write(bytes("abc"));
+        durable.close();
+
+        // forced on close
+        durable.awaitDurable();
+
+        ChannelFileOutputStream nonDurable = open(tempFile(), false, 16);
+        nonDurable.write(bytes("abc"));
+        nonDurable.close();
+
+        assertThrows(IOException.class, nonDurable::awaitDurable);
+    }
+
+    @Test
+    public void open_ReuseBuffer() throws IOException {
+        ChannelFileOutputStream.BufferCache buffers = new ChannelFileOutputStream.BufferCache(16);
+        ByteBuffer buffer = buffers.acquire();
+        buffers.release(buffer);
+
+        File f1 = tempFile();
+        ChannelFileOutputStream out1 = ChannelFileOutputStream.open(f1, false, buffers, null, 0, FileDurability.none);
+        out1.write(bytes("abc"));
+        out1.close();
+        assertEquals(0, out1.getBufferedBytes());
+
+        // the rollover reopens the stream after closing the previous one
+        File f2 = tempFile();
+        ChannelFileOutputStream out2 = ChannelFileOutputStream.open(f2, false, buffers, null, 0, FileDurability.none);
+        out2.write(bytes("de"));
+        out2.close();
+
+        assertEquals("abc", read(f1));
+        assertEquals("de", read(f2));
+        assertSame(buffer, buffers.acquire());
+    }
+
+    private static ChannelFileOutputStream open(File file, boolean append, int bufferSize) throws IOException {
+        return ChannelFileOutputStream.open(file, append, bufferSize, null, 0, FileDurability.none);
+    }
+
+    private static File tempFile() throws IOException {
+        File file = File.createTempFile("bq-channel", ".log");
+        file.deleteOnExit();
+        return file;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
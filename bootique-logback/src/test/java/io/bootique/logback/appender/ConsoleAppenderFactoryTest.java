@@ -21,11 +21,21 @@ package io.bootique.logback.appender;
 
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.filter.ThresholdFilter;
 import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.filter.Filter;
+import io.bootique.logback.filter.LevelFilterFactory;
+import io.bootique.logback.filter.LevelTableFilter;
+import io.bootique.logback.filter.SamplingFilter;
+import io.bootique.logback.filter.SamplingFilterFactory;
+import io.bootique.logback.filter.ThresholdFilterFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 public class ConsoleAppenderFactoryTest {
 
@@ -62,4 +72,61 @@ public class ConsoleAppenderFactoryTest {
         assertEquals(ch.qos.logback.core.joran.spi.ConsoleTarget.SystemOut.getName(), appender.getTarget());
     }
 
+    @Test
+    public void createConsoleAppender_LevelFilters() {
+        LevelFilterFactory level = new LevelFilterFactory();
+        level.setLevel("INFO");
+        level.setOnMatch("ACCEPT");
+        level.setOnMismatch("NEUTRAL");
+
+        ThresholdFilterFactory threshold1 = new ThresholdFilterFactory();
+        threshold1.setLevel("DEBUG");
+
+        ThresholdFilterFactory threshold2 = new ThresholdFilterFactory();
+        threshold2.setLevel("WARN");
+
+        ConsoleAppenderFactory factory = new ConsoleAppenderFactory();
+        factory.setFilters(List.of(level, threshold1, new SamplingFilterFactory(), threshold2));
+        ConsoleAppender<ILoggingEvent> appender = factory.createConsoleAppender(mockContext, "%c{20}: %m%n");
+
+        // consecutive level filters are folded, the order of the rest of the chain is preserved
+        List<Filter<ILoggingEvent>> filters = appender.getCopyOfAttachedFiltersList();
+        assertEquals(3, filters.size());
+        assertInstanceOf(LevelTableFilter.class, filters.get(0));
+        assertInstanceOf(SamplingFilter.class, filters.get(1));
+        assertInstanceOf(ThresholdFilter.class, filters.get(2));
+    }
+
+    @Test
+    public void createConsoleAppender_LevelFilters_Subclass() {
+        ThresholdFilterFactory threshold1 = new ThresholdFilterFactory();
+        threshold1.setLevel("DEBUG");
+
+        // the subclass creates its own filter, so it must not be folded
+        ThresholdFilterFactory threshold2 = new CustomThresholdFilterFactory();
+        threshold2.setLevel("WARN");
+
+        ConsoleAppenderFactory factory = new ConsoleAppenderFactory();
+        factory.setFilters(List.of(threshold1, threshold2));
+        ConsoleAppender<ILoggingEvent> appender = factory.createConsoleAppender(mockContext, "%c{20}: %m%n");
+
+        List<Filter<ILoggingEvent>> filters = appender.getCopyOfAttachedFiltersList();
+        assertEquals(2, filters.size());
+        assertInstanceOf(ThresholdFilter.class, filters.get(0));
+        assertInstanceOf(CustomThresholdFilter.class, filters.get(1));
+    }
+
+    static class CustomThresholdFilterFactory extends ThresholdFilterFactory {
+
+        @Override
+        protected ThresholdFilter createThresholdFilter() {
+            CustomThresholdFilter filter = new CustomThresholdFilter();
+            filter.setLevel(getLevel());
+            filter.start();
+            return filter;
+        }
+    }
+
+    static class CustomThresholdFilter extends ThresholdFilter {
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.appender;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MappedFileOutputStreamTest {
+
+    @Test
+    public void write_AcrossRegions() throws IOException {
+        File file = tempFile();
+
+        try (MappedFileOutputStream out = MappedFileOutputStream.open(file, false, 16)) {
+            out.write(bytes("0123456789"));
+            out.write(bytes("abcdefghijklmnopqrstuvwxyz"));
+            out.write('!');
+            assertEquals(37L, out.getPosition());
+        }
+
+        assertEquals("0123456789abcdefghijklmnopqrstuvwxyz!", read(file));
+    }
+
+    @Test
+    public void write_Append() throws IOException {
+        File file = tempFile();
+        Files.write(file.toPath(), bytes("abc"));
+
+        try (MappedFileOutputStream out = MappedFileOutputStream.open(file, true, 16)) {
+            out.write(bytes("def"));
+        }
+
+        assertEquals("abcdef", read(file));
+
+        try (MappedFileOutputStream out = MappedFileOutputStream.open(file, false, 16)) {
+            out.write(bytes("xyz"));
+        }
+
+        assertEquals("xyz", read(file));
+    }
+
+    @Test
+    public void write_AppendAfterCrash() throws IOException {
+        File file = tempFile();
+
+        // a file left by a crashed process is not truncated and ends with the zero padding of the last region
+        byte[] crashed = new byte[40];
+        System.arraycopy(bytes("abcdefghijklmnopqrstu"), 0, crashed, 0, 21);
+        Files.write(file.toPath(), crashed);
+
+        try (MappedFileOutputStream out = MappedFileOutputStream.open(file, true, 32)) {
+            assertEquals(21L, out.getPosition());
+            out.write(bytes("v"));
+        }
+
+        assertEquals("abcdefghijklmnopqrstuv", read(file));
+    }
+
+    private static File tempFile() throws IOException {
+        File file = File.createTempFile("bq-mmap", ".log");
+        file.deleteOnExit();
+        return file;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
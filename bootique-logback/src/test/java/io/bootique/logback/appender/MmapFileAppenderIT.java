@@ -0,0 +1,96 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.appender;
+
+import io.bootique.junit.BQTest;
+import io.bootique.junit.BQTestFactory;
+import io.bootique.junit.BQTestTool;
+import io.bootique.logback.unit.LogTester;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@BQTest
+public class MmapFileAppenderIT {
+
+    @BQTestTool
+    final BQTestFactory testFactory = new BQTestFactory().autoLoadModules();
+
+    @BQTestTool
+    final LogTester logTester = new LogTester(testFactory, "target/logs/mmap");
+
+    @Test
+    public void mmapAppender() {
+
+        // the region size is small, so that the lines span multiple regions
+        String log = logTester.run(
+                "classpath:io/bootique/logback/test-mmap-appender.yml",
+                "mmap.log",
+                l -> {
+                    for (int i = 0; i < 10; i++) {
+                        l.info("info-log-to-mmap-" + i);
+                    }
+                });
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            if (i > 0) {
+                expected.append("\n");
+            }
+            expected.append("ROOT: info-log-to-mmap-").append(i);
+        }
+
+        assertEquals(expected.toString(), log);
+
+        // the file must be truncated to the data length on close
+        assertEquals(expected.length() + 1, new File("target/logs/mmap/mmap.log").length());
+    }
+
+    @Test
+    public void mmapAppender_FixedWindow() {
+
+        // the mapped file is longer than its data, so the size is tracked by counting bytes even if not configured
+        Map<String, String> logs = logTester.run(
+                "classpath:io/bootique/logback/test-mmap-appender-fixed-rotation.yml",
+                l -> {
+                    for (int i = 1; i <= 3; i++) {
+                        l.warn("mmap-line-" + i);
+                    }
+                });
+
+        assertEquals(3, logs.size(), "Expected 2 archived files + 1 current log-file");
+        assertEquals("ROOT: mmap-line-3\n", logs.get("logfile-current.log"));
+        assertEquals("ROOT: mmap-line-2\n", logs.get("logfile-1.log"));
+        assertEquals("ROOT: mmap-line-1\n", logs.get("logfile-2.log"));
+    }
+
+    @Test
+    public void mmapAppender_ChannelProperties() {
+        MmapFileAppenderFactory factory = new MmapFileAppenderFactory();
+        factory.setBufferSize("1MB");
+        factory.setDurability(FileDurability.groupCommit);
+
+        assertThrows(IllegalArgumentException.class, () -> factory.createOutputStreamFactory(null));
+    }
+}
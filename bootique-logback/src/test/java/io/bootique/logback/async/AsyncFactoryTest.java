@@ -0,0 +1,131 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.filter.ThresholdFilter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.bootique.logback.unit.BlockingAppender;
+import org.junit.jupiter.api.Test;
+
+import static io.bootique.logback.unit.TestEvents.createContext;
+import static io.bootique.logback.unit.TestEvents.createEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncFactoryTest {
+
+    @Test
+    public void createAppender_FilterBeforeEnqueue() throws InterruptedException {
+        for (AsyncQueueType queue : AsyncQueueType.values()) {
+            LoggerContext context = createContext();
+            BlockingAppender target = createTarget(context);
+
+            Appender<ILoggingEvent> appender = createFactory(queue, true).createAppender(target, true);
+
+            assertTrue(target.getCopyOfAttachedFiltersList().isEmpty(), queue::name);
+            assertEquals(1, appender.getCopyOfAttachedFiltersList().size(), queue::name);
+
+            // the worker is blocked on an accepted event, so anything that passes the wrapper stays in the queue
+            appender.doAppend(createEvent(context, Level.WARN));
+            awaitEmpty(appender);
+
+            for (int i = 0; i < 10; i++) {
+                appender.doAppend(createEvent(context, Level.INFO));
+            }
+            assertEquals(0, queueDepth(appender), queue::name);
+
+            target.release.countDown();
+            appender.stop();
+            assertEquals(1, target.appended, queue::name);
+        }
+    }
+
+    @Test
+    public void createAppender_FilterBeforeEnqueue_Disabled() throws InterruptedException {
+        for (AsyncQueueType queue : AsyncQueueType.values()) {
+            LoggerContext context = createContext();
+            BlockingAppender target = createTarget(context);
+
+            Appender<ILoggingEvent> appender = createFactory(queue, false).createAppender(target, true);
+
+            assertEquals(1, target.getCopyOfAttachedFiltersList().size(), queue::name);
+            assertTrue(appender.getCopyOfAttachedFiltersList().isEmpty(), queue::name);
+
+            target.release.countDown();
+            appender.stop();
+        }
+    }
+
+    @Test
+    public void createAppender_StatefulFilters() throws InterruptedException {
+        for (AsyncQueueType queue : AsyncQueueType.values()) {
+            LoggerContext context = createContext();
+            BlockingAppender target = createTarget(context);
+
+            Appender<ILoggingEvent> appender = createFactory(queue, true).createAppender(target, false);
+
+            Class<?> type = queue == AsyncQueueType.ringBuffer ? RingBufferAppender.class : AsyncAppender.class;
+            assertInstanceOf(type, appender, queue::name);
+            assertEquals(1, target.getCopyOfAttachedFiltersList().size(), queue::name);
+            assertTrue(appender.getCopyOfAttachedFiltersList().isEmpty(), queue::name);
+
+            target.release.countDown();
+            appender.stop();
+        }
+    }
+
+    private static AsyncFactory createFactory(AsyncQueueType queue, boolean filterBeforeEnqueue) {
+        AsyncFactory factory = new AsyncFactory();
+        factory.setQueue(queue);
+        factory.setQueueSize(16);
+        factory.setFilterBeforeEnqueue(filterBeforeEnqueue);
+        return factory;
+    }
+
+    private static int queueDepth(Appender<ILoggingEvent> appender) {
+        return appender instanceof RingBufferAppender
+                ? ((RingBufferAppender) appender).getNumberOfElementsInQueue()
+                : ((AsyncAppender) appender).getNumberOfElementsInQueue();
+    }
+
+    private static void awaitEmpty(Appender<ILoggingEvent> appender) throws InterruptedException {
+        for (int i = 0; i < 100 && queueDepth(appender) > 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static BlockingAppender createTarget(LoggerContext context) {
+        ThresholdFilter filter = new ThresholdFilter();
+        filter.setLevel("WARN");
+        filter.start();
+
+        BlockingAppender target = new BlockingAppender();
+        target.setContext(context);
+        target.setName("target");
+        target.addFilter(filter);
+        target.start();
+        return target;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import io.bootique.logback.appender.FlushableAppender;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchFlusherTest {
+
+    @Test
+    public void run() {
+        FlushCountingAppender flushable = new FlushCountingAppender();
+        OutputStreamAppender<ILoggingEvent> other = new OutputStreamAppender<>();
+        other.setOutputStream(new ByteArrayOutputStream());
+
+        BatchFlusher flusher = new BatchFlusher(List.of(flushable, other));
+        assertFalse(flushable.isImmediateFlush());
+        assertTrue(other.isImmediateFlush(), "An appender that can't flush under its lock must flush every event");
+
+        flusher.run();
+        flusher.run();
+        assertEquals(2, flushable.flushes);
+    }
+
+    static class FlushCountingAppender extends OutputStreamAppender<ILoggingEvent> implements FlushableAppender {
+
+        int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
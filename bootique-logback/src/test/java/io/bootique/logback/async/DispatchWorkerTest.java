@@ -0,0 +1,119 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.bootique.logback.unit.TestEvents.createContext;
+import static io.bootique.logback.unit.TestEvents.createEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DispatchWorkerTest {
+
+    @Test
+    public void batch() throws InterruptedException {
+        LoggerContext context = createContext();
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger batches = new AtomicInteger();
+
+        DispatchWorker worker = new DispatchWorker("test", "test-worker", 16, WaitStrategy.park,
+                e -> consumed.incrementAndGet(), () -> {
+        });
+        worker.batch(4, 0, batches::incrementAndGet);
+
+        // queue the events before the worker starts, so that it sees them all at once
+        for (int i = 0; i < 10; i++) {
+            assertTrue(worker.offer(createEvent(context, Level.INFO), false));
+        }
+
+        worker.start();
+
+        // two full batches, and one incomplete batch ended by the empty queue
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (batches.get() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(10, consumed.get());
+        assertEquals(3, batches.get());
+
+        worker.stop();
+        assertTrue(worker.join(10_000));
+
+        // the final flush on exit
+        assertEquals(4, batches.get());
+    }
+
+    @Test
+    public void batch_MaxLinger() throws InterruptedException {
+        LoggerContext context = createContext();
+        AtomicInteger batches = new AtomicInteger();
+
+        DispatchWorker worker = new DispatchWorker("test", "test-worker", 16, WaitStrategy.park, e -> {
+        }, () -> {
+        });
+        worker.batch(100, 200_000_000L, batches::incrementAndGet);
+        worker.start();
+
+        long start = System.nanoTime();
+        worker.offer(createEvent(context, Level.INFO), true);
+
+        // an incomplete batch is held until the linger time expires
+        while (batches.get() == 0 && System.nanoTime() - start < 10_000_000_000L) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(1, batches.get());
+        assertTrue(System.nanoTime() - start >= 200_000_000L);
+
+        worker.stop();
+        assertTrue(worker.join(10_000));
+    }
+
+    @Test
+    public void perEvent() throws InterruptedException {
+        LoggerContext context = createContext();
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger exits = new AtomicInteger();
+
+        DispatchWorker worker = new DispatchWorker(
+                "test",
+                "test-worker",
+                4,
+                WaitStrategy.yield,
+                e -> consumed.incrementAndGet(),
+                exits::incrementAndGet);
+        worker.start();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(worker.offer(createEvent(context, Level.INFO), true));
+        }
+
+        worker.stop();
+        assertTrue(worker.join(10_000));
+        assertEquals(100, consumed.get());
+        assertEquals(1, exits.get());
+    }
+}
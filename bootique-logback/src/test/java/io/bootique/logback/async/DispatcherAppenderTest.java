@@ -0,0 +1,107 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.bootique.logback.unit.TestEvents.createContext;
+import static io.bootique.logback.unit.TestEvents.createEvent;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class DispatcherAppenderTest {
+
+    @Test
+    public void appendersFor() {
+        LoggerContext context = createContext();
+        ListAppender<ILoggingEvent> root = createTarget(context, "root");
+        ListAppender<ILoggingEvent> a = createTarget(context, "a");
+        ListAppender<ILoggingEvent> ab = createTarget(context, "ab");
+
+        DispatcherAppender dispatcher = new DispatcherAppender();
+        dispatcher.addRoute("ROOT", List.of(root));
+        dispatcher.addRoute("com.a", List.of(a));
+        dispatcher.addRoute("com.a.b", List.of(ab, a));
+
+        assertArrayEquals(new Appender[]{root}, dispatcher.appendersFor("ROOT"));
+        assertArrayEquals(new Appender[]{root}, dispatcher.appendersFor("com"));
+        assertArrayEquals(new Appender[]{root}, dispatcher.appendersFor("com.ab"));
+        assertArrayEquals(new Appender[]{a, root}, dispatcher.appendersFor("com.a"));
+        assertArrayEquals(new Appender[]{a, root}, dispatcher.appendersFor("com.a$Inner"));
+        assertArrayEquals(new Appender[]{ab, a, a, root}, dispatcher.appendersFor("com.a.b.C"));
+    }
+
+    @Test
+    public void append_ConcurrentThreads() throws InterruptedException {
+        LoggerContext context = createContext();
+        ListAppender<ILoggingEvent> root = createTarget(context, "root");
+        ListAppender<ILoggingEvent> example = createTarget(context, "example");
+
+        DispatcherAppender dispatcher = new DispatcherAppender();
+        dispatcher.setContext(context);
+        dispatcher.setWorkers(2);
+        dispatcher.setQueueSize(16);
+        dispatcher.setMaxFlushTime(10_000);
+        dispatcher.addRoute("ROOT", List.of(root));
+        dispatcher.addRoute("com.example", List.of(example));
+        dispatcher.start();
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            String loggerName = t % 2 == 0 ? "com.example.X" : "org.example.Y";
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    dispatcher.doAppend(createEvent(context, loggerName, Level.WARN));
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        dispatcher.stop();
+
+        assertEquals(4000, root.list.size());
+        assertEquals(2000, example.list.size());
+        example.list.forEach(e -> assertEquals("com.example.X", e.getLoggerName()));
+
+        // the dispatcher owns the appenders
+        assertFalse(root.isStarted());
+        assertFalse(example.isStarted());
+    }
+
+    private static ListAppender<ILoggingEvent> createTarget(LoggerContext context, String name) {
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.start();
+        return appender;
+    }
+}
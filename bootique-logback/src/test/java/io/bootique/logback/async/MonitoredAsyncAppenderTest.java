@@ -0,0 +1,96 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import io.bootique.logback.metrics.LogMetrics;
+import io.bootique.logback.unit.BlockingAppender;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.bootique.logback.unit.TestEvents.createContext;
+import static io.bootique.logback.unit.TestEvents.createEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MonitoredAsyncAppenderTest {
+
+    private final LoggerContext context = createContext();
+
+    @Test
+    public void estimateDepth_NeverBlockOverload() throws InterruptedException {
+        BlockingAppender target = new BlockingAppender();
+        target.setContext(context);
+        target.start();
+
+        MonitoredAsyncAppender appender = new MonitoredAsyncAppender(LogMetrics.disabled());
+        appender.setContext(context);
+        appender.setName("a1");
+        appender.setQueueSize(8);
+        appender.setDiscardingThreshold(0);
+        appender.setNeverBlock(true);
+        appender.addAppender(target);
+        appender.start();
+
+        // the concurrent producers see free slots in the estimate, and overflow the queue
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread producer = new Thread(() -> {
+                for (int j = 0; j < 500; j++) {
+                    appender.doAppend(createEvent(context, Level.INFO));
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        target.release.countDown();
+        awaitDrained(appender);
+
+        // the estimate drifts during the overload, and must be re-based on the actual depth once the queue drains
+        for (int i = 0; i < appender.getQueueSize(); i++) {
+            appender.doAppend(createEvent(context, Level.INFO));
+            awaitDrained(appender);
+        }
+
+        int depth = appender.estimateDepth();
+        assertTrue(depth <= 1, () -> "Unexpected depth estimate: " + depth);
+
+        appender.stop();
+        assertEquals(4000L + appender.getQueueSize(),
+                appender.getMonitor().getEnqueuedCount() + appender.getMonitor().getDiscardedCount());
+    }
+
+    private static void awaitDrained(MonitoredAsyncAppender appender) throws InterruptedException {
+        for (int i = 0; i < 100 && appender.getNumberOfElementsInQueue() > 0; i++) {
+            Thread.sleep(10);
+        }
+
+        // lets the worker pass the last taken event to the target
+        Thread.sleep(10);
+    }
+}
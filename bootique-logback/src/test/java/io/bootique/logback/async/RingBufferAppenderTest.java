@@ -0,0 +1,126 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import io.bootique.logback.unit.BlockingAppender;
+import org.junit.jupiter.api.Test;
+
+
+import static io.bootique.logback.unit.TestEvents.createContext;
+import static io.bootique.logback.unit.TestEvents.createEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferAppenderTest {
+
+    @Test
+    public void append_ConcurrentThreads() throws InterruptedException {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            LoggerContext context = createContext();
+            ListAppender<ILoggingEvent> target = new ListAppender<>();
+            target.setContext(context);
+            target.start();
+
+            // a small queue makes the producers wait for space, except for "spin" that would starve them on machines
+            // with few cores
+            RingBufferAppender appender = createAppender(context, target, strategy == WaitStrategy.spin ? 4096 : 16);
+            appender.setWaitStrategy(strategy);
+            appender.start();
+
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        appender.doAppend(createEvent(context, Level.WARN));
+                    }
+                });
+                threads[t].start();
+            }
+
+            for (Thread t : threads) {
+                t.join();
+            }
+
+            appender.stop();
+            assertEquals(4000, target.list.size(), strategy.name());
+        }
+    }
+
+    @Test
+    public void append_NeverBlock() throws InterruptedException {
+        LoggerContext context = createContext();
+        BlockingAppender target = new BlockingAppender();
+        target.setContext(context);
+        target.start();
+
+        RingBufferAppender appender = createAppender(context, target, 4);
+        appender.setNeverBlock(true);
+        appender.setDiscardingThreshold(0);
+        appender.start();
+
+        // the worker is stuck on the first event, so only the buffer capacity worth of events can be queued
+        for (int i = 0; i < 20; i++) {
+            appender.doAppend(createEvent(context, Level.WARN));
+        }
+
+        target.release.countDown();
+        appender.stop();
+
+        assertTrue(target.appended >= 4 && target.appended <= 5, "Unexpected count: " + target.appended);
+    }
+
+    @Test
+    public void append_DiscardingThreshold() throws InterruptedException {
+        LoggerContext context = createContext();
+        BlockingAppender target = new BlockingAppender();
+        target.setContext(context);
+        target.start();
+
+        // discard INFO and below when fewer than 4 slots are free, i.e. always
+        RingBufferAppender appender = createAppender(context, target, 4);
+        appender.setNeverBlock(true);
+        appender.setDiscardingThreshold(5);
+        appender.start();
+
+        appender.doAppend(createEvent(context, Level.INFO));
+        appender.doAppend(createEvent(context, Level.DEBUG));
+        appender.doAppend(createEvent(context, Level.ERROR));
+
+        target.release.countDown();
+        appender.stop();
+
+        assertEquals(1, target.appended);
+    }
+
+    private static RingBufferAppender createAppender(LoggerContext context, AppenderBase<ILoggingEvent> target, int queueSize) {
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("test");
+        appender.setQueueSize(queueSize);
+        appender.setMaxFlushTime(10_000);
+        appender.addAppender(target);
+        return appender;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.async;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferTest {
+
+    @Test
+    public void capacityFor() {
+        assertEquals(1, RingBuffer.capacityFor(1));
+        assertEquals(2, RingBuffer.capacityFor(2));
+        assertEquals(4, RingBuffer.capacityFor(3));
+        assertEquals(256, RingBuffer.capacityFor(256));
+        assertEquals(512, RingBuffer.capacityFor(257));
+    }
+
+    @Test
+    public void offerPoll_Wraparound() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+
+        int next = 0;
+        int expected = 0;
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+
+            assertFalse(buffer.offer(-1));
+            assertEquals(4, buffer.size());
+            assertEquals(0, buffer.remainingCapacity());
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals(expected++, buffer.poll());
+            }
+
+            assertNull(buffer.poll());
+            assertTrue(buffer.isEmpty());
+        }
+    }
+
+    @Test
+    public void drain() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, buffer.drain(drained::add, 3));
+        assertEquals(List.of(0, 1, 2), drained);
+        assertEquals(2, buffer.drain(drained::add, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+    }
+
+    @Test
+    public void concurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 100_000;
+        RingBuffer<long[]> buffer = new RingBuffer<>(64);
+
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            threads[p] = new Thread(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads[p].start();
+        }
+
+        // each producer's elements must arrive in order, and none may be lost or duplicated
+        long[] nextExpected = new long[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            long[] element = buffer.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+
+            assertEquals(nextExpected[(int) element[0]]++, element[1]);
+            received++;
+        }
+
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertNull(buffer.poll());
+    }
+}
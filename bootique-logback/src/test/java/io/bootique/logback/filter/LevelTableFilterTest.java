@@ -0,0 +1,75 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LevelTableFilterTest {
+
+    @Test
+    public void decide_LevelAndThreshold() {
+        LevelFilterFactory level = new LevelFilterFactory();
+        level.setLevel("INFO");
+        level.setOnMatch("ACCEPT");
+        level.setOnMismatch("NEUTRAL");
+
+        ThresholdFilterFactory threshold = new ThresholdFilterFactory();
+        threshold.setLevel("WARN");
+
+        LevelTableFilter filter = LevelTableFilter.create(List.of(level, threshold));
+
+        assertEquals(FilterReply.DENY, filter.decide(createEvent(Level.TRACE)));
+        assertEquals(FilterReply.DENY, filter.decide(createEvent(Level.DEBUG)));
+        assertEquals(FilterReply.ACCEPT, filter.decide(createEvent(Level.INFO)));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(Level.WARN)));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(Level.ERROR)));
+    }
+
+    @Test
+    public void decide_FirstDefiniteReplyWins() {
+        LevelFilterFactory denyInfo = new LevelFilterFactory();
+        denyInfo.setLevel("INFO");
+        denyInfo.setOnMatch("DENY");
+        denyInfo.setOnMismatch("NEUTRAL");
+
+        LevelFilterFactory acceptInfo = new LevelFilterFactory();
+        acceptInfo.setLevel("INFO");
+        acceptInfo.setOnMatch("ACCEPT");
+        acceptInfo.setOnMismatch("DENY");
+
+        LevelTableFilter filter = LevelTableFilter.create(List.of(denyInfo, acceptInfo));
+
+        assertEquals(FilterReply.DENY, filter.decide(createEvent(Level.INFO)));
+        assertEquals(FilterReply.DENY, filter.decide(createEvent(Level.WARN)));
+    }
+
+    private static LoggingEvent createEvent(Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLevel(level);
+        return event;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.bootique.logback.unit.TestEvents.createContext;
+import static io.bootique.logback.unit.TestEvents.createEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class RateLimitFilterTest {
+
+    private final LoggerContext context = createContext();
+
+    @Test
+    public void decide_Burst() {
+        TestFilter filter = createFilter(3, 0.001, 10);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "a", Level.ERROR, "error {}")));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "a", Level.ERROR, "error {}")));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "a", Level.ERROR, "error {}")));
+        assertEquals(FilterReply.DENY, filter.decide(createEvent(context, "a", Level.ERROR, "error {}")));
+
+        // other keys have their own buckets
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "a", Level.ERROR, "other error {}")));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "b", Level.ERROR, "error {}")));
+    }
+
+    @Test
+    public void decide_Refill() throws InterruptedException {
+        TestFilter filter = createFilter(1, 1000, 10);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "a", Level.ERROR, "error {}")));
+        assertEquals(FilterReply.DENY, filter.decide(createEvent(context, "a", Level.ERROR, "error {}")));
+
+        Thread.sleep(10);
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "a", Level.ERROR, "error {}")));
+    }
+
+    @Test
+    public void decide_MaxKeys() {
+        TestFilter filter = createFilter(1, 0.001, 2);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "a", Level.ERROR, "error {}")));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "b", Level.ERROR, "error {}")));
+
+        // the map is full, so the new keys share a bucket
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "c", Level.ERROR, "error {}")));
+        assertEquals(FilterReply.DENY, filter.decide(createEvent(context, "d", Level.ERROR, "error {}")));
+
+        filter.flushSummaries(System.nanoTime() + TimeUnit.HOURS.toNanos(1));
+        assertEquals(List.of("ROOT:ERROR:1:null"), filter.summaries);
+    }
+
+    @Test
+    public void decide_MaxKeys_EvictIdle() throws InterruptedException {
+        TestFilter filter = createFilter(1, 100, 2);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "a", Level.ERROR, "error {}")));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "b", Level.ERROR, "error {}")));
+
+        // the buckets are full again, so the new keys replace the idle ones instead of sharing a bucket
+        Thread.sleep(30);
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "c", Level.ERROR, "error {}")));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(createEvent(context, "d", Level.ERROR, "error {}")));
+        assertEquals(FilterReply.DENY, filter.decide(createEvent(context, "c", Level.ERROR, "error {}")));
+    }
+
+    @Test
+    public void flushSummaries() {
+        TestFilter filter = createFilter(1, 0.001, 10);
+
+        filter.decide(createEvent(context, "a", Level.ERROR, "error {}"));
+        filter.decide(createEvent(context, "a", Level.WARN, "error {}"));
+        filter.decide(createEvent(context, "a", Level.WARN, "error {}"));
+        filter.decide(createEvent(context, "b", Level.ERROR, "error {}"));
+
+        // the burst is still going on
+        filter.flushSummaries(System.nanoTime());
+        assertEquals(List.of(), filter.summaries);
+
+        filter.flushSummaries(System.nanoTime() + TimeUnit.HOURS.toNanos(1));
+        assertEquals(List.of("a:WARN:2:error {}"), filter.summaries);
+
+        // reported only once
+        filter.flushSummaries(System.nanoTime() + TimeUnit.HOURS.toNanos(1));
+        assertEquals(1, filter.summaries.size());
+    }
+
+    @Test
+    public void start_InvalidQuietPeriod() {
+        TestFilter filter = new TestFilter();
+        filter.setQuietPeriod(0);
+        filter.start();
+
+        assertFalse(filter.isStarted());
+    }
+
+    private static TestFilter createFilter(int burst, double eventsPerSecond, int maxKeys) {
+        TestFilter filter = new TestFilter();
+        filter.setBurst(burst);
+        filter.setEventsPerSecond(eventsPerSecond);
+        filter.setMaxKeys(maxKeys);
+        filter.start();
+        return filter;
+    }
+
+    static class TestFilter extends RateLimitFilter {
+
+        final List<String> summaries = new ArrayList<>();
+
+        @Override
+        protected void logSummary(String loggerName, Level level, long suppressed, String template) {
+            summaries.add(loggerName + ":" + level + ":" + suppressed + ":" + template);
+        }
+    }
+}
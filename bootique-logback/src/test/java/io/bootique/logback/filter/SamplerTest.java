@@ -0,0 +1,151 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.filter;
+
+import ch.qos.logback.classic.Level;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SamplerTest {
+
+    @Test
+    public void sample_Rate() {
+        Sampler sampler = new Sampler();
+        sampler.setRate(3);
+
+        int kept = 0;
+        for (int i = 0; i < 9; i++) {
+            if (sampler.sample("com.example.x", Level.INFO)) {
+                kept++;
+            }
+        }
+
+        assertEquals(3, kept);
+        assertEquals(6L, sampler.getSuppressedCount());
+        assertEquals(Map.of("com.example.x", 6L), sampler.getSuppressedCounts());
+    }
+
+    @Test
+    public void sample_RatePerLevel() {
+        Sampler sampler = new Sampler();
+        sampler.setRate(2);
+
+        // the first event of each level is kept
+        assertTrue(sampler.sample("com.example.x", Level.INFO));
+        assertTrue(sampler.sample("com.example.x", Level.DEBUG));
+        assertTrue(sampler.sample("com.example.y", Level.INFO));
+        assertEquals(0L, sampler.getSuppressedCount());
+    }
+
+    @Test
+    public void sample_AlwaysPassLevel() {
+        Sampler sampler = new Sampler();
+        sampler.setRate(100);
+        sampler.setAlwaysPassLevel(Level.INFO);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(sampler.sample("com.example.x", Level.INFO));
+            assertTrue(sampler.sample("com.example.x", Level.ERROR));
+        }
+
+        assertEquals(0L, sampler.getSuppressedCount());
+    }
+
+    @Test
+    public void sample_Loggers() {
+        Sampler sampler = new Sampler();
+        sampler.setRate(100);
+        sampler.setLoggers(List.of("com.example"));
+
+        assertTrue(sampler.sample("com.example.x", Level.INFO));
+        assertFalse(sampler.sample("com.example.x", Level.INFO));
+        assertTrue(sampler.sample("com.example$Inner", Level.INFO));
+        assertFalse(sampler.sample("com.example$Inner", Level.INFO));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(sampler.sample("com.examples", Level.INFO));
+            assertTrue(sampler.sample("org.example", Level.INFO));
+        }
+    }
+
+    @Test
+    public void sample_Limit() {
+        Sampler sampler = new Sampler();
+        sampler.setLimit(2);
+        sampler.setInterval(3_600_000);
+
+        int kept = 0;
+        for (int i = 0; i < 5; i++) {
+            if (sampler.sample("com.example.x", Level.INFO)) {
+                kept++;
+            }
+        }
+
+        assertEquals(2, kept);
+        assertEquals(3L, sampler.getSuppressedCount());
+    }
+
+    @Test
+    public void sample_Limit_NextInterval() throws InterruptedException {
+        Sampler sampler = new Sampler();
+        sampler.setLimit(1);
+        sampler.setInterval(10);
+
+        assertTrue(sampler.sample("com.example.x", Level.INFO));
+        assertFalse(sampler.sample("com.example.x", Level.INFO));
+
+        Thread.sleep(20);
+        assertTrue(sampler.sample("com.example.x", Level.INFO));
+    }
+
+    @Test
+    public void sample_ConcurrentThreads() throws InterruptedException {
+        Sampler sampler = new Sampler();
+        sampler.setRate(10);
+
+        AtomicInteger kept = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (sampler.sample("com.example.x", Level.INFO)) {
+                        kept.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        // every 10th event of each counter stripe is kept, and there are at most 8 stripes
+        assertTrue(kept.get() >= 400 && kept.get() <= 408, () -> "Unexpected kept count: " + kept.get());
+        assertEquals(4000L - kept.get(), sampler.getSuppressedCount());
+    }
+}
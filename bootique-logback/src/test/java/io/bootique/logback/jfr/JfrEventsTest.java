@@ -0,0 +1,125 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.jfr;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+import io.bootique.logback.async.RingBufferAppender;
+import io.bootique.logback.unit.BlockingAppender;
+import io.bootique.logback.unit.TestEncoder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.bootique.logback.unit.TestEvents.createContext;
+import static io.bootique.logback.unit.TestEvents.createEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JfrEventsTest {
+
+    private final LoggerContext context = createContext();
+
+    @Test
+    public void layoutRender() throws IOException {
+        JfrEvents.register();
+        Encoder<ILoggingEvent> encoder = JfrEvents.instrument(new TestEncoder(), "a1");
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("io.bootique.logback.LayoutRender");
+            recording.start();
+
+            for (int i = 0; i < JfrEvents.RENDER_SAMPLE_INTERVAL * 3; i++) {
+                encoder.encode(createEvent(context, Level.INFO));
+            }
+
+            recording.stop();
+            events = readEvents(recording, "io.bootique.logback.LayoutRender");
+        }
+
+        assertEquals(3, events.size());
+        assertEquals("a1", events.get(0).getString("appender"));
+        assertEquals(5, events.get(0).getInt("bytes"));
+    }
+
+    @Test
+    public void asyncEnqueueBlocked() throws IOException, InterruptedException {
+        BlockingAppender target = new BlockingAppender();
+        target.setContext(context);
+        target.start();
+
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("a2");
+        appender.setQueueSize(2);
+        appender.setDiscardingThreshold(0);
+        appender.addAppender(target);
+        appender.start();
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("io.bootique.logback.AsyncEnqueueBlocked");
+            recording.start();
+
+            // the worker is stuck on the first event, so the 4th event waits for the queue space
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 4; i++) {
+                    appender.doAppend(createEvent(context, Level.WARN));
+                }
+            });
+            producer.start();
+            producer.join(100);
+
+            target.release.countDown();
+            producer.join();
+            appender.stop();
+
+            recording.stop();
+            events = readEvents(recording, "io.bootique.logback.AsyncEnqueueBlocked");
+        }
+
+        assertTrue(events.size() >= 1, () -> "Unexpected blocked events: " + events.size());
+        assertEquals("a2", events.get(0).getString("queue"));
+        assertEquals(2, events.get(0).getInt("capacity"));
+    }
+
+    private static List<RecordedEvent> readEvents(Recording recording, String type) throws IOException {
+        Path file = Files.createTempFile("bq-logback", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file)
+                    .stream()
+                    .filter(e -> type.equals(e.getEventType().getName()))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
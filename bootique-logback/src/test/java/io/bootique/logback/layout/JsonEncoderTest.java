@@ -0,0 +1,61 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.layout;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class JsonEncoderTest {
+
+    @Test
+    public void encode_SameAsLayout() {
+        LoggerContext context = new LoggerContext();
+
+        JsonLayout layout = new JsonLayout();
+        layout.setContext(context);
+        layout.setTimestampFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        layout.start();
+
+        JsonEncoder encoder = new JsonEncoder(layout);
+        encoder.setContext(context);
+        encoder.start();
+
+        for (int i = 0; i < 3; i++) {
+            LoggingEvent event = new LoggingEvent(
+                    JsonEncoderTest.class.getName(),
+                    context.getLogger("com.example.x"),
+                    Level.INFO,
+                    "message ü {}",
+                    i == 1 ? new IllegalStateException("test") : null,
+                    new Object[]{i});
+            event.setMDCPropertyMap(Map.of("mdcKey", "mdcValue"));
+
+            byte[] expected = layout.doLayout(event).getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(expected, encoder.encode(event));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.layout;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import io.bootique.logback.unit.TestEvents;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.bootique.logback.unit.TestEvents.createContext;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonLayoutTest {
+
+    @Test
+    public void doLayout_SameAsMapBased() {
+        LoggerContext context = createContext();
+        JsonLayout streaming = createLayout(new JsonLayout(), context, false);
+        JsonLayout mapBased = createLayout(new MapBasedJsonLayout(), context, false);
+
+        for (int i = 0; i < 3; i++) {
+            ILoggingEvent event = createEvent(context, i);
+            String json = streaming.doLayout(event);
+            assertEquals(mapBased.doLayout(event), json);
+            assertTrue(json.startsWith("{\"timestamp\":"), json);
+        }
+    }
+
+    @Test
+    public void doLayout_PrettyPrint_SameAsMapBased() {
+        LoggerContext context = createContext();
+        JsonLayout streaming = createLayout(new JsonLayout(), context, true);
+        JsonLayout mapBased = createLayout(new MapBasedJsonLayout(), context, true);
+
+        for (int i = 0; i < 3; i++) {
+            ILoggingEvent event = createEvent(context, i);
+            String json = streaming.doLayout(event);
+            assertEquals(mapBased.doLayout(event), json);
+            assertTrue(json.startsWith("{"), json);
+        }
+    }
+
+    private static JsonLayout createLayout(JsonLayout layout, LoggerContext context, boolean prettyPrint) {
+        layout.setContext(context);
+        layout.setTimestampFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        layout.setPrettyPrint(prettyPrint);
+        layout.start();
+        return layout;
+    }
+
+    private static ILoggingEvent createEvent(LoggerContext context, int i) {
+        LoggingEvent event = TestEvents.createEvent(context, TestEvents.LOGGER_NAME, Level.WARN, "message \"{}\"", "é-" + i);
+        if (i % 2 == 0) {
+            event.setThrowableProxy(new ThrowableProxy(new IllegalStateException("test")));
+        }
+
+        event.setMDCPropertyMap(Map.of("mdcKey", "mdcValue" + i));
+        return event;
+    }
+
+    // forces the map-based rendering path
+    static class MapBasedJsonLayout extends JsonLayout {
+
+        @Override
+        protected Map<String, Object> toJsonMap(ILoggingEvent event) {
+            return super.toJsonMap(event);
+        }
+    }
+}
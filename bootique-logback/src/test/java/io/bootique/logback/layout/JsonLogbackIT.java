@@ -47,6 +47,17 @@ public class JsonLogbackIT {
         assertTrue(logfile.contains("\"message\":\"info-log-json\""), () -> "Unexpected logs: " + logfile);
     }
 
+    @Test
+    public void fileAppenderJsonDirectEncoding() {
+        String logfile = logTester.run(
+                "classpath:io/bootique/logback/test-file-appender-json-layout-direct-encoding.yml",
+                "logfile_layout_direct.log",
+                l -> l.info("info-log-json")
+        );
+
+        assertTrue(logfile.contains("\"message\":\"info-log-json\""), () -> "Unexpected logs: " + logfile);
+    }
+
     @Test
     public void fileAppenderJsonWithTimestamp() {
 
@@ -0,0 +1,131 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.layout;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TimestampFormatterTest {
+
+    private static final String[] PATTERNS = {
+            "yyyy-MM-dd HH:mm:ss.SSS",
+            "yyyy-MM-dd HH:mm:ss",
+            "yyyy-MM-dd'T'HH:mm:ss.SSS",
+            "yy/M/d h:m:s",
+            "SSS",
+            "'at' HH:mm:ss.SSS 'o''clock' SSS",
+            "yyyy-MM-dd HH:mm:ss,SSS Z",
+            "EEE, d MMM yyyy HH:mm:ss",
+            "[yyyy-MM-dd] HH:mm:ss.S"
+    };
+
+    @Test
+    public void format_SameAsSimpleDateFormat() {
+        Random random = new Random(42);
+
+        for (String pattern : PATTERNS) {
+            TimestampFormatter formatter = TimestampFormatter.create(pattern);
+            SimpleDateFormat expected = new SimpleDateFormat(pattern);
+
+            long timestamp = 1_760_000_000_000L;
+            for (int i = 0; i < 2000; i++) {
+
+                // mostly small steps to hit the per-second cache, sometimes large jumps back and forth
+                timestamp += i % 50 == 0 ? random.nextInt(Integer.MAX_VALUE) - Integer.MAX_VALUE / 2 : random.nextInt(400);
+                assertEquals(expected.format(new Date(timestamp)), formatter.format(timestamp), pattern);
+            }
+        }
+    }
+
+    @Test
+    public void format_Iso8601Utc() {
+        TimestampFormatter formatter = TimestampFormatter.create(TimestampFormatter.ISO8601_UTC);
+        SimpleDateFormat expected = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+        expected.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        assertEquals("1970-01-01T00:00:00.000Z", formatter.format(0L));
+        assertEquals("2000-02-29T23:59:59.999Z", formatter.format(951868799999L));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long timestamp = (long) (random.nextDouble() * 253402300799999L);
+            assertEquals(expected.format(new Date(timestamp)), formatter.format(timestamp));
+        }
+    }
+
+    @Test
+    public void format_ConcurrentThreads() throws InterruptedException {
+        TimestampFormatter formatter = TimestampFormatter.create("yyyy-MM-dd HH:mm:ss.SSS");
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                SimpleDateFormat expected = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+                Random random = new Random(seed);
+
+                // all threads go over the same few seconds to contend for the cache
+                for (int i = 0; i < 20000; i++) {
+                    long timestamp = 1_760_000_000_000L + random.nextInt(5000);
+                    String expectedString = expected.format(new Date(timestamp));
+                    String actual = formatter.format(timestamp);
+                    if (!expectedString.equals(actual)) {
+                        failure.compareAndSet(null, expectedString + " vs " + actual);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertNull(failure.get());
+    }
+
+    @Test
+    public void splitOnMillis() {
+        assertEquals(List.of("yyyy-MM-dd HH:mm:ss.", ""), TimestampFormatter.splitOnMillis("yyyy-MM-dd HH:mm:ss.SSS"));
+        assertEquals(List.of("'SSS' ", " 'o''clock'"), TimestampFormatter.splitOnMillis("'SSS' SSS 'o''clock'"));
+        assertNotNull(TimestampFormatter.splitOnMillis("yyyy-MM-dd"));
+        assertNull(TimestampFormatter.splitOnMillis("HH:mm:ss.S"));
+        assertNull(TimestampFormatter.splitOnMillis("EEE HH:mm"));
+        assertNull(TimestampFormatter.splitOnMillis("[HH:mm]"));
+        assertNull(TimestampFormatter.splitOnMillis("'HH:mm"));
+    }
+
+    @Test
+    public void create_InvalidPattern() {
+        assertThrows(IllegalArgumentException.class, () -> TimestampFormatter.create("yyyy-MM-dd qq"));
+    }
+}
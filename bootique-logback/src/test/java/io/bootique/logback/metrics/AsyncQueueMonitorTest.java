@@ -0,0 +1,120 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import io.bootique.logback.async.RingBufferAppender;
+import io.bootique.logback.unit.BlockingAppender;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.bootique.logback.unit.TestEvents.createContext;
+import static io.bootique.logback.unit.TestEvents.createEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncQueueMonitorTest {
+
+    private final LoggerContext context = createContext();
+
+    @Test
+    public void ringBuffer() throws InterruptedException {
+        LogMetrics metrics = new LogMetrics(true, List.of(), 0);
+        metrics.install(context);
+
+        BlockingAppender target = new BlockingAppender();
+        target.setContext(context);
+        target.start();
+
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("a1");
+        appender.setQueueSize(4);
+        appender.setNeverBlock(true);
+        appender.setDiscardingThreshold(1);
+        appender.addAppender(target);
+        appender.start();
+
+        AsyncQueueMonitor monitor = metrics.getAsyncQueues().get("a1");
+        assertNotNull(monitor);
+        assertEquals(4, monitor.getQueueCapacity());
+
+        // the worker is stuck on the first event, so the queue fills up, and the rest of the events are dropped
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(createEvent(context, Level.WARN));
+        }
+        appender.doAppend(createEvent(context, Level.INFO));
+
+        assertTrue(monitor.getQueueDepth() >= 3, () -> "Unexpected depth: " + monitor.getQueueDepth());
+
+        target.release.countDown();
+        appender.stop();
+
+        assertEquals(0, monitor.getQueueDepth());
+        assertEquals(11L, monitor.getEnqueuedCount() + monitor.getDiscardedCount());
+        assertEquals((long) target.appended, monitor.getEnqueuedCount());
+        assertEquals((long) target.appended, monitor.getDequeuedCount());
+        assertEquals((long) target.appended, monitor.getLag().getCount());
+        assertEquals(0L, monitor.getBlockedCount());
+    }
+
+    @Test
+    public void ringBuffer_Blocked() throws InterruptedException {
+        LogMetrics metrics = new LogMetrics(true, List.of(), 0);
+        metrics.install(context);
+
+        BlockingAppender target = new BlockingAppender();
+        target.setContext(context);
+        target.start();
+
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("a2");
+        appender.setQueueSize(2);
+        appender.setDiscardingThreshold(0);
+        appender.addAppender(target);
+        appender.start();
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 5; i++) {
+                appender.doAppend(createEvent(context, Level.WARN));
+            }
+        });
+        producer.start();
+
+        AsyncQueueMonitor monitor = metrics.getAsyncQueues().get("a2");
+        for (int i = 0; i < 100 && monitor.getBlockedCount() == 0; i++) {
+            Thread.sleep(10);
+        }
+
+        target.release.countDown();
+        producer.join();
+        appender.stop();
+
+        // the producer may need to wait more than once, as the worker frees the slots one by one
+        assertTrue(monitor.getBlockedCount() >= 1, () -> "Unexpected blocked count: " + monitor.getBlockedCount());
+        assertEquals(5L, monitor.getEnqueuedCount());
+        assertEquals(0L, monitor.getDiscardedCount());
+        assertEquals(5, target.appended);
+    }
+}
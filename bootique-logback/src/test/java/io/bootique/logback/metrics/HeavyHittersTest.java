@@ -0,0 +1,111 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HeavyHittersTest {
+
+    @Test
+    public void getTop() {
+        HeavyHitters hitters = new HeavyHitters(3);
+
+        // interleave the heavy keys with a long tail of distinct keys
+        for (int i = 0; i < 20_000; i++) {
+            hitters.add("tail" + i);
+
+            if (i % 5 == 0) {
+                hitters.add("hot");
+            }
+
+            if (i % 20 == 0) {
+                hitters.add("warm");
+            }
+        }
+
+        List<HeavyHitter> top = hitters.getTop();
+        assertEquals(3, top.size());
+
+        assertEquals("hot", top.get(0).getKey());
+        assertTrue(top.get(0).getCount() >= 4000 && top.get(0).getCount() < 4100, () -> "Bad estimate: " + top.get(0));
+        assertEquals(4000. / 25_000, top.get(0).getShare(), 0.01);
+
+        assertEquals("warm", top.get(1).getKey());
+        assertTrue(top.get(1).getCount() >= 1000 && top.get(1).getCount() < 1100, () -> "Bad estimate: " + top.get(1));
+    }
+
+    @Test
+    public void getTop_ConcurrentThreads() throws InterruptedException {
+        HeavyHitters hitters = new HeavyHitters(2);
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int tt = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    hitters.add(i % 2 == 0 ? "hot" : "t" + tt + "_" + i);
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertEquals(20_000, hitters.getTotal());
+        assertEquals("hot", hitters.getTop().get(0).getKey());
+        assertTrue(hitters.estimate("hot") >= 10_000);
+    }
+
+    @Test
+    public void getTop_Sampled() {
+        HeavyHitters hitters = new HeavyHitters(2, 1024, 16);
+
+        for (int i = 0; i < 100_000; i++) {
+            hitters.add(i % 5 == 0 ? "hot" : "tail" + (i % 1000));
+        }
+
+        assertEquals(100_000, hitters.getTotal());
+        assertEquals("hot", hitters.getTop().get(0).getKey());
+
+        // past the first 16K calls only a sample is counted, so the estimate may be off both ways
+        long hot = hitters.estimate("hot");
+        assertTrue(hot > 18_000 && hot < 22_500, () -> "Bad estimate: " + hot);
+    }
+
+    @Test
+    public void estimate_NeverUndercounts() {
+        HeavyHitters hitters = new HeavyHitters(1, 16, 1);
+
+        for (int i = 0; i < 1000; i++) {
+            hitters.add("k" + (i % 100));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(hitters.estimate("k" + i) >= 10);
+        }
+    }
+}
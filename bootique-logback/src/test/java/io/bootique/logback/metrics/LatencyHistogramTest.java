@@ -0,0 +1,69 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucket() {
+        for (long v = 0; v < 1_000_000; v = v < 100 ? v + 1 : v * 11 / 10) {
+            long max = LatencyHistogram.bucketMax(LatencyHistogram.bucket(v));
+            assertTrue(max >= v, "Bucket max is below the value: " + v);
+            assertTrue(max - v <= v / 16, "Bucket is too wide for the value: " + v);
+        }
+
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketMax(LatencyHistogram.bucket(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void getPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getPercentile(50.));
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(1000L, histogram.getCount());
+        assertEquals(1000L, histogram.getMax());
+        assertEquals(500., histogram.getPercentile(50.), 500. / 16);
+        assertEquals(990., histogram.getPercentile(99.), 990. / 16);
+        assertEquals(1000L, histogram.getPercentile(100.));
+        assertEquals(1L, histogram.getPercentile(0.));
+    }
+
+    @Test
+    public void reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5);
+        histogram.record(-3);
+        assertEquals(2L, histogram.getCount());
+        assertEquals(0L, histogram.getPercentile(50.));
+
+        histogram.reset();
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getMax());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+import ch.qos.logback.classic.Logger;
+import io.bootique.BQRuntime;
+import io.bootique.junit.BQTest;
+import io.bootique.junit.BQTestFactory;
+import io.bootique.junit.BQTestTool;
+import io.bootique.logback.LogbackLevel;
+import io.bootique.logback.LogbackModule;
+import io.bootique.logback.unit.LogTester;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@BQTest
+public class LogMetricsIT {
+
+    @BQTestTool
+    final BQTestFactory testFactory = new BQTestFactory().autoLoadModules();
+
+    @BQTestTool
+    final LogTester logTester = new LogTester(testFactory, "target/logs");
+
+    @Test
+    public void metrics() throws IOException {
+        BQRuntime app = testFactory.app("-c", "classpath:io/bootique/logback/test-metrics.yml")
+                .module(LogbackModule.class)
+                .createRuntime();
+
+        Logger root = app.getInstance(Logger.class);
+        LogMetrics metrics = app.getInstance(LogMetrics.class);
+        assertTrue(metrics.isEnabled());
+
+        long infoCount = metrics.getEventCount(LogbackLevel.info);
+        long warnCount = metrics.getEventCount(LogbackLevel.warn);
+        long debugCount = metrics.getEventCount(LogbackLevel.debug);
+        long rootCount = metrics.getLoggerEventCounts().get("ROOT");
+
+        root.info("root-info");
+        LoggerFactory.getLogger("com.foo.x").info("foo-info");
+        LoggerFactory.getLogger("com.foo.bar.y").debug("bar-debug");
+        LoggerFactory.getLogger("com.foo.bar.y").warn("bar-warn");
+
+        assertEquals(infoCount + 2, metrics.getEventCount(LogbackLevel.info));
+        assertEquals(warnCount + 1, metrics.getEventCount(LogbackLevel.warn));
+
+        // "com.foo.bar" level is "info", so the debug event is not counted
+        assertEquals(debugCount, metrics.getEventCount(LogbackLevel.debug));
+
+        assertEquals(rootCount + 1, (long) metrics.getLoggerEventCounts().get("ROOT"));
+        assertEquals(1L, (long) metrics.getLoggerEventCounts().get("com.foo"));
+        assertEquals(1L, (long) metrics.getLoggerEventCounts().get("com.foo.bar"));
+
+        long fileSize = Files.size(Paths.get("target/logs/metrics.log"));
+        assertEquals(fileSize, (long) metrics.getAppenderByteCounts().get("f"));
+
+        app.shutdown();
+    }
+
+    @Test
+    public void asyncQueues() throws Exception {
+        BQRuntime app = testFactory.app("-c", "classpath:io/bootique/logback/test-metrics-async.yml")
+                .module(LogbackModule.class)
+                .createRuntime();
+
+        Logger root = app.getInstance(Logger.class);
+        LogMetrics metrics = app.getInstance(LogMetrics.class);
+
+        for (int i = 0; i < 10; i++) {
+            root.info("info-" + i);
+        }
+
+        AsyncQueueMonitor f = metrics.getAsyncQueues().get("f");
+        AsyncQueueMonitor b = metrics.getAsyncQueues().get("b");
+        assertNotNull(f);
+        assertNotNull(b);
+        assertTrue(f.getEnqueuedCount() >= 10);
+        assertTrue(b.getEnqueuedCount() >= 10);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("io.bootique.logback:type=AsyncQueue,name=\"f\"");
+        assertTrue(server.isRegistered(name));
+        assertEquals(256, server.getAttribute(name, "QueueCapacity"));
+
+        app.shutdown();
+
+        // the lag of all events is recorded once the queue is flushed
+        assertTrue(f.getLag().getCount() >= 10);
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void metrics_Disabled() {
+        BQRuntime app = testFactory.app("-c", "classpath:io/bootique/logback/test-file-appender.yml")
+                .module(LogbackModule.class)
+                .createRuntime();
+
+        app.getInstance(Logger.class).info("info");
+
+        LogMetrics metrics = app.getInstance(LogMetrics.class);
+        assertFalse(metrics.isEnabled());
+        assertEquals(0L, metrics.getEventCount());
+
+        app.shutdown();
+    }
+}
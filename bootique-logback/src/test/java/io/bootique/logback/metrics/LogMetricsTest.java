@@ -0,0 +1,91 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.metrics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import io.bootique.logback.LogbackLevel;
+import io.bootique.logback.unit.TestEncoder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.bootique.logback.unit.TestEvents.createContext;
+import static io.bootique.logback.unit.TestEvents.createEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LogMetricsTest {
+
+    private final LoggerContext context = createContext();
+
+    @Test
+    public void count() {
+        LogMetrics metrics = new LogMetrics(true, List.of("com.foo", "com.foo.bar"), 0);
+
+        metrics.count(createEvent(context, "com.foo.x", Level.INFO));
+        metrics.count(createEvent(context, "com.foo.bar.y", Level.INFO));
+        metrics.count(createEvent(context, "com.foo.bar$Inner", Level.WARN));
+        metrics.count(createEvent(context, "com.foobar", Level.ERROR));
+        metrics.count(createEvent(context, "org.example", Level.DEBUG));
+
+        assertEquals(5L, metrics.getEventCount());
+        assertEquals(2L, metrics.getEventCount(LogbackLevel.info));
+        assertEquals(1L, metrics.getEventCount(LogbackLevel.warn));
+        assertEquals(1L, metrics.getEventCount(LogbackLevel.error));
+        assertEquals(1L, metrics.getEventCount(LogbackLevel.debug));
+        assertEquals(0L, metrics.getEventCount(LogbackLevel.trace));
+
+        assertEquals(Map.of("com.foo", 1L, "com.foo.bar", 2L, "ROOT", 2L), metrics.getLoggerEventCounts());
+    }
+
+    @Test
+    public void getTopLoggers() {
+        LogMetrics metrics = new LogMetrics(true, List.of(), 2);
+
+        for (int i = 0; i < 10; i++) {
+            metrics.count(createEvent(context, "com.foo.x", Level.INFO));
+        }
+        metrics.count(createEvent(context, "com.foo.y", Level.INFO));
+        metrics.count(createEvent(context, "com.foo.z", Level.INFO));
+        metrics.count(createEvent(context, "com.foo.z", Level.INFO));
+
+        List<HeavyHitter> top = metrics.getTopLoggers();
+        assertEquals(2, top.size());
+        assertEquals("com.foo.x", top.get(0).getKey());
+        assertEquals(10L, top.get(0).getCount());
+        assertEquals("com.foo.z", top.get(1).getKey());
+
+        assertEquals(1, metrics.getTopMessageTemplates().size());
+        assertEquals("message", metrics.getTopMessageTemplates().get(0).getKey());
+    }
+
+    @Test
+    public void instrument() {
+        LogMetrics metrics = new LogMetrics(true, List.of(), 0);
+
+        TestEncoder encoder = new TestEncoder();
+        metrics.instrument(encoder, "a1").encode(createEvent(context, "x", Level.INFO));
+        metrics.instrument(encoder, "a1").encode(createEvent(context, "x", Level.INFO));
+        metrics.instrument(encoder, "a2").encode(createEvent(context, "x", Level.INFO));
+
+        assertEquals(Map.of("a1", 10L, "a2", 5L), metrics.getAppenderByteCounts());
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import io.bootique.junit.BQTest;
+import io.bootique.junit.BQTestFactory;
+import io.bootique.junit.BQTestTool;
+import io.bootique.logback.unit.LogTester;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@BQTest
+public class ArchiveIndexIT {
+
+    @BQTestTool
+    final BQTestFactory testFactory = new BQTestFactory().autoLoadModules();
+
+    @BQTestTool
+    final LogTester logTester = new LogTester(testFactory, "target/logs/indexed");
+
+    @Test
+    public void sizeAndTime_TotalSize() {
+
+        // each line is 21 bytes and goes to its own file, and only 2 archives fit in the total size
+        Map<String, String> logs = logTester.run(
+                "classpath:io/bootique/logback/test-file-appender-size-rotation-indexed.yml",
+                l -> {
+                    for (int i = 1; i <= 5; i++) {
+                        l.warn("indexed-line-" + i);
+                    }
+                });
+
+        assertEquals(3, logs.size(), "Expected 2 archived files + 1 current log-file");
+        assertEquals("ROOT: indexed-line-5\n", logs.get("logfile-current.log"));
+        assertEquals(
+                Set.of("ROOT: indexed-line-3\n", "ROOT: indexed-line-4\n", "ROOT: indexed-line-5\n"),
+                Set.copyOf(logs.values()));
+    }
+}
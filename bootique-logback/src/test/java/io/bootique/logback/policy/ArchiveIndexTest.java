@@ -0,0 +1,213 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArchiveIndexTest {
+
+    @Test
+    public void load_MaxPeriods() throws IOException {
+        File dir = Files.createTempDirectory("bq-archive-index").toFile();
+        File a1 = write(dir, "app-2024-01-01.0.log", 1000, 10);
+        File a2 = write(dir, "app-2024-01-01.1.log", 2000, 10);
+        File b1 = write(dir, "app-2024-01-02.0.log", 3000, 10);
+        File c1 = write(dir, "app-2024-01-03.0.log", 4000, 10);
+        File active = write(dir, "app-2024-01-04.0.log", 5000, 10);
+        File other = write(dir, "other.log", 500, 10);
+
+        ArchiveIndex index = new ArchiveIndex(dir.getPath() + "/app-%d{yyyy-MM-dd}.%i.log", 2, 0);
+        index.load(active.getPath());
+
+        assertEquals(2, index.getPeriodCount());
+        assertEquals(2, index.getArchiveCount());
+        assertEquals(20, index.getTotalBytes());
+        assertFalse(a1.exists());
+        assertFalse(a2.exists());
+        assertTrue(b1.exists());
+        assertTrue(c1.exists());
+        assertTrue(active.exists());
+        assertTrue(other.exists());
+
+        // the second archive of the same period doesn't add a period
+        File c2 = write(dir, "app-2024-01-03.1.log", 6000, 10);
+        index.add(c2.getPath(), c2.length());
+        assertEquals(2, index.getPeriodCount());
+        assertTrue(b1.exists());
+
+        File d1 = write(dir, "app-2024-01-04.0.log", 7000, 10);
+        index.add(d1.getPath(), d1.length());
+        assertEquals(2, index.getPeriodCount());
+        assertEquals(3, index.getArchiveCount());
+        assertFalse(b1.exists());
+    }
+
+    @Test
+    public void add_MaxBytes() throws IOException {
+        File dir = Files.createTempDirectory("bq-archive-index").toFile();
+        ArchiveIndex index = new ArchiveIndex(dir.getPath() + "/app-%i.log", 0, 25);
+        index.load(null);
+
+        File a1 = write(dir, "app-1.log", 1000, 10);
+        index.add(a1.getPath(), 10);
+        File a2 = write(dir, "app-2.log", 2000, 10);
+        index.add(a2.getPath(), 10);
+        assertEquals(20, index.getTotalBytes());
+        assertTrue(a1.exists());
+
+        File a3 = write(dir, "app-3.log", 3000, 10);
+        index.add(a3.getPath(), 10);
+        assertEquals(20, index.getTotalBytes());
+        assertFalse(a1.exists());
+        assertTrue(a2.exists());
+        assertTrue(a3.exists());
+    }
+
+    @Test
+    public void add_PendingSize() throws IOException {
+        File dir = Files.createTempDirectory("bq-archive-index").toFile();
+        ArchiveIndex index = new ArchiveIndex(dir.getPath() + "/app-%i.log.gz", 0, 100);
+        index.load(null);
+
+        // the archive is not written yet
+        index.add(new File(dir, "app-1.log.gz").getPath(), -1);
+        assertEquals(0, index.getTotalBytes());
+
+        write(dir, "app-1.log.gz", 1000, 30);
+        index.add(new File(dir, "app-2.log.gz").getPath(), -1);
+        assertEquals(30, index.getTotalBytes());
+        assertEquals(2, index.getArchiveCount());
+    }
+
+    @Test
+    public void load_NestedDirs() throws IOException {
+        File dir = Files.createTempDirectory("bq-archive-index").toFile();
+        File jan = write(dir, "2024-01/app-2024-01-31.log", 1000, 10);
+        File feb = write(dir, "2024-02/app-2024-02-01.log", 2000, 10);
+
+        ArchiveIndex index = new ArchiveIndex(dir.getPath() + "/%d{yyyy-MM,aux}/app-%d{yyyy-MM-dd}.log", 1, 0);
+        index.load(null);
+
+        assertEquals(1, index.getArchiveCount());
+        assertFalse(jan.exists());
+        assertFalse(jan.getParentFile().exists(), "Empty archive dir must be deleted");
+        assertTrue(feb.exists());
+        assertTrue(dir.exists());
+    }
+
+    @Test
+    public void load_DateFormat() throws IOException {
+        File dir = Files.createTempDirectory("bq-archive-index").toFile();
+        File a1 = write(dir, "app-2024-01-01.log", 1000, 10);
+        File backup = write(dir, "app-backup.log", 500, 10);
+        File truncated = write(dir, "app-2024-01.log", 500, 10);
+
+        ArchiveIndex index = new ArchiveIndex(dir.getPath() + "/app-%d.log", 1, 0);
+        index.load(null);
+
+        assertEquals(1, index.getArchiveCount());
+        assertTrue(a1.exists());
+        assertTrue(backup.exists(), "A file not matching the date format must be ignored");
+        assertTrue(truncated.exists(), "A file not matching the date format must be ignored");
+    }
+
+    @Test
+    public void load_OrderByDate() throws IOException {
+        File dir = Files.createTempDirectory("bq-archive-index").toFile();
+
+        // the older archive was touched after the newer one was written
+        File a1 = write(dir, "app-2024-01-01.log", 3000, 10);
+        File b1 = write(dir, "app-2024-01-02.log", 2000, 10);
+        File c1 = write(dir, "app-2024-01-03.log", 1000, 10);
+
+        ArchiveIndex index = new ArchiveIndex(dir.getPath() + "/app-%d{yyyy-MM-dd, UTC}.log", 2, 0);
+        index.load(null);
+
+        assertEquals(2, index.getPeriodCount());
+        assertFalse(a1.exists());
+        assertTrue(b1.exists());
+        assertTrue(c1.exists());
+    }
+
+    @Test
+    public void load_DeletesUnusedDictionaries() throws IOException {
+        File dir = Files.createTempDirectory("bq-archive-index").toFile();
+
+        // each compressor trains its own dictionary, as if the app was restarted
+        File a1 = compress(dir, "app-1.log", "c.e.OrderService", 1000);
+        File a2 = compress(dir, "app-2.log", "c.e.PaymentDao", 2000);
+        assertEquals(2, dir.list((d, name) -> name.endsWith(".zdict")).length);
+
+        ArchiveIndex index = new ArchiveIndex(dir.getPath() + "/app-%i.log.zz", 0, a2.length());
+        index.load(null);
+
+        assertFalse(a1.exists());
+        assertTrue(a2.exists());
+
+        // the remaining archive can still be read
+        assertEquals(1, dir.list((d, name) -> name.endsWith(".zdict")).length);
+        try (InputStream in = DictionaryArchiveReader.open(a2)) {
+            assertTrue(in.readAllBytes().length > 0);
+        }
+    }
+
+    @Test
+    public void dateToRegex() {
+        assertEquals("\\d{4,}\\Q-\\E\\d{2}\\Q-\\E\\d{2,}", ArchiveIndex.dateToRegex("yyyy-MM-dd"));
+        assertEquals("\\d{2}\\Q_\\E\\d{2,}\\Qh\\E", ArchiveIndex.dateToRegex("yy_HH'h'"));
+        assertTrue("2024-03-Mar".matches(ArchiveIndex.dateToRegex("yyyy-MM-MMM")));
+        assertFalse("backup".matches(ArchiveIndex.dateToRegex("yyyy-MM-dd")));
+    }
+
+    private static File compress(File dir, String name, String logger, long modified) throws IOException {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            log.append("INFO  [2024-01-01T00:00:00Z] ").append(logger)
+                    .append(": Processed request ").append(i).append('\n');
+        }
+
+        File source = new File(dir, name);
+        Files.write(source.toPath(), log.toString().getBytes(StandardCharsets.UTF_8));
+
+        File archive = new File(dir, name + ".zz");
+        new DictionaryCompressor(6, 1024).compress(source, archive);
+        assertTrue(source.delete());
+        assertTrue(archive.setLastModified(modified));
+        return archive;
+    }
+
+    private static File write(File dir, String name, long modified, int size) throws IOException {
+        File file = new File(dir, name);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), new byte[size]);
+        assertTrue(file.setLastModified(modified));
+        return file;
+    }
+}
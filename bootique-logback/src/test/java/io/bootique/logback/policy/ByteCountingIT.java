@@ -0,0 +1,76 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import io.bootique.junit.BQTest;
+import io.bootique.junit.BQTestFactory;
+import io.bootique.junit.BQTestTool;
+import io.bootique.logback.unit.LogTester;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@BQTest
+public class ByteCountingIT {
+
+    @BQTestTool
+    final BQTestFactory testFactory = new BQTestFactory().autoLoadModules();
+
+    @BQTestTool
+    final LogTester logTester = new LogTester(testFactory, "target/logs/counting");
+
+    @Test
+    public void fixedWindow_CountBytes() {
+        // no pauses between the events, as the size is checked for each of them
+        Map<String, String> logs = logTester.run(
+                "classpath:io/bootique/logback/test-file-appender-fixed-rotation-count-bytes.yml",
+                l -> {
+                    for (int i = 1; i <= 3; i++) {
+                        l.warn("counted-line-" + i);
+                    }
+                });
+
+        assertEquals(3, logs.size(), "Expected 2 archived files + 1 current log-file");
+        assertEquals("ROOT: counted-line-3\n", logs.get("logfile-current.log"));
+        assertEquals("ROOT: counted-line-2\n", logs.get("logfile-1.log"));
+        assertEquals("ROOT: counted-line-1\n", logs.get("logfile-2.log"));
+    }
+
+    @Test
+    public void sizeAndTime() {
+        // Logback counts the bytes of this policy itself, and checks the count on every event
+        Map<String, String> logs = logTester.run(
+                "classpath:io/bootique/logback/test-file-appender-size-rotation-count-bytes.yml",
+                l -> {
+                    for (int i = 1; i <= 3; i++) {
+                        l.warn("counted-line-" + i);
+                    }
+                });
+
+        assertEquals(3, logs.size(), "Expected 2 archived files + 1 current log-file");
+        assertEquals("ROOT: counted-line-3\n", logs.get("logfile-current.log"));
+        assertEquals(
+                Set.of("ROOT: counted-line-1\n", "ROOT: counted-line-2\n", "ROOT: counted-line-3\n"),
+                Set.copyOf(logs.values()));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.EncoderBase;
+import ch.qos.logback.core.rolling.TriggeringPolicyBase;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ByteCountingTriggeringPolicyTest {
+
+    @Test
+    public void isTriggeringEvent() {
+        ByteCountingTriggeringPolicy<String> policy = new ByteCountingTriggeringPolicy<>(new MaxSizePolicy(10));
+        Encoder<String> encoder = policy.countingEncoder(new StringEncoder());
+        policy.start();
+
+        // the file does not exist, so its length would be 0 if it was checked
+        File file = new File("target/no-such-dir/counted.log");
+        policy.fileOpened(4);
+
+        assertFalse(policy.isTriggeringEvent(file, "a"));
+        encoder.encode("abcde");
+        assertEquals(9, policy.getCount());
+        assertFalse(policy.isTriggeringEvent(file, "b"));
+
+        encoder.encode("f");
+        assertTrue(policy.isTriggeringEvent(file, "c"));
+
+        policy.fileOpened(0);
+        assertFalse(policy.isTriggeringEvent(file, "d"));
+    }
+
+    @Test
+    public void isTriggeringEvent_NewFile() {
+        ByteCountingTriggeringPolicy<String> policy = new ByteCountingTriggeringPolicy<>(new MaxSizePolicy(3));
+        Encoder<String> encoder = policy.countingEncoder(new StringEncoder());
+        policy.start();
+
+        File f1 = new File("target/counted-1.log");
+        policy.fileOpened(0);
+        encoder.encode("abc");
+        assertTrue(policy.isTriggeringEvent(f1, "a"));
+
+        File f2 = new File("target/counted-2.log");
+        policy.fileOpened(0);
+        assertFalse(policy.isTriggeringEvent(f2, "b"));
+        encoder.headerBytes();
+        encoder.encode("ab");
+        assertTrue(policy.isTriggeringEvent(f2, "c"));
+    }
+
+    static class MaxSizePolicy extends TriggeringPolicyBase<String> {
+
+        final long maxSize;
+
+        MaxSizePolicy(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public boolean isTriggeringEvent(File activeFile, String event) {
+            return activeFile.length() >= maxSize;
+        }
+    }
+
+    static class StringEncoder extends EncoderBase<String> {
+
+        @Override
+        public byte[] headerBytes() {
+            return "#".getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public byte[] encode(String event) {
+            return event.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public byte[] footerBytes() {
+            return null;
+        }
+    }
+}
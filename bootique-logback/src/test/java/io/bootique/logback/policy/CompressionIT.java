@@ -0,0 +1,97 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import ch.qos.logback.classic.Logger;
+import io.bootique.BQRuntime;
+import io.bootique.junit.BQTest;
+import io.bootique.junit.BQTestFactory;
+import io.bootique.junit.BQTestTool;
+import io.bootique.logback.LogbackModule;
+import io.bootique.logback.unit.LogTester;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@BQTest
+public class CompressionIT {
+
+    @BQTestTool
+    final BQTestFactory testFactory = new BQTestFactory().autoLoadModules();
+
+    // not reading the logs with the tester, as they are binary, only using it to clean up the log dir
+    @BQTestTool
+    final LogTester logTester = new LogTester(testFactory, "target/logs/compression");
+
+    @Test
+    public void fixedWindow_Gzip() throws Exception {
+        logCompressed("classpath:io/bootique/logback/test-file-appender-fixed-rotation-gzip.yml");
+
+        assertEquals("ROOT: compressed-line-3\n", read("logfile-current.log"));
+        assertEquals("ROOT: compressed-line-2\n", gunzip("logfile-1.log.gz"));
+        assertEquals("ROOT: compressed-line-1\n", gunzip("logfile-2.log.gz"));
+    }
+
+    @Test
+    public void fixedWindow_Dictionary() throws Exception {
+        logCompressed("classpath:io/bootique/logback/test-file-appender-fixed-rotation-dictionary.yml");
+
+        assertEquals("ROOT: compressed-line-3\n", read("logfile-current.log"));
+        assertEquals("ROOT: compressed-line-2\n", inflate("logfile-1.log.zz"));
+        assertEquals("ROOT: compressed-line-1\n", inflate("logfile-2.log.zz"));
+    }
+
+    private void logCompressed(String config) throws InterruptedException {
+        BQRuntime app = testFactory.app("-c", config)
+                .module(LogbackModule.class)
+                .createRuntime();
+
+        Logger logger = app.getInstance(Logger.class);
+        for (int i = 1; i <= 3; i++) {
+            logger.warn("compressed-line-" + i);
+            Thread.sleep(100);
+        }
+
+        app.shutdown();
+    }
+
+    private static String read(String file) throws IOException {
+        return Files.readString(Paths.get("target/logs/compression", file));
+    }
+
+    private static String inflate(String file) throws IOException {
+        try (InputStream in = DictionaryArchiveReader.open(Paths.get("target/logs/compression", file).toFile())) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String gunzip(String file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(Paths.get("target/logs/compression", file)))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
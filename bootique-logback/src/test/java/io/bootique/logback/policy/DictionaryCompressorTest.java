@@ -0,0 +1,141 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DictionaryCompressorTest {
+
+    @Test
+    public void compress() throws IOException {
+        File dir = Files.createTempDirectory("bq-dictionary").toFile();
+        byte[] log = log(1, 2000);
+
+        File source = write(new File(dir, "app.log"), log);
+        File archive = new File(dir, "app.log.zz");
+
+        new DictionaryCompressor(6, DictionaryTrainer.MAX_DICTIONARY_SIZE).compress(source, archive);
+
+        String[] files = dir.list((d, name) -> name.endsWith(".zdict"));
+        assertEquals(1, files.length);
+        assertArrayEquals(log, read(archive));
+    }
+
+    @Test
+    public void compress_SmallerThanGzip() throws IOException {
+        File dir = Files.createTempDirectory("bq-dictionary").toFile();
+        byte[] log = log(2, 500);
+
+        File source = write(new File(dir, "app.log"), log);
+        File archive = new File(dir, "app.log.zz");
+        new DictionaryCompressor(6, DictionaryTrainer.MAX_DICTIONARY_SIZE).compress(source, archive);
+
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(log);
+        }
+
+        assertTrue(archive.length() < gzip.size(), archive.length() + " vs. " + gzip.size());
+    }
+
+    @Test
+    public void compress_DictionaryReused() throws IOException {
+        File dir = Files.createTempDirectory("bq-dictionary").toFile();
+        DictionaryCompressor compressor = new DictionaryCompressor(6, DictionaryTrainer.MAX_DICTIONARY_SIZE);
+
+        byte[] log1 = log(3, 1000);
+        byte[] log2 = log(4, 1000);
+        compressor.compress(write(new File(dir, "app1.log"), log1), new File(dir, "app1.log.zz"));
+        compressor.compress(write(new File(dir, "app2.log"), log2), new File(dir, "app2.log.zz"));
+
+        assertEquals(1, dir.list((d, name) -> name.endsWith(".zdict")).length);
+        assertArrayEquals(log1, read(new File(dir, "app1.log.zz")));
+        assertArrayEquals(log2, read(new File(dir, "app2.log.zz")));
+    }
+
+    @Test
+    public void compress_NoDictionary() throws IOException {
+        File dir = Files.createTempDirectory("bq-dictionary").toFile();
+        byte[] data = "abc 123 xyz\n".getBytes(StandardCharsets.UTF_8);
+
+        File archive = new File(dir, "app.log.zz");
+        new DictionaryCompressor(6, 1024).compress(write(new File(dir, "app.log"), data), archive);
+
+        // nothing repeats, so there's no dictionary
+        assertEquals(0, dir.list((d, name) -> name.endsWith(".zdict")).length);
+        assertArrayEquals(data, read(archive));
+    }
+
+    @Test
+    public void read_MissingDictionary() throws IOException {
+        File dir = Files.createTempDirectory("bq-dictionary").toFile();
+        File archive = new File(dir, "app.log.zz");
+        new DictionaryCompressor(6, 1024).compress(write(new File(dir, "app.log"), log(5, 100)), archive);
+
+        File otherDir = Files.createTempDirectory("bq-dictionary").toFile();
+        assertThrows(ZipException.class, () -> DictionaryArchiveReader.open(archive, otherDir));
+    }
+
+    private static byte[] log(long seed, int lines) {
+        String[] levels = {"INFO ", "DEBUG", "WARN "};
+        String[] loggers = {"c.e.OrderService", "c.e.PaymentDao", "o.e.j.s.Server"};
+        Random random = new Random(seed);
+
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            log.append(levels[random.nextInt(levels.length)])
+                    .append(" [2024-01-01T00:00:").append(10 + random.nextInt(50))
+                    .append(".").append(random.nextInt(1000))
+                    .append("Z] worker-").append(random.nextInt(8))
+                    .append(' ').append(loggers[random.nextInt(loggers.length)])
+                    .append(": Processed request /api/v1/items/").append(random.nextInt(100_000))
+                    .append(" in ").append(random.nextInt(500)).append(" ms\n");
+        }
+
+        return log.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static File write(File file, byte[] data) throws IOException {
+        Files.write(file.toPath(), data);
+        return file;
+    }
+
+    private static byte[] read(File archive) throws IOException {
+        try (InputStream in = DictionaryArchiveReader.open(archive)) {
+            return in.readAllBytes();
+        }
+    }
+}
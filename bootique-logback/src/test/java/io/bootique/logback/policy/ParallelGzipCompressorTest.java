@@ -0,0 +1,102 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.policy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelGzipCompressorTest {
+
+    @Test
+    public void compress_MultipleBlocks() throws IOException {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            log.append("INFO  [2024-01-01T00:00:00.000Z] main c.e.Service: line ").append(i).append('\n');
+        }
+
+        byte[] data = log.toString().getBytes(StandardCharsets.UTF_8);
+        File source = tempFile(data);
+        File target = tempFile(new byte[0]);
+
+        ArchiveCompressor compressor = new ParallelGzipCompressor(4, 6, 16 * 1024);
+        try {
+            compressor.compress(source, target);
+        } finally {
+            compressor.close();
+        }
+
+        assertTrue(target.length() < data.length / 4, "Poor compression: " + target.length());
+        assertArrayEquals(data, gunzip(target));
+    }
+
+    @Test
+    public void compress_PartialBlock() throws IOException {
+        byte[] data = "abcdefghij".getBytes(StandardCharsets.UTF_8);
+        File source = tempFile(data);
+        File target = tempFile(new byte[0]);
+
+        ArchiveCompressor compressor = new ParallelGzipCompressor(2, 1, 4);
+        try {
+            compressor.compress(source, target);
+        } finally {
+            compressor.close();
+        }
+
+        assertArrayEquals(data, gunzip(target));
+    }
+
+    @Test
+    public void compress_Empty() throws IOException {
+        File source = tempFile(new byte[0]);
+        File target = tempFile(new byte[0]);
+
+        ArchiveCompressor compressor = new ParallelGzipCompressor(1, -1, 1024);
+        try {
+            compressor.compress(source, target);
+        } finally {
+            compressor.close();
+        }
+
+        assertEquals(0, gunzip(target).length);
+    }
+
+    private static byte[] gunzip(File file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static File tempFile(byte[] data) throws IOException {
+        File file = File.createTempFile("bq-gzip", ".log");
+        file.deleteOnExit();
+        Files.write(file.toPath(), data);
+        return file;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to ObjectStyle LLC under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ObjectStyle LLC licenses
+ * this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.bootique.logback.unit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+
+public class TestEvents {
+
+    public static final String LOGGER_NAME = "com.example.x";
+
+    /**
+     * Creates a standalone context. The MDC adapter is normally set by the Logback SLF4J provider, and is required to
+     * prepare the events for the deferred processing.
+     */
+    public static LoggerContext createContext() {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        return context;
+    }
+
+    public static LoggingEvent createEvent(LoggerContext context, Level level) {
+        return createEvent(context, LOGGER_NAME, level, "message");
+    }
+
+    public static LoggingEvent createEvent(LoggerContext context, String loggerName, Level level) {
+        return createEvent(context, loggerName, level, "message");
+    }
+
+    public static LoggingEvent createEvent(
+            LoggerContext context,
+            String loggerName,
+            Level level,
+            String template,
+            Object... args) {
+
+        return new LoggingEvent(
+                TestEvents.class.getName(),
+                context.getLogger(loggerName),
+                level,
+                template,
+                null,
+                args.length > 0 ? args : null);
+    }
+}